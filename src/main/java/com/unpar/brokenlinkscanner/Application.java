@@ -2,6 +2,7 @@ package com.unpar.brokenlinkscanner;
 
 import com.unpar.brokenlinkscanner.controllers.LinkController;
 import com.unpar.brokenlinkscanner.controllers.NotifController;
+import com.unpar.brokenlinkscanner.models.CrawlConfig;
 import com.unpar.brokenlinkscanner.models.Link;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -18,6 +19,9 @@ public class Application extends javafx.application.Application {
     // Menyimpan reference ke stage utama aplikasi Supaya bisa dipakai lagi pas buka window lain
     private static Stage MAIN_STAGE;
 
+    // Pengaturan crawling dari argumen command line, dipakai sebagai nilai awal di jendela utama
+    private static CrawlConfig CONFIG = new CrawlConfig();
+
     /**
      * Method start adalah method pertama yang dipanggil JavaFX saat aplikasi dijalankan.
      *
@@ -37,10 +41,25 @@ public class Application extends javafx.application.Application {
      * tapi di JavaFX isinya cuma manggil launch().
      */
     public static void main(String[] args) {
+        try {
+            // Ambil pengaturan crawling dari argumen (misalnya --max-links=5000 --timeout=5000)
+            CONFIG = CrawlConfig.fromArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        }
+
         // Menjalankan lifecycle JavaFX
         launch();
     }
 
+    /**
+     * @return pengaturan crawling dari argumen command line
+     */
+    public static CrawlConfig getConfig() {
+        return CONFIG;
+    }
+
     /**
      * Method untuk membuka jendela utama aplikasi.
      */
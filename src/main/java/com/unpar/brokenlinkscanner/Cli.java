@@ -0,0 +1,545 @@
+package com.unpar.brokenlinkscanner;
+
+import com.unpar.brokenlinkscanner.models.CrawlConfig;
+import com.unpar.brokenlinkscanner.models.Link;
+import com.unpar.brokenlinkscanner.models.Status;
+import com.unpar.brokenlinkscanner.models.Summary;
+import com.unpar.brokenlinkscanner.services.BatchRunner;
+import com.unpar.brokenlinkscanner.services.Crawler;
+import com.unpar.brokenlinkscanner.services.Exporter;
+import com.unpar.brokenlinkscanner.utils.LinkReceiver;
+import com.unpar.brokenlinkscanner.utils.RateLimiter;
+import com.unpar.brokenlinkscanner.utils.TrapDetector;
+import com.unpar.brokenlinkscanner.utils.UrlHandler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Entry point command line tanpa GUI (misalnya untuk pipeline CI di build agent tanpa layar).
+ *
+ * Crawler dan Exporter dijalankan langsung tanpa toolkit JavaFX, progres ditulis ke stdout,
+ * dan exit code menunjukkan hasilnya (di mode batch, gabungan dari semua situs):
+ * 0 = tidak ada broken link, 1 = ada broken link, 2 = argumen tidak valid, 3 = crawling atau export gagal.
+ */
+public class Cli implements LinkReceiver {
+    // Exit code sesuai hasil pemeriksaan
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_BROKEN_LINKS = 1;
+    public static final int EXIT_USAGE = 2;
+    public static final int EXIT_ERROR = 3;
+
+    // Batas waktu shutdown hook menunggu crawling berhenti dan laporan selesai ditulis (milidetik)
+    private static final long SHUTDOWN_TIMEOUT_MS = 30_000;
+
+    // Jarak waktu antar baris progres (milidetik)
+    private static final long PROGRESS_INTERVAL_MS = 2000;
+
+    // Jumlah host yang dibatasi lajunya yang ditampilkan di baris progres
+    private static final int PROGRESS_RATE_HOSTS = 3;
+
+    // Jumlah situs yang di-crawl bersamaan di mode batch
+    private static final int DEFAULT_PARALLEL_SITES = 4;
+
+    // Nama laporan gabungan di mode batch
+    private static final String AGGREGATED_REPORT = "all-sites.xlsx";
+
+    private static final String USAGE = """
+            Usage: broken-link-scanner <seed-url> [--report <file.xlsx>] [--quiet] [crawl options]
+                   broken-link-scanner --resume [--report <file.xlsx>] [--quiet] [crawl options]
+                   broken-link-scanner --batch <seeds.txt> [--parallel-sites <n>] [--report-dir <dir>] [--quiet] [crawl options]
+
+              --report <file>        Save the broken links to an Excel file (.xlsx)
+              --resume               Continue the last crawl from the file given with --checkpoint-file
+              --batch <file>         Crawl every seed URL in the file (one per line, # for comments)
+              --parallel-sites <n>   Number of sites crawled at the same time in batch mode (default 4)
+              --report-dir <dir>     Save one report per site and an aggregated report in batch mode
+              --quiet                Do not print each broken link as it is found
+            """;
+
+    // Output progres
+    private final PrintStream out;
+
+    // Tampilkan setiap broken link yang ditemukan atau tidak
+    private final boolean isQuiet;
+
+    // Semua link hasil pemeriksaan (receiver dipanggil dari banyak thread)
+    private final Queue<Link> allLinks = new ConcurrentLinkedQueue<>();
+
+    // Penghitung untuk baris progres
+    private final AtomicInteger allLinksCount = new AtomicInteger();
+    private final AtomicInteger webpageLinksCount = new AtomicInteger();
+    private final AtomicInteger brokenLinksCount = new AtomicInteger();
+    private final AtomicInteger duplicatesCount = new AtomicInteger();
+
+    private Cli(PrintStream out, boolean isQuiet) {
+        this.out = out;
+        this.isQuiet = isQuiet;
+    }
+
+    public static void main(String[] args) {
+        // Tidak ada layar di build agent, pastikan AWT (dipakai Exporter untuk warna) tidak mencari display
+        System.setProperty("java.awt.headless", "true");
+
+        System.exit(run(args));
+    }
+
+    /**
+     * Method untuk menjalankan crawling dari argumen command line.
+     *
+     * @param args : argumen command line
+     * @return exit code
+     */
+    public static int run(String[] args) {
+        // Pisahkan opsi milik CLI dari opsi crawling
+        String seedUrl = null;
+        String reportFile = null;
+        String batchFile = null;
+        String reportDir = null;
+        String parallelSites = String.valueOf(DEFAULT_PARALLEL_SITES);
+        boolean isResume = false;
+        boolean isQuiet = false;
+        List<String> crawlArgs = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+
+            if (arg.equals("--help") || arg.equals("-h")) {
+                System.out.print(USAGE);
+                return EXIT_OK;
+            } else if (arg.startsWith("--batch=")) {
+                batchFile = arg.substring("--batch=".length());
+            } else if (arg.equals("--batch") && i + 1 < args.length) {
+                batchFile = args[++i];
+            } else if (arg.startsWith("--report-dir=")) {
+                reportDir = arg.substring("--report-dir=".length());
+            } else if (arg.equals("--report-dir") && i + 1 < args.length) {
+                reportDir = args[++i];
+            } else if (arg.startsWith("--parallel-sites=")) {
+                parallelSites = arg.substring("--parallel-sites=".length());
+            } else if (arg.equals("--parallel-sites") && i + 1 < args.length) {
+                parallelSites = args[++i];
+            } else if (arg.equals("--resume")) {
+                isResume = true;
+            } else if (arg.equals("--quiet")) {
+                isQuiet = true;
+            } else if (arg.startsWith("--report=")) {
+                reportFile = arg.substring("--report=".length());
+            } else if (arg.equals("--report") && i + 1 < args.length) {
+                reportFile = args[++i];
+            } else if (arg.startsWith("--")) {
+                // Opsi crawling, ikutkan nilainya jika ditulis terpisah (--name value)
+                crawlArgs.add(arg);
+                if (!arg.contains("=") && !CrawlConfig.isFlag(arg) && i + 1 < args.length) {
+                    crawlArgs.add(args[++i]);
+                }
+            } else if (seedUrl == null) {
+                seedUrl = arg;
+            } else {
+                return usageError("Unexpected argument: " + arg);
+            }
+        }
+
+        // Ambil pengaturan crawling
+        CrawlConfig config;
+        try {
+            config = CrawlConfig.fromArgs(crawlArgs.toArray(new String[0]));
+        } catch (IllegalArgumentException e) {
+            return usageError(e.getMessage());
+        }
+
+        // Mode batch: seed URL diambil dari file
+        if (batchFile != null) {
+            if (seedUrl != null || isResume || reportFile != null) {
+                return usageError("--batch cannot be combined with a seed URL, --resume or --report");
+            }
+
+            int parallel;
+            try {
+                parallel = Integer.parseInt(parallelSites);
+            } catch (NumberFormatException e) {
+                return usageError("Invalid value for --parallel-sites: " + parallelSites);
+            }
+            if (parallel < 1) {
+                return usageError("Parallel sites must be at least 1");
+            }
+
+            List<String> seedUrls;
+            try {
+                seedUrls = readSeedUrls(Path.of(batchFile));
+            } catch (IOException e) {
+                return usageError("Failed to read " + batchFile + ": " + e.getMessage());
+            } catch (IllegalArgumentException e) {
+                return usageError(e.getMessage());
+            }
+
+            return new Cli(System.out, isQuiet).crawlBatch(config, seedUrls, parallel, reportDir);
+        }
+
+        if (reportDir != null) {
+            return usageError("--report-dir is only used with --batch");
+        }
+
+        // Seed URL wajib ada kecuali melanjutkan dari checkpoint
+        String cleanedSeedUrl = null;
+        if (!isResume) {
+            if (seedUrl == null) {
+                return usageError("Missing seed URL");
+            }
+
+            cleanedSeedUrl = UrlHandler.normalizeUrl(seedUrl.trim(), false);
+            if (cleanedSeedUrl == null) {
+                return usageError("Invalid seed URL: " + seedUrl);
+            }
+        } else if (seedUrl != null) {
+            return usageError("--resume does not take a seed URL");
+        } else if (config.getCheckpointFile().isEmpty()) {
+            return usageError("--resume needs --checkpoint-file");
+        }
+
+        if (reportFile != null && !reportFile.toLowerCase().endsWith(".xlsx")) {
+            reportFile = reportFile + ".xlsx";
+        }
+
+        return new Cli(System.out, isQuiet).crawl(config, cleanedSeedUrl, reportFile);
+    }
+
+    /**
+     * Method untuk menerima link hasil pemeriksaan dari Crawler.
+     * Dipanggil langsung dari thread crawler, tanpa antrean ke thread GUI.
+     *
+     * @param link : objek Link yang sudah diperiksa
+     */
+    @Override
+    public void receive(Link link) {
+        allLinks.add(link);
+        count(link, "");
+    }
+
+    /**
+     * Method untuk menghitung link untuk baris progres dan menulis broken link.
+     *
+     * @param link   : objek Link yang sudah diperiksa
+     * @param prefix : awalan baris broken link (misalnya host situs di mode batch)
+     */
+    private void count(Link link, String prefix) {
+        allLinksCount.incrementAndGet();
+
+        if (link.isWebpage()) {
+            webpageLinksCount.incrementAndGet();
+        }
+
+        if (!link.getDuplicateOf().isEmpty()) {
+            duplicatesCount.incrementAndGet();
+        }
+
+        if (!link.getError().isEmpty()) {
+            brokenLinksCount.incrementAndGet();
+
+            if (!isQuiet) {
+                out.println(prefix + "BROKEN " + link.getError() + " " + link.getUrl());
+            }
+        }
+    }
+
+    /**
+     * Method untuk menjalankan crawling, menulis progres, lalu menyimpan laporan.
+     *
+     * @param config     : pengaturan crawling
+     * @param seedUrl    : seed URL yang sudah dinormalisasi, atau null untuk melanjutkan dari checkpoint
+     * @param reportFile : lokasi laporan Excel, atau null jika tidak perlu disimpan
+     * @return exit code
+     */
+    private int crawl(CrawlConfig config, String seedUrl, String reportFile) {
+        Crawler crawler = new Crawler(this, config);
+
+        // Ctrl+C menghentikan crawling dengan rapi, supaya checkpoint dan laporan tersimpan
+        return runWithShutdownHook(crawler::stop, () -> crawl(crawler, config, seedUrl, reportFile));
+    }
+
+    /**
+     * Method untuk menjalankan task dengan shutdown hook yang menghentikannya saat JVM dimatikan (Ctrl+C).
+     *
+     * JVM langsung berhenti setelah semua shutdown hook selesai, jadi hook tidak cukup hanya memanggil stop():
+     * hook menunggu sampai task selesai (termasuk menulis dan menutup laporan), paling lama SHUTDOWN_TIMEOUT_MS.
+     *
+     * @param stop : aksi untuk menghentikan crawling
+     * @param task : crawling sampai laporan selesai disimpan
+     * @return exit code dari task
+     */
+    private static int runWithShutdownHook(Runnable stop, IntSupplier task) {
+        CountDownLatch isDone = new CountDownLatch(1);
+
+        Thread shutdownHook = new Thread(() -> {
+            stop.run();
+            try {
+                if (!isDone.await(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    System.err.println("Timed out waiting for the report to be saved");
+                }
+            } catch (InterruptedException e) {
+                // Restore interrupt status thread
+                Thread.currentThread().interrupt();
+            }
+        });
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+        try {
+            return task.getAsInt();
+        } finally {
+            isDone.countDown();
+
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException ignored) {
+                // JVM sedang dimatikan, hook sudah berjalan
+            }
+        }
+    }
+
+    /**
+     * Method untuk menjalankan satu crawling sampai laporannya tersimpan.
+     *
+     * @param crawler    : crawler yang dijalankan
+     * @param config     : pengaturan crawling
+     * @param seedUrl    : seed URL yang sudah dinormalisasi, atau null untuk melanjutkan dari checkpoint
+     * @param reportFile : lokasi laporan Excel, atau null jika tidak perlu disimpan
+     * @return exit code
+     */
+    private int crawl(Crawler crawler, CrawlConfig config, String seedUrl, String reportFile) {
+        Summary summary = new Summary();
+
+        // Tulis progres secara berkala
+        ScheduledExecutorService progress = startProgress(summary::getStartTime, crawler::getHostRates);
+
+        try {
+            summary.setStatus(Status.CHECKING);
+            summary.setStartTime(System.currentTimeMillis());
+
+            if (seedUrl != null) {
+                out.println("Crawling " + seedUrl);
+                crawler.start(seedUrl);
+            } else {
+                out.println("Resuming from " + config.getCheckpointFile());
+                crawler.resume();
+            }
+
+            summary.setEndTime(System.currentTimeMillis());
+            summary.setStatus(crawler.isStoppedByUser() ? Status.STOPPED : Status.COMPLETED);
+        } catch (Exception e) {
+            System.err.println("Crawling failed: " + e.getMessage());
+            return EXIT_ERROR;
+        } finally {
+            progress.shutdownNow();
+        }
+
+        // Isi ringkasan untuk laporan
+        summary.setAllLinksCount(allLinksCount.get());
+        summary.setWebpages(webpageLinksCount.get());
+        summary.setBrokenLinksCount(brokenLinksCount.get());
+        summary.setDuplicatesCount(duplicatesCount.get());
+
+        printProgress(summary.getStartTime(), Map.of());
+        out.println("Status: " + summary.getStatus());
+        printTraps(crawler.getTraps(), "");
+
+        // Simpan laporan broken link
+        if (reportFile != null) {
+            List<Link> brokenLinks = allLinks.stream().filter(link -> !link.getError().isEmpty()).toList();
+
+            try {
+                File file = new File(reportFile);
+                new Exporter(summary, brokenLinks, crawler.getTraps()).save(file);
+                out.println("Report saved to " + file.getAbsolutePath());
+            } catch (Exception e) {
+                System.err.println("Failed to save report: " + e.getMessage());
+                return EXIT_ERROR;
+            }
+        }
+
+        return brokenLinksCount.get() > 0 ? EXIT_BROKEN_LINKS : EXIT_OK;
+    }
+
+    /**
+     * Method untuk menulis crawler trap yang ditemukan beserta jumlah halaman yang tidak di-crawl.
+     *
+     * @param traps  : trap yang ditemukan
+     * @param prefix : awalan setiap baris (misalnya host situs di mode batch)
+     */
+    private void printTraps(List<TrapDetector.Trap> traps, String prefix) {
+        for (TrapDetector.Trap trap : traps) {
+            out.println(prefix + "TRAP " + trap.getReason() + ": " + trap.getPattern() + " (" + trap.getSkippedCount() + " pages skipped)");
+        }
+    }
+
+    /**
+     * Method untuk memeriksa banyak situs sekaligus, lalu menyimpan laporan per situs dan laporan gabungan.
+     *
+     * @param config        : pengaturan crawling untuk setiap situs
+     * @param seedUrls      : seed URL setiap situs (sudah dinormalisasi)
+     * @param parallelSites : jumlah situs yang di-crawl bersamaan
+     * @param reportDir     : direktori laporan, atau null jika laporan tidak perlu disimpan
+     * @return exit code
+     */
+    private int crawlBatch(CrawlConfig config, List<String> seedUrls, int parallelSites, String reportDir) {
+        BatchRunner batch = new BatchRunner(config, parallelSites, (seedUrl, link) -> count(link, "[" + UrlHandler.getHost(seedUrl) + "] "));
+
+        // Ctrl+C menghentikan semua situs dengan rapi, lalu laporannya tetap disimpan
+        return runWithShutdownHook(batch::stop, () -> crawlBatch(batch, seedUrls, parallelSites, reportDir));
+    }
+
+    /**
+     * Method untuk menjalankan crawling batch sampai semua laporannya tersimpan.
+     *
+     * @param batch         : runner yang menjalankan crawling setiap situs
+     * @param seedUrls      : seed URL setiap situs (sudah dinormalisasi)
+     * @param parallelSites : jumlah situs yang di-crawl bersamaan
+     * @param reportDir     : direktori laporan, atau null jika laporan tidak perlu disimpan
+     * @return exit code
+     */
+    private int crawlBatch(BatchRunner batch, List<String> seedUrls, int parallelSites, String reportDir) {
+        long startTime = System.currentTimeMillis();
+        ScheduledExecutorService progress = startProgress(() -> startTime, batch::getHostRates);
+
+        List<BatchRunner.SiteResult> results;
+        try {
+            out.println("Crawling " + seedUrls.size() + " sites, " + parallelSites + " at a time");
+            results = batch.run(seedUrls);
+        } finally {
+            progress.shutdownNow();
+        }
+
+        // Tulis ringkasan setiap situs
+        printProgress(startTime, Map.of());
+        for (BatchRunner.SiteResult result : results) {
+            Summary summary = result.getSummary();
+            out.println(summary.getStatus() + " " + result.getSeedUrl() + " links=" + summary.getAllLinksCount() + " webpages=" + summary.getWebpages() + " broken=" + summary.getBrokenLinksCount()
+                    + (summary.getDuplicatesCount() == 0 ? "" : " duplicates=" + summary.getDuplicatesCount())
+                    + (result.getError().isEmpty() ? "" : " error=" + result.getError()));
+            printTraps(result.getTraps(), "[" + UrlHandler.getHost(result.getSeedUrl()) + "] ");
+        }
+
+        boolean isFailed = results.stream().anyMatch(result -> !result.getError().isEmpty());
+
+        // Simpan laporan per situs dan laporan gabungan
+        if (reportDir != null) {
+            try {
+                Path dir = Files.createDirectories(Path.of(reportDir));
+                Set<String> usedNames = new HashSet<>();
+                List<Link> allBrokenLinks = new ArrayList<>();
+                List<TrapDetector.Trap> allTraps = new ArrayList<>();
+
+                for (BatchRunner.SiteResult result : results) {
+                    List<Link> brokenLinks = result.getBrokenLinks();
+                    allBrokenLinks.addAll(brokenLinks);
+                    allTraps.addAll(result.getTraps());
+
+                    // Nama file dari host situs, diberi nomor jika ada dua seed dengan host yang sama
+                    String name = UrlHandler.getHost(result.getSeedUrl()).replaceAll("[^A-Za-z0-9.-]", "_");
+                    String fileName = name + ".xlsx";
+                    for (int n = 2; !usedNames.add(fileName); n++) {
+                        fileName = name + "-" + n + ".xlsx";
+                    }
+
+                    new Exporter(result.getSummary(), brokenLinks, result.getTraps()).save(dir.resolve(fileName).toFile());
+                }
+
+                new Exporter(BatchRunner.aggregate(results), allBrokenLinks, allTraps).save(dir.resolve(AGGREGATED_REPORT).toFile());
+                out.println("Reports saved to " + dir.toAbsolutePath());
+            } catch (Exception e) {
+                System.err.println("Failed to save reports: " + e.getMessage());
+                return EXIT_ERROR;
+            }
+        }
+
+        if (brokenLinksCount.get() > 0) {
+            return EXIT_BROKEN_LINKS;
+        }
+        return isFailed ? EXIT_ERROR : EXIT_OK;
+    }
+
+    /**
+     * Method untuk membaca daftar seed URL dari file (satu URL per baris, baris kosong dan # diabaikan).
+     *
+     * @param file : lokasi file daftar seed URL
+     * @return seed URL yang sudah dinormalisasi
+     * @throws IllegalArgumentException jika ada URL yang tidak valid atau file tidak berisi URL
+     */
+    private static List<String> readSeedUrls(Path file) throws IOException {
+        List<String> seedUrls = new ArrayList<>();
+        List<String> lines = Files.readAllLines(file);
+
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            String seedUrl = UrlHandler.normalizeUrl(line, false);
+            if (seedUrl == null) {
+                throw new IllegalArgumentException("Invalid seed URL on line " + (i + 1) + ": " + line);
+            }
+            seedUrls.add(seedUrl);
+        }
+
+        if (seedUrls.isEmpty()) {
+            throw new IllegalArgumentException("No seed URLs in " + file);
+        }
+        return seedUrls;
+    }
+
+    /**
+     * Method untuk mulai menulis baris progres secara berkala.
+     *
+     * @param startTime : waktu mulai crawling
+     * @param hostRates : laju request saat ini per host
+     * @return scheduler progres, dimatikan setelah crawling selesai
+     */
+    private ScheduledExecutorService startProgress(LongSupplier startTime, Supplier<Map<String, Double>> hostRates) {
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cli-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        progress.scheduleAtFixedRate(() -> printProgress(startTime.getAsLong(), hostRates.get()), PROGRESS_INTERVAL_MS, PROGRESS_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        return progress;
+    }
+
+    /**
+     * Method untuk menulis satu baris progres.
+     *
+     * @param startTime : waktu mulai crawling
+     * @param hostRates : laju request saat ini per host, host yang dibatasi ditampilkan dari yang paling lambat
+     */
+    private void printProgress(long startTime, Map<String, Double> hostRates) {
+        long seconds = (System.currentTimeMillis() - startTime) / 1000;
+        String rates = RateLimiter.formatRates(hostRates, PROGRESS_RATE_HOSTS);
+        int duplicates = duplicatesCount.get();
+        out.println("[" + seconds + "s] links=" + allLinksCount.get() + " webpages=" + webpageLinksCount.get() + " broken=" + brokenLinksCount.get()
+                + (duplicates == 0 ? "" : " duplicates=" + duplicates)
+                + (rates.isEmpty() ? "" : " throttled=" + rates));
+    }
+
+    private static int usageError(String message) {
+        System.err.println(message);
+        System.err.print(USAGE);
+        return EXIT_USAGE;
+    }
+}
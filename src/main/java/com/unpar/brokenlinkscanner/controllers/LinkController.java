@@ -24,7 +24,7 @@ public class LinkController {
     @FXML
     private Button closeBtn;
     @FXML
-    private TextField urlField, finalUrlField, contentTypeField, errorField;
+    private TextField urlField, finalUrlField, contentTypeField, errorField, checkMethodField, duplicateOfField;
     @FXML
     private TableView<Map.Entry<Link, String>> webpageLinkTable;
     @FXML
@@ -113,11 +113,20 @@ public class LinkController {
         // Tampilkan pesan error (jika ada)
         errorField.setText(link.getError());
 
+        // Tampilkan metode HTTP yang dipakai saat pemeriksaan
+        checkMethodField.setText(link.getCheckMethod());
+
+        // Tampilkan URL halaman asli jika halaman ini duplikat
+        duplicateOfField.setText(link.getDuplicateOf());
+
         // Buat field URL bisa diklik dan dibuka di browser
         makeFieldClickable(urlField);
 
         // Buat field final URL juga bisa diklik
         makeFieldClickable(finalUrlField);
+
+        // Buat field halaman asli juga bisa diklik
+        makeFieldClickable(duplicateOfField);
     }
 
     /**
@@ -3,12 +3,18 @@ package com.unpar.brokenlinkscanner.controllers;
 import com.unpar.brokenlinkscanner.Application;
 import com.unpar.brokenlinkscanner.services.Crawler;
 import com.unpar.brokenlinkscanner.services.Exporter;
+import com.unpar.brokenlinkscanner.models.CrawlConfig;
 import com.unpar.brokenlinkscanner.models.Status;
 import com.unpar.brokenlinkscanner.models.Link;
 import com.unpar.brokenlinkscanner.models.Summary;
 import com.unpar.brokenlinkscanner.utils.LinkReceiver;
+import com.unpar.brokenlinkscanner.utils.RateLimiter;
+import com.unpar.brokenlinkscanner.utils.TrapDetector;
 import com.unpar.brokenlinkscanner.utils.UrlHandler;
 
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.collections.FXCollections;
@@ -23,10 +29,12 @@ import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.HBox;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 import java.awt.*;
 import java.io.File;
 import java.net.URI;
+import java.nio.file.Path;
 
 /**
  * Kelas ini bertugas untuk mengatur logika antarmuka pengguna, mengendalikan interaksi pengguna, serta mengelola data yang ditampilkan pada jendela utama.
@@ -35,14 +43,16 @@ public class MainController implements LinkReceiver {
     @FXML
     private HBox titleBar, paginationBar;
     @FXML
-    private Button minimizeBtn, maximizeBtn, closeBtn, startBtn, stopBtn, exportBtn;
+    private Button minimizeBtn, maximizeBtn, closeBtn, startBtn, stopBtn, resumeBtn, exportBtn;
     @FXML
     private Label statusLabel, allLinksCountLabel, webpageLinksCountLabel, brokenLinksCountLabel;
     @FXML
-    private Label pageInfoLabel, itemInfoLabel;
+    private Label pageInfoLabel, itemInfoLabel, hostRatesLabel, trapsLabel, duplicatesLabel;
     @FXML
     private TextField seedUrlField, urlFilterField, statusCodeFilterField;
     @FXML
+    private TextField maxLinksField, maxDepthField, maxPagesPerHostField, maxPagesPerPathField, timeoutField, workerCountField, maxBodySizeField;
+    @FXML
     private ComboBox<String> urlFilterOption, statusCodeFilterOption;
     @FXML
     private TableView<Link> brokenLinkTable;
@@ -60,6 +70,10 @@ public class MainController implements LinkReceiver {
     private final FilteredList<Link> webpageLinks = new FilteredList<>(allLinks, link -> link.isWebpage() == true);
     // Menyimpan daftar daftar tautan rusak
     private final FilteredList<Link> brokenLinks = new FilteredList<>(allLinks, link -> !link.getError().isEmpty());
+    // Jumlah host yang dibatasi lajunya yang ditampilkan di ringkasan
+    private static final int SUMMARY_RATE_HOSTS = 5;
+    // Jumlah crawler trap yang ditampilkan di ringkasan
+    private static final int SUMMARY_TRAPS = 3;
 
     // ========================= PAGINATION =========================
     // Menyimpan daftar tautan rusak benar-benar ditampilkan di TableView
@@ -98,9 +112,11 @@ public class MainController implements LinkReceiver {
             setTableView();
             // Setup logika pagination
             setPagination();
+            // Setup nilai awal pengaturan crawling
+            setSettingsCard();
 
             // Inisialisasi crawler dan kirim MainController sebagai LinkReceiver
-            crawler = new Crawler(this);
+            crawler = new Crawler(this, Application.getConfig());
         });
     }
 
@@ -137,9 +153,21 @@ public class MainController implements LinkReceiver {
                 return;
             }
 
+            // Ambil pengaturan crawling dari input
+            CrawlConfig config;
+            try {
+                config = readSettings();
+            } catch (IllegalArgumentException e) {
+                showNotification("WARNING", "Invalid crawl settings: " + e.getMessage());
+                return;
+            }
+
             // Update field (di GUI) dengan URL yang sudah dinormalisasi
             seedUrlField.setText(cleanedSeedUrl);
 
+            // Pasang pengaturan ke crawler
+            crawler.setConfig(config);
+
             // Bersihkan data lama
             allLinks.clear();
 
@@ -174,6 +202,70 @@ public class MainController implements LinkReceiver {
         }
     }
 
+    /**
+     * Event handler saat tombol Resume ditekan.
+     * Melanjutkan crawling terakhir dari file checkpoint.
+     */
+    @FXML
+    private void onResumeClick() {
+        try {
+            // Ambil pengaturan crawling dari input
+            CrawlConfig config;
+            try {
+                config = readSettings();
+            } catch (IllegalArgumentException e) {
+                showNotification("WARNING", "Invalid crawl settings: " + e.getMessage());
+                return;
+            }
+
+            // Ambil seed URL dari checkpoint, jika tidak ada tampilkan peringatan
+            String checkpointFile = config.getCheckpointFile();
+            String seedUrl = checkpointFile.isEmpty() ? null : Crawler.readCheckpointSeed(Path.of(checkpointFile));
+            if (seedUrl == null) {
+                showNotification("WARNING", "There is no saved crawl to resume.");
+                return;
+            }
+
+            // Update field (di GUI) dengan seed URL dari checkpoint
+            seedUrlField.setText(seedUrl);
+
+            // Pasang pengaturan ke crawler
+            crawler.setConfig(config);
+
+            // Bersihkan data lama, hasil dari checkpoint akan dikirim ulang oleh crawler
+            allLinks.clear();
+
+            // Set status menjadi CHECKING
+            summary.setStatus(Status.CHECKING);
+
+            // Lanjutkan crawling di virtual thread
+            Thread.startVirtualThread(() -> {
+                try {
+                    // Catat waktu mulai
+                    summary.setStartTime(System.currentTimeMillis());
+
+                    // Lanjutkan proses crawling
+                    crawler.resume();
+
+                    // Catat waktu selesai
+                    summary.setEndTime(System.currentTimeMillis());
+
+                    // Jika proses tidak dihentikan user
+                    if (!crawler.isStoppedByUser()) {
+                        // Update status menjadi COMPLETED
+                        Platform.runLater(() -> summary.setStatus(Status.COMPLETED));
+                    }
+                } catch (Exception e) {
+                    // Tampilkan error jika terjadi exception saat crawling
+                    showNotification("ERROR", e.getMessage());
+                }
+            });
+        } catch (Exception e) {
+            // Tampilkan error tak terduga
+            showNotification("ERROR", e.getMessage());
+        }
+    }
+
     /**
      * Event handler saat tombol Stop ditekan.
      */
@@ -239,7 +331,7 @@ public class MainController implements LinkReceiver {
             Thread.startVirtualThread(() -> {
                 try {
                     // Buat exporter dengan data summary dan broken links
-                    Exporter exporter = new Exporter(summary, brokenLinks);
+                    Exporter exporter = new Exporter(summary, brokenLinks, crawler.getTraps());
 
                     // Simpan file Excel
                     exporter.save(finalFile);
@@ -305,27 +397,83 @@ public class MainController implements LinkReceiver {
     }
 
     /**
-     * Method untuk mengatur prilaku tombol Start, Stop dan Export berdasarkan status dari proses pemeriksaan.
+     * Method untuk mengisi input pengaturan crawling dengan nilai dari command line (atau default).
+     */
+    private void setSettingsCard() {
+        CrawlConfig config = Application.getConfig();
+
+        maxLinksField.setText(String.valueOf(config.getMaxLinks()));
+        maxDepthField.setText(String.valueOf(config.getMaxDepth()));
+        maxPagesPerHostField.setText(String.valueOf(config.getMaxPagesPerHost()));
+        maxPagesPerPathField.setText(String.valueOf(config.getMaxPagesPerPathPrefix()));
+        timeoutField.setText(String.valueOf(config.getRequestTimeout()));
+        workerCountField.setText(String.valueOf(config.getWorkerCount()));
+        maxBodySizeField.setText(String.valueOf(config.getMaxBodySize() / 1024));
+
+        // Nilai 0 berarti tanpa batas
+        maxDepthField.setPromptText("0 = no limit");
+        maxPagesPerHostField.setPromptText("0 = no limit");
+        maxPagesPerPathField.setPromptText("0 = no limit");
+    }
+
+    /**
+     * Method untuk membuat pengaturan crawling dari input di jendela utama.
+     * Pengaturan yang tidak ada di jendela utama diambil dari command line (atau default).
+     *
+     * @return objek CrawlConfig baru
+     * @throws IllegalArgumentException jika ada input yang bukan angka atau di luar batas
+     */
+    private CrawlConfig readSettings() {
+        CrawlConfig config = Application.getConfig().copy();
+
+        config.setMaxLinks(parseNumber(maxLinksField, "Max Links"));
+        config.setMaxDepth(parseNumber(maxDepthField, "Max Depth"));
+        config.setMaxPagesPerHost(parseNumber(maxPagesPerHostField, "Pages/Host"));
+        config.setMaxPagesPerPathPrefix(parseNumber(maxPagesPerPathField, "Pages/Path"));
+        config.setConnectTimeout(parseNumber(timeoutField, "Timeout"));
+        config.setRequestTimeout(parseNumber(timeoutField, "Timeout"));
+        config.setWorkerCount(parseNumber(workerCountField, "Workers"));
+        config.setMaxBodySize(parseNumber(maxBodySizeField, "Max Body") * 1024L);
+
+        return config;
+    }
+
+    /**
+     * Method untuk membaca angka dari input pengaturan.
+     */
+    private static int parseNumber(TextField field, String name) {
+        try {
+            return Integer.parseInt(field.getText().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+    }
+
+    /**
+     * Method untuk mengatur prilaku tombol Start, Stop, Resume dan Export berdasarkan status dari proses pemeriksaan.
      */
     private void setButtonState() {
         // Pasang listener ke atribut status dari objek Summary
         summary.statusProperty().addListener((obs, old, status) -> {
             switch (status) {
-                // Tombol Start aktif, Stop dan Export inactive
+                // Tombol Start dan Resume aktif, Stop dan Export inactive
                 case IDLE -> {
                     startBtn.setDisable(false);
+                    resumeBtn.setDisable(false);
                     stopBtn.setDisable(true);
                     exportBtn.setDisable(true);
                 }
-                // Tombol Stop aktif, Start dan Export inactive
+                // Tombol Stop aktif, Start, Resume dan Export inactive
                 case CHECKING -> {
                     startBtn.setDisable(true);
+                    resumeBtn.setDisable(true);
                     stopBtn.setDisable(false);
                     exportBtn.setDisable(true);
                 }
-                // Tombol Start dan Export active, Stop incative
+                // Tombol Start, Resume dan Export active, Stop incative
                 case STOPPED, COMPLETED -> {
                     startBtn.setDisable(false);
+                    resumeBtn.setDisable(false);
                     stopBtn.setDisable(true);
                     exportBtn.setDisable(false);
                 }
@@ -479,8 +627,20 @@ public class MainController implements LinkReceiver {
                 // Binding tergantung pada perubahan data di allLinks
                 allLinks));
 
+        // Hitung halaman duplikat yang link-nya tidak diproses
+        summary.duplicatesCountProperty().bind(Bindings.createIntegerBinding(
+                () -> (int) allLinks.stream().filter(l -> !l.getDuplicateOf().isEmpty()).count(),
+                allLinks));
+
+        // Tampilkan jumlah halaman duplikat hanya jika ada
+        duplicatesLabel.textProperty().bind(Bindings.createStringBinding(
+                () -> summary.getDuplicatesCount() == 0 ? "" : "Duplicate pages (links not followed): " + summary.getDuplicatesCount(),
+                summary.duplicatesCountProperty()));
+
         // Listener untuk mengubah warna label status berdasarkan status
         summary.statusProperty().addListener((obs, old, status) -> {
+            updateTraps(status);
+
             switch (status) {
                 // Warna putih
                 case IDLE -> statusLabel.setStyle("-fx-text-fill: #f9fafb;");
@@ -493,11 +653,44 @@ public class MainController implements LinkReceiver {
             }
         });
 
+        // Tampilkan laju host yang sedang dibatasi setiap detik selama crawling berjalan
+        Timeline hostRatesTimeline = new Timeline(new KeyFrame(Duration.seconds(1), e -> updateHostRates()));
+        hostRatesTimeline.setCycleCount(Animation.INDEFINITE);
+        hostRatesTimeline.play();
+
         // Untuk trigger method setButtonState()
         summary.setStatus(Status.STOPPED);
         summary.setStatus(Status.IDLE);
     }
 
+    /**
+     * Method untuk menampilkan laju request host yang sedang dibatasi (misalnya karena 429 atau Crawl-delay).
+     */
+    private void updateHostRates() {
+        if (crawler == null || summary.getStatus() != Status.CHECKING) {
+            hostRatesLabel.setText("");
+            return;
+        }
+
+        String rates = RateLimiter.formatRates(crawler.getHostRates(), SUMMARY_RATE_HOSTS);
+        hostRatesLabel.setText(rates.isEmpty() ? "" : "Throttled hosts: " + rates);
+    }
+
+    /**
+     * Method untuk menampilkan crawler trap yang ditemukan setelah crawling selesai atau dihentikan.
+     *
+     * @param status : status crawling saat ini
+     */
+    private void updateTraps(Status status) {
+        if (crawler == null || (status != Status.COMPLETED && status != Status.STOPPED)) {
+            trapsLabel.setText("");
+            return;
+        }
+
+        String traps = TrapDetector.formatTraps(crawler.getTraps(), SUMMARY_TRAPS);
+        trapsLabel.setText(traps.isEmpty() ? "" : "Crawler traps: " + traps);
+    }
+
     // =============== FILTER ===============
 
     /**
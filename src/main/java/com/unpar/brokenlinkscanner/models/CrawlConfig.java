@@ -0,0 +1,739 @@
+package com.unpar.brokenlinkscanner.models;
+
+import java.net.http.HttpClient;
+import java.net.IDN;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Kelas untuk menyimpan pengaturan satu proses crawling (batas, timeout, jumlah worker, dll).
+ *
+ * Nilai 0 pada batas kedalaman, halaman per host, dan halaman per path prefix berarti tanpa batas.
+ * File checkpoint kosong berarti checkpoint tidak diaktifkan, begitu juga file cache hasil link eksternal dan file cache halaman.
+ * TTL cache 0 berarti hasil jenis tersebut tidak disimpan di cache.
+ * Crawler menyimpan salinan objek ini, jadi perubahan setelah crawling dimulai tidak berpengaruh.
+ */
+public class CrawlConfig {
+    // Opsi command line tanpa nilai yang berarti true (misalnya --sitemaps)
+    private static final Set<String> FLAG_OPTIONS = Set.of("sitemaps", "sort-params", "strip-index", "ignore-scheme", "ignore-www", "dedup");
+
+    private int maxLinks = 1000;
+    private int maxDepth = 0;
+    private int maxPagesPerHost = 0;
+    private int maxPagesPerPathPrefix = 0;
+    private long connectTimeout = 20_000;
+    private long requestTimeout = 20_000;
+    private String userAgent = "BrokenLinkChecker (+https://github.com/deboschr/TUGAS-AKHIR-2)";
+    private HttpClient.Redirect redirectPolicy = HttpClient.Redirect.ALWAYS;
+    private int workerCount = 8;
+    private int maxExternalInFlight = 64;
+    private int maxConnectionsPerHost = 4;
+    private int maxAsyncInFlight = 128;
+    private long maxBodySize = 5L * 1024 * 1024;
+    private boolean isHeadFirst = true;
+    private CrawlEngine engine = CrawlEngine.VIRTUAL_THREAD;
+    private long defaultHostInterval = 0;
+    private Map<String, Long> hostIntervals = new LinkedHashMap<>();
+    private int maxRetries = 2;
+    private long retryBaseDelay = 1000;
+    private long retryMaxDelay = 30_000;
+    private int breakerThreshold = 5;
+    private long breakerProbeInterval = 30_000;
+    private int frontierMemoryLimit = 10_000;
+    private String spillDirectory = "";
+    private String checkpointFile = "";
+    private long checkpointInterval = 5000;
+    private String verdictCacheFile = "";
+    private long verdictOkTtl = 7L * 24 * 60 * 60 * 1000;
+    private long verdictClientErrorTtl = 24L * 60 * 60 * 1000;
+    private long verdictServerErrorTtl = 60L * 60 * 1000;
+    private long verdictNetworkErrorTtl = 0;
+    private String pageCacheFile = "";
+    private long pageCacheTtl = 7L * 24 * 60 * 60 * 1000;
+    private int pageCacheMaxPages = 100_000;
+    private boolean isSitemapDiscovery = false;
+    private boolean isRespectRobots = true;
+    private String stripParams = "";
+    private boolean isSortParams = false;
+    private boolean isStripIndexFiles = false;
+    private boolean isIgnoreScheme = false;
+    private boolean isIgnoreWww = false;
+    private int trapMaxRepeatedSegments = 2;
+    private int trapMaxPathDepth = 15;
+    private int trapMaxVariants = 0;
+    private boolean isSkipDuplicates = false;
+    private long dnsTtl = 5 * 60_000;
+    private long dnsNegativeTtl = 60_000;
+
+    /**
+     * Method untuk membuat salinan pengaturan.
+     *
+     * @return objek CrawlConfig baru dengan nilai yang sama
+     */
+    public CrawlConfig copy() {
+        CrawlConfig c = new CrawlConfig();
+        c.maxLinks = maxLinks;
+        c.maxDepth = maxDepth;
+        c.maxPagesPerHost = maxPagesPerHost;
+        c.maxPagesPerPathPrefix = maxPagesPerPathPrefix;
+        c.connectTimeout = connectTimeout;
+        c.requestTimeout = requestTimeout;
+        c.userAgent = userAgent;
+        c.redirectPolicy = redirectPolicy;
+        c.workerCount = workerCount;
+        c.maxExternalInFlight = maxExternalInFlight;
+        c.maxConnectionsPerHost = maxConnectionsPerHost;
+        c.maxAsyncInFlight = maxAsyncInFlight;
+        c.maxBodySize = maxBodySize;
+        c.isHeadFirst = isHeadFirst;
+        c.engine = engine;
+        c.defaultHostInterval = defaultHostInterval;
+        c.hostIntervals = new LinkedHashMap<>(hostIntervals);
+        c.maxRetries = maxRetries;
+        c.retryBaseDelay = retryBaseDelay;
+        c.retryMaxDelay = retryMaxDelay;
+        c.breakerThreshold = breakerThreshold;
+        c.breakerProbeInterval = breakerProbeInterval;
+        c.frontierMemoryLimit = frontierMemoryLimit;
+        c.spillDirectory = spillDirectory;
+        c.checkpointFile = checkpointFile;
+        c.checkpointInterval = checkpointInterval;
+        c.verdictCacheFile = verdictCacheFile;
+        c.verdictOkTtl = verdictOkTtl;
+        c.verdictClientErrorTtl = verdictClientErrorTtl;
+        c.verdictServerErrorTtl = verdictServerErrorTtl;
+        c.verdictNetworkErrorTtl = verdictNetworkErrorTtl;
+        c.pageCacheFile = pageCacheFile;
+        c.pageCacheTtl = pageCacheTtl;
+        c.pageCacheMaxPages = pageCacheMaxPages;
+        c.isSitemapDiscovery = isSitemapDiscovery;
+        c.isRespectRobots = isRespectRobots;
+        c.stripParams = stripParams;
+        c.isSortParams = isSortParams;
+        c.isStripIndexFiles = isStripIndexFiles;
+        c.isIgnoreScheme = isIgnoreScheme;
+        c.isIgnoreWww = isIgnoreWww;
+        c.trapMaxRepeatedSegments = trapMaxRepeatedSegments;
+        c.trapMaxPathDepth = trapMaxPathDepth;
+        c.trapMaxVariants = trapMaxVariants;
+        c.isSkipDuplicates = isSkipDuplicates;
+        c.dnsTtl = dnsTtl;
+        c.dnsNegativeTtl = dnsNegativeTtl;
+        return c;
+    }
+
+    /**
+     * Method untuk membuat pengaturan dari argumen command line.
+     *
+     * Format opsi: --nama=nilai atau --nama nilai (misalnya --max-links=5000 --timeout 5000).
+     * Argumen yang tidak diawali "--" diabaikan dan dibiarkan untuk pemanggil.
+     *
+     * @param args : argumen command line
+     * @return objek CrawlConfig dengan nilai default yang sudah ditimpa oleh opsi
+     * @throws IllegalArgumentException jika opsi tidak dikenal atau nilainya tidak valid
+     */
+    public static CrawlConfig fromArgs(String[] args) {
+        CrawlConfig config = new CrawlConfig();
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+
+            // Bukan opsi, biarkan untuk pemanggil (misalnya seed URL)
+            if (!arg.startsWith("--")) {
+                continue;
+            }
+
+            // Pisahkan nama dan nilai opsi
+            String name;
+            String value;
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                name = arg.substring(2, eq);
+                value = arg.substring(eq + 1);
+            } else if (arg.equals("--no-head-first")) {
+                name = "head-first";
+                value = "false";
+            } else if (arg.equals("--no-checkpoint")) {
+                name = "checkpoint-file";
+                value = "";
+            } else if (arg.equals("--no-verdict-cache")) {
+                name = "verdict-cache";
+                value = "";
+            } else if (arg.equals("--no-robots")) {
+                name = "robots";
+                value = "false";
+            } else if (arg.equals("--no-dedup")) {
+                name = "dedup";
+                value = "false";
+            } else if (FLAG_OPTIONS.contains(arg.substring(2))) {
+                name = arg.substring(2);
+                value = "true";
+            } else if (arg.equals("--no-page-cache")) {
+                name = "page-cache";
+                value = "";
+            } else if (i + 1 < args.length) {
+                name = arg.substring(2);
+                value = args[++i];
+            } else {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+
+            try {
+                config.set(name, value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value for --" + name + ": " + value);
+            }
+        }
+
+        return config;
+    }
+
+    /**
+     * Method untuk mengecek apakah opsi command line ditulis tanpa nilai (misalnya --no-checkpoint atau --sitemaps).
+     *
+     * @param arg : argumen command line
+     * @return true jika opsi tidak diikuti nilai
+     */
+    public static boolean isFlag(String arg) {
+        return arg.startsWith("--no-") || (arg.startsWith("--") && FLAG_OPTIONS.contains(arg.substring(2)));
+    }
+
+    /**
+     * Method untuk mengisi satu pengaturan berdasarkan nama opsi command line.
+     */
+    private void set(String name, String value) {
+        switch (name) {
+            case "max-links" -> setMaxLinks(Integer.parseInt(value));
+            case "max-depth" -> setMaxDepth(Integer.parseInt(value));
+            case "max-pages-per-host" -> setMaxPagesPerHost(Integer.parseInt(value));
+            case "max-pages-per-path" -> setMaxPagesPerPathPrefix(Integer.parseInt(value));
+            case "connect-timeout" -> setConnectTimeout(Long.parseLong(value));
+            case "request-timeout" -> setRequestTimeout(Long.parseLong(value));
+            case "timeout" -> {
+                setConnectTimeout(Long.parseLong(value));
+                setRequestTimeout(Long.parseLong(value));
+            }
+            case "user-agent" -> setUserAgent(value);
+            case "redirect" -> setRedirectPolicy(HttpClient.Redirect.valueOf(value.toUpperCase(Locale.ROOT)));
+            case "workers" -> setWorkerCount(Integer.parseInt(value));
+            case "external-in-flight" -> setMaxExternalInFlight(Integer.parseInt(value));
+            case "max-connections-per-host" -> setMaxConnectionsPerHost(Integer.parseInt(value));
+            case "async-in-flight" -> setMaxAsyncInFlight(Integer.parseInt(value));
+            case "max-body-size" -> setMaxBodySize(Long.parseLong(value));
+            case "head-first" -> setHeadFirst(Boolean.parseBoolean(value));
+            case "engine" -> setEngine(switch (value.toLowerCase(Locale.ROOT)) {
+                case "virtual" -> CrawlEngine.VIRTUAL_THREAD;
+                case "async" -> CrawlEngine.ASYNC;
+                default -> throw new IllegalArgumentException("Invalid value for --engine: " + value + " (expected virtual or async)");
+            });
+            case "host-interval" -> setHostIntervals(value);
+            case "max-retries" -> setMaxRetries(Integer.parseInt(value));
+            case "retry-base-delay" -> setRetryBaseDelay(Long.parseLong(value));
+            case "retry-max-delay" -> setRetryMaxDelay(Long.parseLong(value));
+            case "breaker-threshold" -> setBreakerThreshold(Integer.parseInt(value));
+            case "breaker-probe-interval" -> setBreakerProbeInterval(Long.parseLong(value));
+            case "frontier-memory" -> setFrontierMemoryLimit(Integer.parseInt(value));
+            case "spill-dir" -> setSpillDirectory(value);
+            case "checkpoint-file" -> setCheckpointFile(value);
+            case "checkpoint-interval" -> setCheckpointInterval(Long.parseLong(value));
+            case "verdict-cache" -> setVerdictCacheFile(value);
+            case "verdict-ttl-ok" -> setVerdictOkTtl(Long.parseLong(value));
+            case "verdict-ttl-4xx" -> setVerdictClientErrorTtl(Long.parseLong(value));
+            case "verdict-ttl-5xx" -> setVerdictServerErrorTtl(Long.parseLong(value));
+            case "verdict-ttl-network" -> setVerdictNetworkErrorTtl(Long.parseLong(value));
+            case "page-cache" -> setPageCacheFile(value);
+            case "page-cache-ttl" -> setPageCacheTtl(Long.parseLong(value));
+            case "page-cache-max-pages" -> setPageCacheMaxPages(Integer.parseInt(value));
+            case "sitemaps" -> setSitemapDiscovery(Boolean.parseBoolean(value));
+            case "robots" -> setRespectRobots(Boolean.parseBoolean(value));
+            case "strip-params" -> setStripParams(value);
+            case "sort-params" -> setSortParams(Boolean.parseBoolean(value));
+            case "strip-index" -> setStripIndexFiles(Boolean.parseBoolean(value));
+            case "ignore-scheme" -> setIgnoreScheme(Boolean.parseBoolean(value));
+            case "ignore-www" -> setIgnoreWww(Boolean.parseBoolean(value));
+            case "trap-max-repeats" -> setTrapMaxRepeatedSegments(Integer.parseInt(value));
+            case "trap-max-path-depth" -> setTrapMaxPathDepth(Integer.parseInt(value));
+            case "trap-max-variants" -> setTrapMaxVariants(Integer.parseInt(value));
+            case "dedup" -> setSkipDuplicates(Boolean.parseBoolean(value));
+            case "dns-ttl" -> setDnsTtl(Long.parseLong(value));
+            case "dns-negative-ttl" -> setDnsNegativeTtl(Long.parseLong(value));
+            default -> throw new IllegalArgumentException("Unknown option: --" + name);
+        }
+    }
+
+    private static int requireAtLeast(int value, int min, String name) {
+        if (value < min) {
+            throw new IllegalArgumentException(name + " must be at least " + min);
+        }
+        return value;
+    }
+
+    private static long requireAtLeast(long value, long min, String name) {
+        if (value < min) {
+            throw new IllegalArgumentException(name + " must be at least " + min);
+        }
+        return value;
+    }
+
+    // =============================================
+    public int getMaxLinks() {
+        return maxLinks;
+    }
+
+    public void setMaxLinks(int value) {
+        this.maxLinks = requireAtLeast(value, 1, "Max links");
+    }
+
+    // =============================================
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public void setMaxDepth(int value) {
+        this.maxDepth = requireAtLeast(value, 0, "Max depth");
+    }
+
+    // =============================================
+    public int getMaxPagesPerHost() {
+        return maxPagesPerHost;
+    }
+
+    public void setMaxPagesPerHost(int value) {
+        this.maxPagesPerHost = requireAtLeast(value, 0, "Max pages per host");
+    }
+
+    // =============================================
+    public int getMaxPagesPerPathPrefix() {
+        return maxPagesPerPathPrefix;
+    }
+
+    public void setMaxPagesPerPathPrefix(int value) {
+        this.maxPagesPerPathPrefix = requireAtLeast(value, 0, "Max pages per path prefix");
+    }
+
+    // =============================================
+    public long getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(long value) {
+        this.connectTimeout = requireAtLeast(value, 1, "Connect timeout");
+    }
+
+    // =============================================
+    public long getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public void setRequestTimeout(long value) {
+        this.requestTimeout = requireAtLeast(value, 1, "Request timeout");
+    }
+
+    // =============================================
+    public String getUserAgent() {
+        return userAgent;
+    }
+
+    public void setUserAgent(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("User agent cannot be empty");
+        }
+        this.userAgent = value;
+    }
+
+    // =============================================
+    public HttpClient.Redirect getRedirectPolicy() {
+        return redirectPolicy;
+    }
+
+    public void setRedirectPolicy(HttpClient.Redirect value) {
+        this.redirectPolicy = Objects.requireNonNull(value);
+    }
+
+    // =============================================
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    public void setWorkerCount(int value) {
+        this.workerCount = requireAtLeast(value, 1, "Worker count");
+    }
+
+    // =============================================
+    public int getMaxExternalInFlight() {
+        return maxExternalInFlight;
+    }
+
+    public void setMaxExternalInFlight(int value) {
+        this.maxExternalInFlight = requireAtLeast(value, 1, "Max external in flight");
+    }
+
+    // =============================================
+    public int getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    public void setMaxConnectionsPerHost(int value) {
+        this.maxConnectionsPerHost = requireAtLeast(value, 1, "Max connections per host");
+    }
+
+    // =============================================
+    public int getMaxAsyncInFlight() {
+        return maxAsyncInFlight;
+    }
+
+    public void setMaxAsyncInFlight(int value) {
+        this.maxAsyncInFlight = requireAtLeast(value, 1, "Max async in flight");
+    }
+
+    // =============================================
+    public long getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    public void setMaxBodySize(long value) {
+        this.maxBodySize = requireAtLeast(value, 1, "Max body size");
+    }
+
+    // =============================================
+    public boolean isHeadFirst() {
+        return isHeadFirst;
+    }
+
+    public void setHeadFirst(boolean value) {
+        this.isHeadFirst = value;
+    }
+
+    // =============================================
+    public CrawlEngine getEngine() {
+        return engine;
+    }
+
+    public void setEngine(CrawlEngine value) {
+        this.engine = Objects.requireNonNull(value);
+    }
+
+    // =============================================
+    public long getDefaultHostInterval() {
+        return defaultHostInterval;
+    }
+
+    public void setDefaultHostInterval(long value) {
+        this.defaultHostInterval = requireAtLeast(value, 0, "Host interval");
+    }
+
+    // =============================================
+    /**
+     * @return jarak waktu antar request khusus per host (host lowercase ke milidetik)
+     */
+    public Map<String, Long> getHostIntervals() {
+        return Collections.unmodifiableMap(hostIntervals);
+    }
+
+    /**
+     * Method untuk mengatur jarak waktu antar request khusus untuk satu host.
+     *
+     * @param host  : host URL (misalnya www.example.com)
+     * @param value : jarak waktu dalam milidetik (0 = tanpa jeda)
+     */
+    public void setHostInterval(String host, long value) {
+        String name = host.trim();
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("Host interval needs a host name");
+        }
+        hostIntervals.put(IDN.toASCII(name.toLowerCase(Locale.ROOT)), requireAtLeast(value, 0, "Host interval"));
+    }
+
+    /**
+     * Method untuk membaca nilai opsi --host-interval: angka saja menjadi jarak waktu default,
+     * sedangkan "host=ms" (boleh beberapa, dipisah koma) menjadi jarak waktu khusus host tersebut.
+     */
+    private void setHostIntervals(String value) {
+        if (value.indexOf('=') < 0) {
+            setDefaultHostInterval(Long.parseLong(value.trim()));
+            return;
+        }
+
+        for (String entry : value.split(",")) {
+            int eq = entry.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Invalid value for --host-interval: " + entry.trim() + " (expected host=ms)");
+            }
+            setHostInterval(entry.substring(0, eq), Long.parseLong(entry.substring(eq + 1).trim()));
+        }
+    }
+
+    // =============================================
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int value) {
+        this.maxRetries = requireAtLeast(value, 0, "Max retries");
+    }
+
+    // =============================================
+    public long getRetryBaseDelay() {
+        return retryBaseDelay;
+    }
+
+    public void setRetryBaseDelay(long value) {
+        this.retryBaseDelay = requireAtLeast(value, 0, "Retry base delay");
+    }
+
+    // =============================================
+    public long getRetryMaxDelay() {
+        return retryMaxDelay;
+    }
+
+    public void setRetryMaxDelay(long value) {
+        this.retryMaxDelay = requireAtLeast(value, 0, "Retry max delay");
+    }
+
+    // =============================================
+    public int getBreakerThreshold() {
+        return breakerThreshold;
+    }
+
+    public void setBreakerThreshold(int value) {
+        this.breakerThreshold = requireAtLeast(value, 1, "Breaker threshold");
+    }
+
+    // =============================================
+    public long getBreakerProbeInterval() {
+        return breakerProbeInterval;
+    }
+
+    public void setBreakerProbeInterval(long value) {
+        this.breakerProbeInterval = requireAtLeast(value, 0, "Breaker probe interval");
+    }
+
+    // =============================================
+    public int getFrontierMemoryLimit() {
+        return frontierMemoryLimit;
+    }
+
+    public void setFrontierMemoryLimit(int value) {
+        this.frontierMemoryLimit = requireAtLeast(value, 1, "Frontier memory limit");
+    }
+
+    // =============================================
+    public String getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    public void setSpillDirectory(String value) {
+        this.spillDirectory = value == null ? "" : value.trim();
+    }
+
+    // =============================================
+    public String getCheckpointFile() {
+        return checkpointFile;
+    }
+
+    public void setCheckpointFile(String value) {
+        this.checkpointFile = value == null ? "" : value.trim();
+    }
+
+    // =============================================
+    public long getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    public void setCheckpointInterval(long value) {
+        this.checkpointInterval = requireAtLeast(value, 0, "Checkpoint interval");
+    }
+
+    // =============================================
+    public String getVerdictCacheFile() {
+        return verdictCacheFile;
+    }
+
+    public void setVerdictCacheFile(String value) {
+        this.verdictCacheFile = value == null ? "" : value.trim();
+    }
+
+    // =============================================
+    public long getVerdictOkTtl() {
+        return verdictOkTtl;
+    }
+
+    public void setVerdictOkTtl(long value) {
+        this.verdictOkTtl = requireAtLeast(value, 0, "Verdict TTL");
+    }
+
+    // =============================================
+    public long getVerdictClientErrorTtl() {
+        return verdictClientErrorTtl;
+    }
+
+    public void setVerdictClientErrorTtl(long value) {
+        this.verdictClientErrorTtl = requireAtLeast(value, 0, "Verdict TTL");
+    }
+
+    // =============================================
+    public long getVerdictServerErrorTtl() {
+        return verdictServerErrorTtl;
+    }
+
+    public void setVerdictServerErrorTtl(long value) {
+        this.verdictServerErrorTtl = requireAtLeast(value, 0, "Verdict TTL");
+    }
+
+    // =============================================
+    public long getVerdictNetworkErrorTtl() {
+        return verdictNetworkErrorTtl;
+    }
+
+    public void setVerdictNetworkErrorTtl(long value) {
+        this.verdictNetworkErrorTtl = requireAtLeast(value, 0, "Verdict TTL");
+    }
+
+    // =============================================
+    public String getPageCacheFile() {
+        return pageCacheFile;
+    }
+
+    public void setPageCacheFile(String value) {
+        this.pageCacheFile = value == null ? "" : value.trim();
+    }
+
+    // =============================================
+    public long getPageCacheTtl() {
+        return pageCacheTtl;
+    }
+
+    public void setPageCacheTtl(long value) {
+        this.pageCacheTtl = requireAtLeast(value, 0, "Page cache TTL");
+    }
+
+    // =============================================
+    public int getPageCacheMaxPages() {
+        return pageCacheMaxPages;
+    }
+
+    public void setPageCacheMaxPages(int value) {
+        this.pageCacheMaxPages = requireAtLeast(value, 1, "Page cache size");
+    }
+
+    // =============================================
+    public boolean isSitemapDiscovery() {
+        return isSitemapDiscovery;
+    }
+
+    public void setSitemapDiscovery(boolean value) {
+        this.isSitemapDiscovery = value;
+    }
+
+    // =============================================
+    public boolean isRespectRobots() {
+        return isRespectRobots;
+    }
+
+    public void setRespectRobots(boolean value) {
+        this.isRespectRobots = value;
+    }
+
+    // =============================================
+    public String getStripParams() {
+        return stripParams;
+    }
+
+    public void setStripParams(String value) {
+        this.stripParams = value == null ? "" : value.trim();
+    }
+
+    // =============================================
+    public boolean isSortParams() {
+        return isSortParams;
+    }
+
+    public void setSortParams(boolean value) {
+        this.isSortParams = value;
+    }
+
+    // =============================================
+    public boolean isStripIndexFiles() {
+        return isStripIndexFiles;
+    }
+
+    public void setStripIndexFiles(boolean value) {
+        this.isStripIndexFiles = value;
+    }
+
+    // =============================================
+    public boolean isIgnoreScheme() {
+        return isIgnoreScheme;
+    }
+
+    public void setIgnoreScheme(boolean value) {
+        this.isIgnoreScheme = value;
+    }
+
+    // =============================================
+    public boolean isIgnoreWww() {
+        return isIgnoreWww;
+    }
+
+    public void setIgnoreWww(boolean value) {
+        this.isIgnoreWww = value;
+    }
+
+    // =============================================
+    public int getTrapMaxRepeatedSegments() {
+        return trapMaxRepeatedSegments;
+    }
+
+    public void setTrapMaxRepeatedSegments(int value) {
+        this.trapMaxRepeatedSegments = requireAtLeast(value, 0, "Trap max repeated segments");
+    }
+
+    // =============================================
+    public int getTrapMaxPathDepth() {
+        return trapMaxPathDepth;
+    }
+
+    public void setTrapMaxPathDepth(int value) {
+        this.trapMaxPathDepth = requireAtLeast(value, 0, "Trap max path depth");
+    }
+
+    // =============================================
+    public int getTrapMaxVariants() {
+        return trapMaxVariants;
+    }
+
+    public void setTrapMaxVariants(int value) {
+        this.trapMaxVariants = requireAtLeast(value, 0, "Trap max variants");
+    }
+
+    // =============================================
+    public boolean isSkipDuplicates() {
+        return isSkipDuplicates;
+    }
+
+    public void setSkipDuplicates(boolean value) {
+        this.isSkipDuplicates = value;
+    }
+
+    // =============================================
+    public long getDnsTtl() {
+        return dnsTtl;
+    }
+
+    public void setDnsTtl(long value) {
+        this.dnsTtl = requireAtLeast(value, 0, "DNS TTL");
+    }
+
+    // =============================================
+    public long getDnsNegativeTtl() {
+        return dnsNegativeTtl;
+    }
+
+    public void setDnsNegativeTtl(long value) {
+        this.dnsNegativeTtl = requireAtLeast(value, 0, "DNS negative TTL");
+    }
+}
@@ -0,0 +1,8 @@
+package com.unpar.brokenlinkscanner.models;
+
+public enum CrawlEngine {
+    // Request blocking (HttpClient.send) yang dijalankan oleh worker virtual thread
+    VIRTUAL_THREAD,
+    // Request non-blocking (HttpClient.sendAsync) yang dirangkai dengan CompletableFuture
+    ASYNC
+}
@@ -13,6 +13,13 @@ public class Link {
     private final StringProperty contentType = new SimpleStringProperty("");
     private final StringProperty error = new SimpleStringProperty("");
     private final BooleanProperty isWebpage = new SimpleBooleanProperty(false);
+    private final StringProperty checkMethod = new SimpleStringProperty("");
+    private final BooleanProperty isTruncated = new SimpleBooleanProperty(false);
+    private final IntegerProperty attempts = new SimpleIntegerProperty(0);
+    private final LongProperty elapsedTime = new SimpleLongProperty(0);
+    private final StringProperty duplicateOf = new SimpleStringProperty("");
+    private volatile long firstAttemptTime = 0;
+    private volatile int depth = 0;
     private final Map<Link, String> webpageSources = new ConcurrentHashMap<>();
 
     public Link(String url) {
@@ -102,6 +109,100 @@ public class Link {
         return isWebpage;
     }
 
+    // ===================================================
+    public String getCheckMethod() {
+        return checkMethod.get();
+    }
+
+    public void setCheckMethod(String value) {
+        checkMethod.set(value != null ? value : "");
+    }
+
+    public StringProperty checkMethodProperty() {
+        return checkMethod;
+    }
+
+    // ===================================================
+    public boolean isTruncated() {
+        return isTruncated.get();
+    }
+
+    public void setIsTruncated(boolean value) {
+        isTruncated.set(value);
+    }
+
+    public BooleanProperty isTruncatedProperty() {
+        return isTruncated;
+    }
+
+    // ===================================================
+    public int getAttempts() {
+        return attempts.get();
+    }
+
+    public void setAttempts(int value) {
+        attempts.set(value);
+    }
+
+    public IntegerProperty attemptsProperty() {
+        return attempts;
+    }
+
+    // ===================================================
+    public long getElapsedTime() {
+        return elapsedTime.get();
+    }
+
+    public void setElapsedTime(long value) {
+        elapsedTime.set(value);
+    }
+
+    public LongProperty elapsedTimeProperty() {
+        return elapsedTime;
+    }
+
+    // ===================================================
+    public String getDuplicateOf() {
+        return duplicateOf.get();
+    }
+
+    public void setDuplicateOf(String value) {
+        duplicateOf.set(value);
+    }
+
+    public StringProperty duplicateOfProperty() {
+        return duplicateOf;
+    }
+
+    // ===================================================
+    public long getFirstAttemptTime() {
+        return firstAttemptTime;
+    }
+
+    public void setFirstAttemptTime(long value) {
+        firstAttemptTime = value;
+    }
+
+    // ===================================================
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int value) {
+        depth = value;
+    }
+
+    // ===================================================
+    public void resetResult() {
+        finalUrl.set("");
+        statusCode.set(0);
+        contentType.set("");
+        error.set("");
+        checkMethod.set("");
+        isTruncated.set(false);
+        duplicateOf.set("");
+    }
+
     // ===================================================
     public void addWebpageSource(Link webpageLink, String anchorText) {
         if (webpageLink == null || webpageLink == this) {
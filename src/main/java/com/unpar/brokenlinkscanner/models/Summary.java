@@ -12,6 +12,7 @@ public class Summary {
     private final IntegerProperty allLinksCount = new SimpleIntegerProperty(0);
     private final IntegerProperty webpageLinksCount = new SimpleIntegerProperty(0);
     private final IntegerProperty brokenLinksCount = new SimpleIntegerProperty(0);
+    private final IntegerProperty duplicatesCount = new SimpleIntegerProperty(0);
     private final LongProperty startTime = new SimpleLongProperty(0);
     private final LongProperty endTime = new SimpleLongProperty(0);
 
@@ -67,6 +68,19 @@ public class Summary {
         return brokenLinksCount;
     }
 
+    // =============================================
+    public int getDuplicatesCount() {
+        return duplicatesCount.get();
+    }
+
+    public void setDuplicatesCount(int value) {
+        this.duplicatesCount.set(value);
+    }
+
+    public IntegerProperty duplicatesCountProperty() {
+        return duplicatesCount;
+    }
+
     // =============================================
     public long getStartTime() {
         return startTime.get();
@@ -0,0 +1,261 @@
+package com.unpar.brokenlinkscanner.services;
+
+import com.unpar.brokenlinkscanner.models.CrawlConfig;
+import com.unpar.brokenlinkscanner.models.Link;
+import com.unpar.brokenlinkscanner.models.Status;
+import com.unpar.brokenlinkscanner.models.Summary;
+import com.unpar.brokenlinkscanner.utils.TrapDetector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+/**
+ * Kelas untuk memeriksa banyak situs dalam satu proses (misalnya pemeriksaan rutin setiap malam).
+ *
+ * Beberapa situs di-crawl bersamaan, masing-masing dengan Crawler sendiri, tapi semuanya memakai satu
+ * CrawlContext: satu HttpClient, satu set rate limiter dan circuit breaker per host, dan hasil pemeriksaan
+ * link eksternal yang dibagi. Rate limiter membagikan slot waktu request per host secara berurutan (FIFO)
+ * ke semua crawler, jadi host yang ditautkan banyak situs tetap dibatasi lajunya secara global dan
+ * tidak ada situs yang memonopoli host tersebut.
+ */
+public class BatchRunner {
+    // Pengaturan crawling untuk setiap situs
+    private final CrawlConfig config;
+
+    // Jumlah situs yang di-crawl bersamaan
+    private final int parallelSites;
+
+    // Dipanggil untuk setiap link hasil pemeriksaan: (seed URL, link)
+    private final BiConsumer<String, Link> listener;
+
+    // Crawler yang sedang berjalan, untuk dihentikan lewat stop()
+    private final Queue<Crawler> activeCrawlers = new ConcurrentLinkedQueue<>();
+
+    // Penanda apakah batch dihentikan
+    private volatile boolean isStopped;
+
+    /**
+     * Hasil pemeriksaan satu situs.
+     */
+    public static class SiteResult {
+        private final String seedUrl;
+        private final Summary summary = new Summary();
+        private final Queue<Link> links = new ConcurrentLinkedQueue<>();
+        private volatile String error = "";
+        private volatile List<TrapDetector.Trap> traps = List.of();
+
+        private SiteResult(String seedUrl) {
+            this.seedUrl = seedUrl;
+        }
+
+        public String getSeedUrl() {
+            return seedUrl;
+        }
+
+        public Summary getSummary() {
+            return summary;
+        }
+
+        /**
+         * @return semua link hasil pemeriksaan situs ini
+         */
+        public List<Link> getLinks() {
+            return new ArrayList<>(links);
+        }
+
+        /**
+         * @return link yang rusak di situs ini
+         */
+        public List<Link> getBrokenLinks() {
+            return links.stream().filter(link -> !link.getError().isEmpty()).toList();
+        }
+
+        /**
+         * @return pesan error jika crawling situs ini gagal, string kosong jika berhasil
+         */
+        public String getError() {
+            return error;
+        }
+
+        /**
+         * @return crawler trap yang ditemukan di situs ini
+         */
+        public List<TrapDetector.Trap> getTraps() {
+            return traps;
+        }
+    }
+
+    /**
+     * @param config        : pengaturan crawling untuk setiap situs (checkpoint tidak dipakai di mode batch)
+     * @param parallelSites : jumlah situs yang di-crawl bersamaan
+     * @param listener      : dipanggil untuk setiap link hasil pemeriksaan (seed URL, link), boleh null
+     */
+    public BatchRunner(CrawlConfig config, int parallelSites, BiConsumer<String, Link> listener) {
+        if (parallelSites < 1) {
+            throw new IllegalArgumentException("Parallel sites must be at least 1");
+        }
+
+        // Satu file checkpoint hanya untuk satu crawling, jadi tidak dipakai bersama oleh banyak situs
+        this.config = config.copy();
+        this.config.setCheckpointFile("");
+
+        this.parallelSites = parallelSites;
+        this.listener = listener;
+    }
+
+    /**
+     * Method untuk memeriksa semua situs dan menunggu sampai selesai.
+     *
+     * @param seedUrls : seed URL setiap situs (sudah dinormalisasi)
+     * @return hasil pemeriksaan setiap situs, urutannya sama dengan seedUrls
+     */
+    public List<SiteResult> run(List<String> seedUrls) {
+        isStopped = false;
+
+        CrawlContext context = new CrawlContext(config);
+        List<SiteResult> results = new ArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Setiap situs punya worker sendiri, jadi batas situs bersamaan memakai thread pool biasa
+        ExecutorService jobs = Executors.newFixedThreadPool(parallelSites);
+        try {
+            for (String seedUrl : seedUrls) {
+                SiteResult result = new SiteResult(seedUrl);
+                results.add(result);
+                futures.add(jobs.submit(() -> crawlSite(result, context)));
+            }
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    // Error sudah dicatat di SiteResult
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    stop();
+                    break;
+                }
+            }
+        } finally {
+            jobs.shutdownNow();
+            context.close();
+        }
+
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * Method untuk menghentikan semua crawling yang sedang berjalan dan yang belum dimulai.
+     */
+    public void stop() {
+        isStopped = true;
+
+        for (Crawler crawler : activeCrawlers) {
+            crawler.stop();
+        }
+    }
+
+    /**
+     * Method untuk melihat laju request saat ini untuk setiap host dari semua situs yang sedang di-crawl.
+     *
+     * @return map host ke laju request/detik (Infinity jika tanpa batas)
+     */
+    public Map<String, Double> getHostRates() {
+        Map<String, Double> result = new TreeMap<>();
+        for (Crawler crawler : activeCrawlers) {
+            result.putAll(crawler.getHostRates());
+        }
+        return result;
+    }
+
+    /**
+     * Method untuk menggabungkan ringkasan semua situs menjadi satu ringkasan.
+     *
+     * @param results : hasil pemeriksaan setiap situs
+     * @return ringkasan gabungan (waktu mulai paling awal sampai waktu selesai paling akhir)
+     */
+    public static Summary aggregate(List<SiteResult> results) {
+        Summary total = new Summary();
+        long startTime = Long.MAX_VALUE;
+        long endTime = 0;
+        boolean isStopped = false;
+
+        for (SiteResult result : results) {
+            Summary summary = result.getSummary();
+
+            total.setAllLinksCount(total.getAllLinksCount() + summary.getAllLinksCount());
+            total.setWebpages(total.getWebpages() + summary.getWebpages());
+            total.setBrokenLinksCount(total.getBrokenLinksCount() + summary.getBrokenLinksCount());
+            total.setDuplicatesCount(total.getDuplicatesCount() + summary.getDuplicatesCount());
+
+            if (summary.getStartTime() > 0) {
+                startTime = Math.min(startTime, summary.getStartTime());
+            }
+            endTime = Math.max(endTime, summary.getEndTime());
+            isStopped |= summary.getStatus() != Status.COMPLETED;
+        }
+
+        total.setStartTime(startTime == Long.MAX_VALUE ? 0 : startTime);
+        total.setEndTime(endTime);
+        total.setStatus(isStopped ? Status.STOPPED : Status.COMPLETED);
+        return total;
+    }
+
+    /**
+     * Method untuk meng-crawl satu situs dengan resource bersama.
+     *
+     * @param result  : tempat menyimpan hasil pemeriksaan situs
+     * @param context : resource bersama semua situs
+     */
+    private void crawlSite(SiteResult result, CrawlContext context) {
+        Summary summary = result.getSummary();
+
+        // Batch sudah dihentikan sebelum situs ini dimulai
+        if (isStopped) {
+            summary.setStatus(Status.STOPPED);
+            return;
+        }
+
+        Crawler crawler = new Crawler(link -> {
+            result.links.add(link);
+            if (listener != null) {
+                listener.accept(result.getSeedUrl(), link);
+            }
+        }, config, context);
+
+        activeCrawlers.add(crawler);
+        try {
+            summary.setStatus(Status.CHECKING);
+            summary.setStartTime(System.currentTimeMillis());
+
+            crawler.start(result.getSeedUrl());
+
+            summary.setEndTime(System.currentTimeMillis());
+            summary.setStatus(crawler.isStoppedByUser() ? Status.STOPPED : Status.COMPLETED);
+        } catch (RuntimeException e) {
+            summary.setEndTime(System.currentTimeMillis());
+            summary.setStatus(Status.STOPPED);
+            result.error = e.getMessage() != null ? e.getMessage() : e.toString();
+        } finally {
+            activeCrawlers.remove(crawler);
+            result.traps = crawler.getTraps();
+        }
+
+        // Hitung ringkasan situs ini
+        List<Link> links = result.getLinks();
+        summary.setAllLinksCount(links.size());
+        summary.setWebpages((int) links.stream().filter(Link::isWebpage).count());
+        summary.setBrokenLinksCount((int) links.stream().filter(link -> !link.getError().isEmpty()).count());
+        summary.setDuplicatesCount((int) links.stream().filter(link -> !link.getDuplicateOf().isEmpty()).count());
+    }
+}
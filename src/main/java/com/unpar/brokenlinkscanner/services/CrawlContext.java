@@ -0,0 +1,116 @@
+package com.unpar.brokenlinkscanner.services;
+
+import com.unpar.brokenlinkscanner.models.CrawlConfig;
+import com.unpar.brokenlinkscanner.models.Link;
+import com.unpar.brokenlinkscanner.utils.CircuitBreaker;
+import com.unpar.brokenlinkscanner.utils.PageCache;
+import com.unpar.brokenlinkscanner.utils.RateLimiter;
+import com.unpar.brokenlinkscanner.utils.RobotsCache;
+import com.unpar.brokenlinkscanner.utils.VerdictCache;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kelas resource yang dipakai bersama oleh beberapa Crawler yang berjalan bersamaan (misalnya batch beberapa situs).
+ *
+ * Berisi satu HttpClient (satu connection pool), rate limiter dan circuit breaker per host, serta hasil
+ * pemeriksaan link eksternal. Dengan begitu host yang ditautkan banyak situs tetap dibatasi lajunya secara global,
+ * dan URL eksternal yang sama hanya diperiksa sekali untuk semua situs. Cache hasil pemeriksaan link eksternal dan
+ * cache halaman untuk conditional GET dari crawling sebelumnya juga dibuka sekali untuk semua situs, dan robots.txt
+ * setiap host hanya diambil sekali. Cache DNS sudah berlaku untuk seluruh JVM.
+ */
+public class CrawlContext {
+    // HttpClient bersama untuk semua crawler
+    private final HttpClient httpClient;
+
+    // Rate limiter per host untuk semua crawler
+    private final Map<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    // Circuit breaker per host untuk semua crawler
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    // Hasil pemeriksaan link eksternal per URL, selesai saat crawler pemiliknya selesai memeriksa
+    private final Map<String, CompletableFuture<Link>> externalVerdicts = new ConcurrentHashMap<>();
+
+    // Cache hasil pemeriksaan link eksternal dari crawling sebelumnya, null jika tidak diaktifkan
+    private final VerdictCache verdictCache;
+
+    // Cache validator dan link halaman internal dari crawling sebelumnya, null jika tidak diaktifkan
+    private final PageCache pageCache;
+
+    // Aturan robots.txt per host
+    private final RobotsCache robotsCache;
+
+    /**
+     * @param config : pengaturan untuk HttpClient bersama (redirect dan connection timeout) dan cache dari crawling sebelumnya
+     */
+    public CrawlContext(CrawlConfig config) {
+        this.httpClient = HttpClient.newBuilder()
+                .followRedirects(config.getRedirectPolicy())
+                .connectTimeout(Duration.ofMillis(config.getConnectTimeout()))
+                .build();
+        this.verdictCache = Crawler.openVerdictCache(config);
+        this.pageCache = Crawler.openPageCache(config);
+        this.robotsCache = new RobotsCache(httpClient, config.getUserAgent(), config.getRequestTimeout());
+    }
+
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    public Map<String, RateLimiter> getRateLimiters() {
+        return rateLimiters;
+    }
+
+    public Map<String, CircuitBreaker> getCircuitBreakers() {
+        return circuitBreakers;
+    }
+
+    public VerdictCache getVerdictCache() {
+        return verdictCache;
+    }
+
+    public PageCache getPageCache() {
+        return pageCache;
+    }
+
+    public RobotsCache getRobotsCache() {
+        return robotsCache;
+    }
+
+    /**
+     * Method untuk mengklaim pemeriksaan satu URL eksternal.
+     *
+     * @param url     : URL eksternal yang akan diperiksa
+     * @param verdict : future milik pemanggil, diselesaikan pemanggil setelah pemeriksaan selesai
+     * @return null jika pemanggil yang harus memeriksa URL ini, atau future milik crawler lain yang sudah mengklaimnya
+     */
+    public CompletableFuture<Link> claimExternalCheck(String url, CompletableFuture<Link> verdict) {
+        CompletableFuture<Link> existing = externalVerdicts.putIfAbsent(url, verdict);
+
+        // Klaim sebelumnya gagal (crawler pemiliknya dihentikan), ambil alih
+        if (existing != null && existing.isCompletedExceptionally() && externalVerdicts.replace(url, existing, verdict)) {
+            return null;
+        }
+
+        return existing;
+    }
+
+    /**
+     * Method untuk melepas semua resource bersama setelah semua crawler selesai.
+     */
+    public void close() {
+        httpClient.shutdown();
+        externalVerdicts.clear();
+        if (verdictCache != null) {
+            verdictCache.close();
+        }
+        if (pageCache != null) {
+            pageCache.close();
+        }
+    }
+}
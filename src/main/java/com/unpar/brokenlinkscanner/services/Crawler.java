@@ -1,34 +1,109 @@
 package com.unpar.brokenlinkscanner.services;
 
+import com.unpar.brokenlinkscanner.models.CrawlConfig;
+import com.unpar.brokenlinkscanner.models.CrawlEngine;
 import com.unpar.brokenlinkscanner.models.Link;
 import com.unpar.brokenlinkscanner.utils.*;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Kelas Crawler bertugas melakukan proses crawling dan pemeriksaan tautan.
  *
  * Kelas ini mengimplementasikan algoritma dasar web crawler
  * dengan pendekatan/strategi breadth-first crawler (antrean FIFO).
+ * Halaman pada frontier diambil oleh beberapa worker secara paralel,
+ * sehingga urutan crawling tetap mendekati breadth-first.
+ *
+ * Tersedia dua engine: worker virtual thread dengan request blocking (default),
+ * dan engine asinkron yang merangkai fetch → parse → ekstraksi → enqueue dengan CompletableFuture.
  */
 public class Crawler {
-    // Untuk menyimpan daftar link internal (FIFO)
-    private final Queue<Link> frontier = new ConcurrentLinkedQueue<>();
+    // Untuk menyimpan daftar link internal (FIFO), diambil bersamaan oleh beberapa worker.
+    // Hanya bagian depan antrean yang ada di memori, sisanya disimpan di disk
+    private volatile DiskFrontier frontier;
+
+    // Sumber halaman untuk link yang sedang tersimpan di disk, ditambahkan ke link setelah crawling selesai
+    private volatile SpillFile deferredSources;
+
+    // Journal checkpoint untuk melanjutkan crawling (null jika tidak diaktifkan)
+    private volatile CrawlJournal journal;
+
+    // Jumlah halaman yang masih ada di frontier atau sedang diproses worker
+    private final AtomicInteger pendingPages = new AtomicInteger();
 
     // Untuk menyimpan daftar seluruh tautan yang telah diperiksa (unik)
     private final Map<String, Link> repositories = new ConcurrentHashMap<>();
 
-    // Untuk menyimpan daftar rate limiter per host URL
-    private final Map<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+    // URL yang sudah pernah ditemukan (dicatat saat masuk antrean, bukan setelah diperiksa)
+    private final UrlSeenSet seenUrls = new UrlSeenSet(1 << 16);
+
+    // Link yang sudah ditemukan tapi belum selesai diperiksa, untuk menambahkan sumber halaman baru
+    private final Map<String, Link> pendingLinks = new ConcurrentHashMap<>();
+
+    // Untuk menyimpan daftar rate limiter per host URL (milik CrawlContext jika dipakai bersama)
+    private final Map<String, RateLimiter> rateLimiters;
+
+    // Host eksternal yang sudah pernah ditemukan (dan sudah di-resolve di background)
+    private final Set<String> discoveredHosts = ConcurrentHashMap.newKeySet();
+
+    // Untuk menyimpan daftar circuit breaker per host URL (milik CrawlContext jika dipakai bersama)
+    private final Map<String, CircuitBreaker> circuitBreakers;
+
+    // Resource yang dipakai bersama crawler lain, null jika crawler memakai resource sendiri
+    private final CrawlContext context;
+
+    // [CrawlContext] Pemeriksaan link eksternal yang diklaim crawler ini dan belum selesai
+    private final Map<String, CompletableFuture<Link>> ownedVerdicts = new ConcurrentHashMap<>();
+
+    // [CrawlContext] Link eksternal yang sedang menunggu hasil pemeriksaan crawler lain
+    private final Set<CompletableFuture<Void>> verdictWaits = ConcurrentHashMap.newKeySet();
+
+    // Cache hasil pemeriksaan link eksternal dari crawling sebelumnya (milik CrawlContext jika dipakai bersama), null jika tidak diaktifkan
+    private VerdictCache verdictCache;
+
+    // Cache validator dan link halaman internal dari crawling sebelumnya (milik CrawlContext jika dipakai bersama), null jika tidak diaktifkan
+    private PageCache pageCache;
+
+    // Aturan robots.txt per host (milik CrawlContext jika dipakai bersama)
+    private RobotsCache robotsCache;
+
+    // Host yang Crawl-delay-nya sudah diterapkan ke rate limiter
+    private final Set<String> crawlDelayHosts = ConcurrentHashMap.newKeySet();
+
+    // Pengenal crawler trap situs ini, dibuat ulang setiap crawling
+    private volatile TrapDetector trapDetector;
+
+    // Pembaca sitemap yang sedang berjalan saat crawling dimulai, null jika tidak ada
+    private volatile SitemapReader sitemapReader;
+
+    // Jumlah halaman yang sudah masuk antrean crawling per host
+    private final Map<String, AtomicInteger> pagesPerHost = new ConcurrentHashMap<>();
+
+    // Jumlah halaman yang sudah masuk antrean crawling per path prefix (segmen pertama path)
+    private final Map<String, AtomicInteger> pagesPerPathPrefix = new ConcurrentHashMap<>();
+
+    // Sidik jari teks halaman yang sudah diproses ke URL halaman aslinya, untuk mengenali halaman duplikat
+    private final Map<String, String> pageFingerprints = new ConcurrentHashMap<>();
 
     // Penerima hasil crawling (MainController)
     private final LinkReceiver receiver;
@@ -36,23 +111,51 @@ public class Crawler {
     // Penanda apakah proses dihentikan oleh user
     private volatile boolean isStopped;
 
-    // Executor untuk menjalankan pemeriksaan link eksternal secara paralel
+    // Executor untuk menjalankan worker crawling dan pemeriksaan link eksternal secara paralel
     private ExecutorService executor;
 
+    // Penjadwal pemeriksaan link eksternal dengan antrean dan batas koneksi per host
+    private HostScheduler externalScheduler;
+
+    // Penjadwal pemeriksaan status halaman internal di luar batas crawling, terpisah dari batas link eksternal
+    private HostScheduler statusScheduler;
+
     // Host dari URL awal untuk menentukan link internal atau eksternal
     private String rootHost;
 
-    // Untuk melakukan HTTP request
-    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
-            // Mengikuti redirect
-            .followRedirects(HttpClient.Redirect.ALWAYS)
-            // Connection Timeout
-            .connectTimeout(Duration.ofSeconds(20))
-            // Bangun objek HttpClient
-            .build();
+    // Aturan kanonikalisasi URL crawling ini, dibuat dari pengaturan dan seed URL
+    private UrlCanonicalizer canonicalizer;
+
+    // Pengaturan crawling (batas, timeout, jumlah worker, dll)
+    private volatile CrawlConfig config;
+
+    // Aturan percobaan ulang untuk error sementara, dibuat dari pengaturan saat crawling dimulai
+    private RetryPolicy retryPolicy;
 
-    // Batas maksimal jumlah tautan yang diperiksa
-    private static final int MAX_LINKS = 1000;
+    // Untuk melakukan HTTP request, dibuat dari pengaturan saat crawling dimulai
+    private HttpClient httpClient;
+
+    // [Engine ASYNC] Jumlah request yang sedang berjalan
+    private final AtomicInteger asyncInFlight = new AtomicInteger();
+
+    // [Engine ASYNC] Selesai saat tidak ada lagi request yang berjalan dan antrean sudah habis
+    private volatile CompletableFuture<Void> asyncDone;
+
+    // Lama worker menunggu frontier terisi sebelum memeriksa ulang kondisi berhenti
+    private static final long POLL_TIMEOUT_MS = 100;
+
+    // Panjang teks minimal halaman yang dibuatkan sidik jari. Halaman dengan teks sedikit (galeri, halaman
+    // yang diisi JavaScript) mudah sama persis walaupun link-nya berbeda
+    private static final int MIN_FINGERPRINT_TEXT = 200;
+
+    // Metode pemeriksaan yang dicatat pada Link
+    public static final String METHOD_GET = "GET";
+    public static final String METHOD_HEAD = "HEAD";
+    public static final String METHOD_RANGE_GET = "GET (Range)";
+    public static final String METHOD_CIRCUIT_OPEN = "None (Circuit Open)";
+    public static final String METHOD_CACHED = "None (Cached)";
+    public static final String METHOD_NOT_MODIFIED = "GET (Not Modified)";
+    public static final String METHOD_ROBOTS_DISALLOWED = "None (Disallowed by robots.txt)";
 
     /**
      * Receiver dikirim oleh MainController, sebagai penerima link hasil pemeriksaan.
@@ -60,7 +163,33 @@ public class Crawler {
      * @param receiver : objek yang menerima hasil pemeriksaan link
      */
     public Crawler(LinkReceiver receiver) {
+        this(receiver, new CrawlConfig());
+    }
+
+    /**
+     * Constructor dengan pengaturan crawling yang bisa diatur.
+     *
+     * @param receiver : objek yang menerima hasil pemeriksaan link
+     * @param config   : pengaturan crawling (disalin, perubahan setelahnya tidak berpengaruh)
+     */
+    public Crawler(LinkReceiver receiver, CrawlConfig config) {
+        this(receiver, config, null);
+    }
+
+    /**
+     * Constructor untuk crawler yang berbagi HttpClient, rate limiter, circuit breaker, dan hasil
+     * pemeriksaan link eksternal dengan crawler lain (misalnya saat memeriksa banyak situs sekaligus).
+     *
+     * @param receiver : objek yang menerima hasil pemeriksaan link
+     * @param config   : pengaturan crawling (disalin, perubahan setelahnya tidak berpengaruh)
+     * @param context  : resource bersama, atau null untuk memakai resource sendiri
+     */
+    public Crawler(LinkReceiver receiver, CrawlConfig config, CrawlContext context) {
         this.receiver = receiver;
+        this.config = config.copy();
+        this.context = context;
+        this.rateLimiters = context != null ? context.getRateLimiters() : new ConcurrentHashMap<>();
+        this.circuitBreakers = context != null ? context.getCircuitBreakers() : new ConcurrentHashMap<>();
     }
 
     /**
@@ -69,232 +198,1974 @@ public class Crawler {
      * @param seedUrl : URL yang menjadi titik awal crawling
      */
     public void start(String seedUrl) {
-        // Reset penanda pengentian jadi false
-        isStopped = false;
+        // Siapkan state dan resource crawling yang baru
+        prepare();
 
-        // Bersihkan data lama
-        repositories.clear();
-        rateLimiters.clear();
-        frontier.clear();
+        // Seed URL juga diubah ke bentuk kanonik (misalnya parameter tracking dibuang)
+        canonicalizer = createCanonicalizer(seedUrl);
+        seedUrl = canonicalizer.canonicalize(seedUrl);
 
-        // Buat executor baru berbasis virtual thread
-        executor = Executors.newVirtualThreadPerTaskExecutor();
+        // Mulai checkpoint baru untuk seed URL ini
+        if (journal != null) {
+            journal.create(seedUrl);
+        }
 
         // Ambil host dari seed URL sebagai root host
         rootHost = UrlHandler.getHost(seedUrl);
 
         // Masukkan seed URL sebagai link pertama ke frontier
-        frontier.offer(new Link(seedUrl));
-
-        /**
-         * Loop selama belum dihentikan user, frontier belum kosong dan jumlah total tautan belum melebihi batas
-         */
-        while (!isStopped && !frontier.isEmpty() && repositories.size() < MAX_LINKS) {
-            // Ambil satu link halaman dari antrean paling depan
-            Link webpageLink = frontier.poll();
-
-            // Jika antrean kosong (race condition), hentikan
-            if (webpageLink == null) {
-                return;
-            }
+        Link seedLink = new Link(seedUrl);
+        seenUrls.add(seedLink.getUrl());
+        pendingLinks.put(seedLink.getUrl(), seedLink);
+        writeQueued(seedLink, true);
+        enqueueWebpage(seedLink);
 
-            // Periksa link internal dan ambil dokumen HTML jika memungkinkan
-            Document html = checkLink(webpageLink, true);
+        // Masukkan semua halaman dari sitemap ke frontier sekaligus
+        if (config.isSitemapDiscovery()) {
+            enqueueSitemapUrls(seedUrl);
+        }
 
-            // Jika bukan webpage atau gagal ambil HTML, lanjut ke link berikutnya
-            if (!webpageLink.isWebpage() || html == null) {
-                continue;
-            }
+        // Jalankan crawling sampai selesai atau dihentikan
+        run();
+    }
 
-            // Ekstrak semua link dari halaman HTML
-            Map<Link, String> linksOnWebpage = extractLink(html);
+    /**
+     * Method untuk membuat aturan kanonikalisasi URL dari pengaturan crawling.
+     *
+     * @param seedUrl : seed URL yang sudah dinormalisasi
+     * @return aturan kanonikalisasi crawling ini
+     */
+    private UrlCanonicalizer createCanonicalizer(String seedUrl) {
+        return new UrlCanonicalizer(config.getStripParams(), config.isSortParams(), config.isStripIndexFiles(), config.isIgnoreScheme(), config.isIgnoreWww(), seedUrl);
+    }
 
-            // Daftar task paralel untuk link eksternal
-            List<Callable<Void>> tasks = new ArrayList<>();
+    /**
+     * Method untuk memasukkan halaman yang terdaftar di sitemap situs ke frontier.
+     *
+     * Halaman dalam sitemap dianggap satu tingkat di bawah seed URL, jadi halaman yang letaknya dalam
+     * tetap bisa dicapai dengan satu request. Halaman dengan lastmod terbaru masuk antrean lebih dulu.
+     *
+     * @param seedUrl : URL awal crawling
+     */
+    private void enqueueSitemapUrls(String seedUrl) {
+        sitemapReader = new SitemapReader(httpClient, config.getUserAgent(), config.getRequestTimeout(), config.getMaxLinks());
+        try {
+            List<String> robotsSitemaps = robotsCache.get(seedUrl).getSitemaps();
+            List<String> urls = sitemapReader.discover(seedUrl, robotsSitemaps, url -> UrlHandler.getHost(canonicalizer.canonicalize(url)).equalsIgnoreCase(rootHost));
 
-            // Iterasi setiap link yang ditemukan di halaman HTML
-            for (var entry : linksOnWebpage.entrySet()) {
-                // Jika user menghentikan proses, keluar
+            for (String sitemapUrl : urls) {
                 if (isStopped) {
                     return;
                 }
 
-                // Ambil objek link
-                Link link = entry.getKey();
+                String url = canonicalizer.canonicalize(sitemapUrl);
 
-                // Ambil teks anchor
-                String anchorText = entry.getValue();
-
-                // Cek apakah link sudah pernah diproses
-                Link existingLink = repositories.get(link.getUrl());
-                if (existingLink != null) {
-                    // Jika sudah ada, tambahkan sumber halaman saja
-                    existingLink.addWebpageSource(webpageLink, anchorText);
+                // Seed URL atau URL yang sama dari sitemap lain sudah masuk antrean
+                if (!seenUrls.add(url)) {
                     continue;
-                } else {
-                    // Jika belum ada, set sumber halaman pertama
-                    link.addWebpageSource(webpageLink, anchorText);
                 }
 
-                if (UrlHandler.getHost(link.getUrl()).equalsIgnoreCase(rootHost)) {
-                    // Jika link adalah link internal, maka masukkan ke frontier antrean paling belakang
-                    frontier.offer(link);
-                } else {
-                    // Jika link adalah link eksternal, maka masukan ke tugas pararel
-                    tasks.add(() -> {
-                        // Jika proses dihentikan user, maka keluar dari metode
-                        if (isStopped) return null;
+                Link link = new Link(url);
+                link.setDepth(1);
+                pendingLinks.put(url, link);
+                writeQueued(link, true);
+                enqueueWebpage(link);
+            }
+        } finally {
+            sitemapReader = null;
+        }
+    }
+
+    /**
+     * Method untuk melanjutkan crawling dari checkpoint terakhir.
+     *
+     * Hasil pemeriksaan yang sudah tercatat dipulihkan (dan dikirim ulang ke receiver), lalu link yang
+     * sudah masuk antrean tapi belum selesai diperiksa dimasukkan lagi ke antrean. Rate limiter per host
+     * tidak dipulihkan, lajunya akan menyesuaikan lagi dari awal.
+     *
+     * @throws IllegalStateException jika checkpoint tidak diaktifkan atau file checkpoint tidak ada
+     * @throws UncheckedIOException  jika file checkpoint gagal dibaca
+     */
+    public void resume() {
+        Path file = getCheckpointFile();
+        if (file == null || !Files.exists(file)) {
+            throw new IllegalStateException("No checkpoint to resume");
+        }
+
+        // Siapkan state dan resource crawling yang baru
+        prepare();
+
+        List<Link> restored;
+        try {
+            restored = restoreCheckpoint(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read checkpoint file", e);
+        }
+
+        // Kirim ulang hasil yang sudah dipulihkan ke receiver
+        for (Link link : restored) {
+            receiver.receive(link);
+        }
+
+        // Jalankan crawling sampai selesai atau dihentikan
+        run();
+    }
+
+    /**
+     * Method untuk membaca seed URL dari file checkpoint.
+     *
+     * @param file : lokasi file checkpoint
+     * @return seed URL, atau null jika file tidak ada atau tidak valid
+     */
+    public static String readCheckpointSeed(Path file) {
+        if (file == null || !Files.exists(file)) {
+            return null;
+        }
 
-                        // Periksa link eksternal tanpa mengambil halaman HTML
-                        checkLink(link, false);
+        String[] seed = new String[1];
+        try {
+            CrawlJournal.replay(file, (type, fields) -> {
+                if (type == CrawlJournal.HEADER && seed[0] == null) {
+                    seed[0] = fields[0];
+                }
+            });
+        } catch (IOException e) {
+            return null;
+        }
+        return seed[0];
+    }
 
-                        // Keluar dari metode
-                        return null;
-                    });
+    /**
+     * Method untuk memulihkan state crawling dari file checkpoint.
+     *
+     * Dibaca dua kali: pertama untuk hasil pemeriksaan (DONE), kedua untuk antrean dan sumber halaman,
+     * supaya sumber halaman bisa langsung ditambahkan ke link yang sudah dipulihkan.
+     *
+     * @param file : lokasi file checkpoint
+     * @return link yang hasil pemeriksaannya dipulihkan
+     */
+    private List<Link> restoreCheckpoint(Path file) throws IOException {
+        // Tahap 1: seed URL dan hasil pemeriksaan
+        String[] seed = new String[1];
+        long validLength = CrawlJournal.replay(file, (type, fields) -> {
+            if (type == CrawlJournal.HEADER && seed[0] == null) {
+                seed[0] = fields[0];
+            } else if (type == CrawlJournal.DONE) {
+                Link link = CrawlJournal.toDoneLink(fields);
+                if (repositories.putIfAbsent(link.getUrl(), link) == null) {
+                    seenUrls.add(link.getUrl());
                 }
             }
+        });
 
-            if (!tasks.isEmpty()) {
-                try {
-                    // Jalankan semua task secara paralel jika ada
-                    executor.invokeAll(tasks);
-                } catch (InterruptedException e) {
-                    // Restore interrupt status thread
-                    Thread.currentThread().interrupt();
-                }
+        if (seed[0] == null) {
+            throw new IOException("Checkpoint has no seed URL");
+        }
+        rootHost = UrlHandler.getHost(seed[0]);
+        canonicalizer = createCanonicalizer(seed[0]);
+        List<Link> restored = new ArrayList<>(repositories.values());
+
+        // Halaman yang sudah di-crawl ikut dihitung dalam batas halaman per host, per path prefix, dan per pola trap
+        for (Link link : restored) {
+            if (link.isWebpage()) {
+                isWithinCrawlLimits(link);
+                trapDetector.check(link.getUrl());
             }
         }
+
+        // Lanjutkan menulis checkpoint di file yang sama sebelum link dimasukkan lagi ke antrean,
+        // karena link eksternal langsung diperiksa. Record baru ini hanya DONE, jadi diabaikan tahap 2
+        journal.reopen(validLength);
+
+        // Tahap 2: antrean yang belum selesai dan sumber halaman
+        CrawlJournal.replay(file, (type, fields) -> {
+            if (type == CrawlJournal.QUEUED_PAGE || type == CrawlJournal.QUEUED_EXTERNAL) {
+                restoreQueued(type == CrawlJournal.QUEUED_PAGE, fields);
+            } else if (type == CrawlJournal.SOURCE) {
+                restoreSource(fields[0], fields[1], fields[2]);
+            }
+        });
+
+        return restored;
     }
 
     /**
-     * Method untuk menghentikan proses crawling.
+     * Method untuk memulihkan satu record antrean dari checkpoint.
+     *
+     * @param isPage : true untuk link halaman, false untuk link eksternal
+     * @param fields : {url, depth, sourceUrl, anchorText}
      */
-    public void stop() {
-        // Set penanda jadi true
-        isStopped = true;
+    private void restoreQueued(boolean isPage, String[] fields) {
+        // Sudah selesai diperiksa atau sudah dimasukkan lagi ke antrean, cukup tambahkan sumbernya
+        if (!seenUrls.add(fields[0])) {
+            restoreSource(fields[0], fields[2], fields[3]);
+            return;
+        }
 
-        // Kosongkan antrean frontier
-        frontier.clear();
+        // Belum selesai diperiksa, masukkan lagi ke antrean
+        Link link = new Link(fields[0]);
+        link.setDepth(Integer.parseInt(fields[1]));
+        link.addWebpageSource(repositories.get(fields[2]), fields[3]);
+        pendingLinks.put(link.getUrl(), link);
 
-        // Hentikan semua task yang sedang berjalan
-        if (executor != null) {
-            executor.shutdownNow();
+        if (isPage) {
+            enqueueWebpage(link);
+        } else {
+            submitExternalCheck(link);
         }
     }
 
     /**
-     * Method untuk memeriksa satu link menggunakan HTTP request.
-     *
-     * @param link       : objek Link yang akan diperiksa
-     * @param isParseDoc : apakah response perlu diparse sebagai HTML
-     * @return Document HTML jika berhasil, null jika tidak berhasil atau tidak dibutuhkan
+     * Method untuk memulihkan satu sumber halaman dari checkpoint.
      */
-    private Document checkLink(Link link, boolean isParseDoc) {
-        // Jika link sudah pernah diproses atau limit tercapai, hentikan
-        if (repositories.get(link.getUrl()) != null || repositories.size() > MAX_LINKS) {
-            return null;
+    private void restoreSource(String url, String sourceUrl, String anchorText) {
+        Link source = repositories.get(sourceUrl);
+        if (source == null) {
+            return;
+        }
+
+        Link link = repositories.get(url);
+        if (link == null) {
+            link = pendingLinks.get(url);
+        }
+
+        if (link != null) {
+            link.addWebpageSource(source, anchorText);
+        } else {
+            // Link sedang tersimpan di disk, tambahkan setelah crawling selesai
+            deferredSources.append(url, sourceUrl, anchorText);
+        }
+    }
+
+    /**
+     * Method untuk membersihkan state lama dan menyiapkan resource untuk satu proses crawling.
+     */
+    private void prepare() {
+        // Reset penanda pengentian jadi false
+        isStopped = false;
+
+        // Bersihkan data lama
+        repositories.clear();
+        seenUrls.clear();
+        pendingLinks.clear();
+        discoveredHosts.clear();
+        pagesPerHost.clear();
+        pagesPerPathPrefix.clear();
+        pageFingerprints.clear();
+        trapDetector = new TrapDetector(config.getTrapMaxRepeatedSegments(), config.getTrapMaxPathDepth(), config.getTrapMaxVariants());
+
+        // Buat frontier baru (buang sisa frontier crawling sebelumnya)
+        if (frontier != null) {
+            frontier.clear();
+        }
+        Path spillDir = config.getSpillDirectory().isEmpty() ? null : Path.of(config.getSpillDirectory());
+        frontier = new DiskFrontier(config.getFrontierMemoryLimit(), spillDir, this::loadFrontierRecord);
+        deferredSources = new SpillFile(spillDir, "blc-sources-");
+
+        if (context == null) {
+            // Reset rate limiter dan circuit breaker milik crawler ini
+            rateLimiters.clear();
+            circuitBreakers.clear();
+
+            // Buat HttpClient sesuai pengaturan redirect dan connection timeout
+            httpClient = HttpClient.newBuilder()
+                    .followRedirects(config.getRedirectPolicy())
+                    .connectTimeout(Duration.ofMillis(config.getConnectTimeout()))
+                    .build();
+        } else {
+            // Pakai HttpClient bersama, rate limiter dan circuit breaker tidak direset karena dipakai crawler lain
+            httpClient = context.getHttpClient();
         }
+        verdictCache = context == null ? openVerdictCache(config) : context.getVerdictCache();
+        pageCache = context == null ? openPageCache(config) : context.getPageCache();
+        robotsCache = context == null ? new RobotsCache(httpClient, config.getUserAgent(), config.getRequestTimeout()) : context.getRobotsCache();
+        crawlDelayHosts.clear();
+        ownedVerdicts.clear();
+        verdictWaits.clear();
+
+        // Buat aturan percobaan ulang sesuai pengaturan
+        retryPolicy = new RetryPolicy(config.getMaxRetries(), config.getRetryBaseDelay(), config.getRetryMaxDelay());
+
+        // Buat executor baru berbasis virtual thread
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        // Buat penjadwal pemeriksaan link eksternal yang baru
+        externalScheduler = new HostScheduler(config.getMaxExternalInFlight(), config.getMaxConnectionsPerHost(), executor);
+
+        // Pemeriksaan status halaman internal memakai jatah paralel yang sama dengan crawling halaman
+        int statusSlots = config.getEngine() == CrawlEngine.ASYNC ? config.getMaxAsyncInFlight() : config.getWorkerCount();
+        statusScheduler = new HostScheduler(statusSlots, statusSlots, executor);
+
+        // Reset jumlah halaman yang tertunda
+        pendingPages.set(0);
 
+        // Siapkan journal checkpoint jika diaktifkan
+        Path checkpointFile = getCheckpointFile();
+        journal = checkpointFile == null ? null : new CrawlJournal(checkpointFile, config.getCheckpointInterval());
+    }
+
+    /**
+     * Method untuk menjalankan engine crawling sampai selesai, lalu melepas resource.
+     */
+    private void run() {
+        // Cache DNS hanya berlaku selama crawling berjalan, dengan TTL dari pengaturan crawling ini
+        DnsCache.Session dnsSession = DnsCache.openSession(config.getDnsTtl(), config.getDnsNegativeTtl());
         try {
-            // Ambil atau buat RateLimiter berdasarkan host URL
-            RateLimiter limiter = rateLimiters.computeIfAbsent(UrlHandler.getHost(link.getUrl()), h -> new RateLimiter());
-            // Terapkan delay sesuai rate limiter
-            limiter.delay();
-
-            // Membangun HTTP request
-            HttpRequest req = HttpRequest.newBuilder()
-                    // URL target
-                    .uri(URI.create(link.getUrl()))
-                    // Metode HTTP
-                    .GET()
-                    // Header User Agent
-                    .header("User-Agent", "BrokenLinkChecker (+https://github.com/deboschr/TUGAS-AKHIR-2)")
-                    // Request Timeout
-                    .timeout(Duration.ofSeconds(20)).build();
+            if (config.getEngine() == CrawlEngine.ASYNC) {
+                // Jalankan crawling dengan engine asinkron
+                runAsyncEngine();
+            } else {
+                // Jalankan crawling dengan worker virtual thread
+                runWorkers();
+            }
+        } finally {
+            dnsSession.close();
+        }
 
-            HttpResponse<?> res;
-            if (isParseDoc) {
-                // Jika parsing dilakukan maka butuh response body
-                res = HTTP_CLIENT.send(req, HttpResponse.BodyHandlers.ofString());
+        // Lepaskan koneksi dan thread milik HttpClient, lalu simpan cache hasil pemeriksaan
+        // (resource bersama dilepas oleh pemilik CrawlContext)
+        if (context == null) {
+            httpClient.shutdown();
+            if (verdictCache != null) {
+                verdictCache.close();
+            }
+            if (pageCache != null) {
+                pageCache.close();
+            }
+        }
+
+        // Pemeriksaan yang diklaim tapi tidak selesai (crawling dihentikan) diambil alih crawler lain
+        releaseOwnedVerdicts();
+
+        // Tambahkan sumber halaman yang tertunda, lalu hapus file spill
+        attachDeferredSources();
+        frontier.clear();
+
+        // Tulis sisa checkpoint ke disk. Crawling yang selesai normal tidak perlu dilanjutkan,
+        // jadi file checkpoint-nya dihapus
+        if (journal != null) {
+            if (isStopped) {
+                journal.close();
             } else {
-                // Jika parsing tidak dilakukan maka response body juga tidak dibutuhkan
-                res = HTTP_CLIENT.send(req, HttpResponse.BodyHandlers.discarding());
+                journal.delete();
             }
+        }
+    }
 
-            // Update nilai atribut Final URL dari Link
-            link.setFinalUrl(res.uri().toString());
-            // Update nilai atribut Content Type dari Link
-            link.setContentType(res.headers().firstValue("Content-Type").orElse("").toLowerCase());
-            // Update nilai atribut Status Code dari Link
-            link.setStatusCode(res.statusCode());
+    /**
+     * Method untuk membuka cache hasil pemeriksaan link eksternal sesuai pengaturan.
+     *
+     * @param config : pengaturan crawling
+     * @return cache yang sudah dibaca dari file, atau null jika cache tidak diaktifkan
+     */
+    static VerdictCache openVerdictCache(CrawlConfig config) {
+        if (config.getVerdictCacheFile().isEmpty()) {
+            return null;
+        }
 
-            Document html = null;
-            boolean isFetchOk = link.getStatusCode() == 200 && res.body() != null;
-            boolean isSameHost = UrlHandler.getHost(link.getFinalUrl()).equals(rootHost);
+        VerdictCache cache = new VerdictCache(Path.of(config.getVerdictCacheFile()), config.getVerdictOkTtl(),
+                config.getVerdictClientErrorTtl(), config.getVerdictServerErrorTtl(), config.getVerdictNetworkErrorTtl());
+        cache.open();
+        return cache;
+    }
 
-            if (isParseDoc && isFetchOk && isSameHost) {
-                try {
-                    // Ambil body response sebagai string
-                    String body = (String) res.body();
+    /**
+     * Method untuk membuka cache halaman internal untuk conditional GET sesuai pengaturan.
+     *
+     * @param config : pengaturan crawling
+     * @return cache yang sudah dibaca dari file, atau null jika cache tidak diaktifkan
+     */
+    static PageCache openPageCache(CrawlConfig config) {
+        if (config.getPageCacheFile().isEmpty()) {
+            return null;
+        }
 
-                    // Parse HTML menggunakan Jsoup
-                    html = Jsoup.parse(body, link.getFinalUrl());
+        PageCache cache = new PageCache(Path.of(config.getPageCacheFile()), config.getPageCacheTtl(), config.getPageCacheMaxPages());
+        cache.open();
+        return cache;
+    }
 
-                    // Tandai link sebagai webpage
-                    link.setIsWebpage(true);
-                } catch (Exception ignore) {
-                    // Jika parsing gagal, abaikan
-                    html = null;
-                }
+    /**
+     * @return lokasi file checkpoint, atau null jika checkpoint tidak diaktifkan
+     */
+    private Path getCheckpointFile() {
+        String file = config.getCheckpointFile();
+        return file.isEmpty() ? null : Path.of(file);
+    }
+
+    /**
+     * Method untuk mencatat hasil pemeriksaan link ke checkpoint.
+     * Hasil yang keluar setelah stop() bisa berasal dari request yang diputus, jadi tidak dicatat
+     * dan link tersebut diperiksa ulang saat crawling dilanjutkan.
+     */
+    private void writeDone(Link link) {
+        if (journal != null && !isStopped) {
+            journal.writeDone(link);
+        }
+    }
+
+    /**
+     * Method untuk mencatat link yang masuk antrean ke checkpoint.
+     */
+    private void writeQueued(Link link, boolean isPage) {
+        if (journal != null) {
+            journal.writeQueued(link, isPage);
+        }
+    }
+
+    /**
+     * Method untuk menjalankan crawling dengan beberapa worker virtual thread dan menunggu sampai selesai.
+     */
+    private void runWorkers() {
+        // Siapkan beberapa worker yang mengambil halaman dari frontier secara bersamaan
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int i = 0; i < config.getWorkerCount(); i++) {
+            workers.add(() -> {
+                // Jalankan loop worker sampai crawling selesai atau dihentikan
+                runWorker();
+
+                // Keluar dari metode
+                return null;
+            });
+        }
+
+        try {
+            // Jalankan semua worker dan tunggu sampai semuanya selesai
+            executor.invokeAll(workers);
+
+            // Tunggu pemeriksaan status halaman dan link eksternal yang masih antre atau berjalan
+            statusScheduler.awaitIdle();
+            externalScheduler.awaitIdle();
+
+            // Tolak task baru, lalu tunggu task yang tersisa di executor
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            // Restore interrupt status thread
+            Thread.currentThread().interrupt();
+        } catch (RejectedExecutionException e) {
+            // Executor sudah dimatikan oleh stop() sebelum worker sempat dijalankan
+        }
+    }
+
+    /**
+     * Method loop untuk satu worker crawling.
+     *
+     * Worker terus mengambil halaman dari frontier selama belum dihentikan user, jumlah total tautan belum melebihi batas,
+     * dan masih ada halaman yang tertunda (di frontier atau sedang diproses worker lain).
+     */
+    private void runWorker() {
+        while (!isStopped && pendingPages.get() > 0 && repositories.size() < config.getMaxLinks()) {
+            Link webpageLink;
+            try {
+                // Ambil satu link halaman dari antrean paling depan, tunggu sebentar jika kosong
+                webpageLink = frontier.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                // Restore interrupt status thread lalu keluar (executor dimatikan)
+                Thread.currentThread().interrupt();
+                return;
             }
 
-            return html;
-        } catch (Throwable e) {
-            // Set pesan error berdasarkan exception yang terjadi
-            link.setError(ErrorHandler.getExceptionError(e));
-            // Kembalikan null jika gagal fetching/dll
-            return null;
-        } finally {
-            // Masukkan link ke repository jika belum ada
-            Link existing = repositories.putIfAbsent(link.getUrl(), link);
+            // Jika antrean kosong, worker lain mungkin masih memproses halaman yang akan menambah frontier
+            if (webpageLink == null) {
+                continue;
+            }
 
-            // Jika ini link baru, kirim ke receiver (MainController)
-            if (existing == null) {
-                receiver.receive(link);
+            try {
+                // Proses halaman (periksa, parse, ekstrak link)
+                crawlWebpage(webpageLink);
+            } finally {
+                // Halaman selesai diproses
+                pendingPages.decrementAndGet();
             }
         }
     }
 
     /**
-     * Method untuk mengekstrak seluruh link dari dokumen HTML.
+     * Method untuk memproses satu link halaman dari frontier.
      *
-     * @param html dokumen HTML hasil parsing
-     * @return map Link ke anchor text
+     * @param webpageLink : link internal yang diambil dari frontier
      */
-    private Map<Link, String> extractLink(Document html) {
-        // Map hasil ekstraksi link, pakai HashMap biar unik/tidak duplikat
-        Map<Link, String> result = new HashMap<>();
+    private void crawlWebpage(Link webpageLink) {
+        // Periksa link internal dan ambil dokumen HTML jika memungkinkan
+        Map<Link, String> linksOnWebpage = checkLink(webpageLink, true);
 
-        // Ambil semua elemen <a href>
-        for (Element a : html.select("a[href]")) {
-            // Ambil URL absolut dari atribut href
-            String absoluteUrl = a.absUrl("href");
+        // Proses link di halaman, lalu catat halaman ke checkpoint
+        finishWebpage(webpageLink, linksOnWebpage);
+    }
 
-            // Jika URL kosong, skip
-            if (absoluteUrl.isEmpty()) {
-                continue;
-            }
+    /**
+     * Method untuk menyelesaikan satu halaman yang sudah diperiksa.
+     *
+     * Hasil pemeriksaan halaman baru dicatat ke checkpoint setelah semua link di dalamnya masuk antrean,
+     * jadi halaman yang terputus di tengah jalan akan di-crawl ulang saat crawling dilanjutkan.
+     *
+     * @param webpageLink    : link internal yang sudah diperiksa
+     * @param linksOnWebpage : map Link ke anchor text di halaman, atau null jika halaman gagal diambil
+     */
+    private void finishWebpage(Link webpageLink, Map<Link, String> linksOnWebpage) {
+        // Jika bukan webpage, hasilnya sudah dicatat saat disimpan ke repository
+        if (!webpageLink.isWebpage()) {
+            return;
+        }
 
-            // Normalisasi URL
-            String normalizedUrl = UrlHandler.normalizeUrl(absoluteUrl, false);
+        // Jika HTML berhasil diambil, proses semua link di dalamnya
+        if (linksOnWebpage != null) {
+            processLinks(webpageLink, linksOnWebpage);
+        }
 
-            // Jika URL tidak valid, abaikan
-            if (normalizedUrl == null) {
-                continue;
-            }
+        // Catat hanya jika pemeriksaan ini sudah selesai (bukan sedang menunggu percobaan ulang)
+        if (repositories.get(webpageLink.getUrl()) == webpageLink) {
+            writeDone(webpageLink);
+        }
+    }
 
-            // Simpan link beserta anchor text (tanpa duplikasi)
-            result.putIfAbsent(new Link(normalizedUrl), a.text().trim());
+    /**
+     * Method untuk memproses link hasil ekstraksi sebuah halaman:
+     * link internal masuk frontier, link eksternal dijadwalkan untuk diperiksa.
+     *
+     * @param webpageLink    : halaman sumber tempat link ditemukan
+     * @param linksOnWebpage : map Link ke anchor text hasil ekstraksi
+     */
+    private void processLinks(Link webpageLink, Map<Link, String> linksOnWebpage) {
+        // Iterasi setiap link yang ditemukan di halaman HTML
+        for (var entry : linksOnWebpage.entrySet()) {
+            // Jika user menghentikan proses, keluar
+            if (isStopped) {
+                return;
+            }
+
+            // Ambil objek link
+            Link link = entry.getKey();
+
+            // Ambil teks anchor
+            String anchorText = entry.getValue();
+
+            // Cek apakah link sudah pernah ditemukan. Dicek dan dicatat dalam satu langkah atomik,
+            // jadi link yang sama dari banyak halaman hanya masuk antrean sekali
+            boolean[] isNew = new boolean[1];
+            Link existingLink = pendingLinks.compute(link.getUrl(), (url, pending) -> {
+                // Masih menunggu diperiksa
+                if (pending != null) {
+                    return pending;
+                }
+
+                // Pertama kali ditemukan
+                if (seenUrls.add(url)) {
+                    isNew[0] = true;
+                    return link;
+                }
+
+                // Sudah selesai diperiksa (ada di repositories)
+                return null;
+            });
+
+            if (!isNew[0]) {
+                // Jika sudah ada, tambahkan sumber halaman saja
+                if (existingLink == null) {
+                    existingLink = repositories.get(link.getUrl());
+                }
+                if (existingLink != null) {
+                    existingLink.addWebpageSource(webpageLink, anchorText);
+                } else {
+                    // Link sedang tersimpan di disk, catat sumbernya untuk ditambahkan nanti
+                    deferredSources.append(link.getUrl(), webpageLink.getUrl(), anchorText);
+                }
+
+                // Catat sumber halaman baru ke checkpoint
+                if (journal != null) {
+                    journal.writeSource(link.getUrl(), webpageLink.getUrl(), anchorText);
+                }
+                continue;
+            }
+
+            // Jika belum ada, set sumber halaman pertama
+            link.addWebpageSource(webpageLink, anchorText);
+
+            // Kedalaman link satu tingkat di bawah halaman sumbernya
+            link.setDepth(webpageLink.getDepth() + 1);
+
+            boolean isInternal = UrlHandler.getHost(link.getUrl()).equalsIgnoreCase(rootHost);
+
+            // Catat link yang masuk antrean ke checkpoint
+            writeQueued(link, isInternal);
+
+            if (isInternal) {
+                // Jika link adalah link internal, maka masukkan ke frontier antrean paling belakang
+                enqueueWebpage(link);
+            } else {
+                // Host eksternal baru langsung di-resolve di background sebelum pemeriksaannya dijadwalkan
+                String host = UrlHandler.getHost(link.getUrl());
+                if (discoveredHosts.add(host)) {
+                    DnsCache.prefetch(host);
+                }
+
+                // Jika link adalah link eksternal, maka periksa di background tanpa menunggu hasilnya
+                submitExternalCheck(link);
+            }
+        }
+    }
+
+    /**
+     * Method untuk menjalankan crawling dengan engine asinkron dan menunggu sampai selesai.
+     *
+     * Thread pemanggil hanya menunggu hasil akhir; request dikirim dengan sendAsync dan
+     * setiap tahap dirangkai dengan CompletableFuture tanpa ada thread yang menunggu response.
+     */
+    private void runAsyncEngine() {
+        // Reset penanda selesai dan jumlah request yang berjalan
+        asyncDone = new CompletableFuture<>();
+        asyncInFlight.set(0);
+
+        // Saat semua pemeriksaan status halaman atau link eksternal selesai, cek apakah crawling sudah selesai
+        externalScheduler.setIdleListener(this::dispatchAsync);
+        statusScheduler.setIdleListener(this::dispatchAsync);
+
+        // Mulai kirim request pertama
+        dispatchAsync();
+
+        try {
+            // Tunggu sampai crawling selesai atau dihentikan
+            asyncDone.get();
+        } catch (InterruptedException e) {
+            // Restore interrupt status thread
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ignore) {
+            // asyncDone tidak pernah selesai dengan exception
+        }
+
+        // Tidak ada lagi tahap yang perlu dijalankan di executor
+        executor.shutdown();
+    }
+
+    /**
+     * [Engine ASYNC] Method untuk mengirim request baru selama slot in-flight masih tersedia.
+     *
+     * Dipanggil di awal dan setiap kali satu request halaman selesai (atau pemeriksaan link eksternal
+     * di HostScheduler habis). Jika tidak ada request berjalan dan tidak ada yang bisa dikirim lagi,
+     * crawling dianggap selesai.
+     */
+    private void dispatchAsync() {
+        while (!isStopped && repositories.size() < config.getMaxLinks()) {
+            // Ambil satu slot in-flight, batalkan jika batas sudah tercapai
+            if (asyncInFlight.incrementAndGet() > config.getMaxAsyncInFlight()) {
+                asyncInFlight.decrementAndGet();
+                break;
+            }
+
+            Link webpageLink = frontier.poll();
+
+            // Jika tidak ada yang bisa dikirim, kembalikan slot
+            if (webpageLink == null) {
+                asyncInFlight.decrementAndGet();
+                break;
+            }
+
+            // Fetch → parse → ekstraksi → enqueue
+            CompletableFuture<Void> task = crawlWebpageAsync(webpageLink);
+
+            try {
+                // Setelah selesai, kembalikan slot lalu kirim request berikutnya (di thread lain supaya tidak rekursif)
+                task.whenCompleteAsync((v, e) -> {
+                    asyncInFlight.decrementAndGet();
+                    dispatchAsync();
+                }, executor);
+            } catch (RejectedExecutionException e) {
+                // Executor sudah dimatikan oleh stop()
+                asyncInFlight.decrementAndGet();
+                break;
+            }
+        }
+
+        // Selesai jika tidak ada request berjalan dan tidak ada lagi yang perlu/boleh dikirim
+        boolean isIdle = asyncInFlight.get() == 0 && externalScheduler.isIdle() && statusScheduler.isIdle();
+        boolean isDrained = isStopped || repositories.size() >= config.getMaxLinks() || frontier.isEmpty();
+        if (isIdle && isDrained) {
+            asyncDone.complete(null);
+        }
+    }
+
+    /**
+     * [Engine ASYNC] Method untuk memproses satu link halaman tanpa blocking.
+     *
+     * @param webpageLink : link internal yang diambil dari frontier
+     * @return future yang selesai setelah link di halaman tersebut masuk antrean
+     */
+    private CompletableFuture<Void> crawlWebpageAsync(Link webpageLink) {
+        // Ekstrak dan proses link di halaman, lalu catat halaman ke checkpoint
+        return checkLinkAsync(webpageLink, true).thenAccept(linksOnWebpage -> finishWebpage(webpageLink, linksOnWebpage));
+    }
+
+    /**
+     * Method untuk menjalankan pemeriksaan link eksternal di background (fire-and-forget).
+     *
+     * Link dimasukkan ke antrean host-nya di HostScheduler, jadi worker tidak pernah tertahan dan
+     * host yang lambat hanya memakai slot koneksi miliknya sendiri.
+     *
+     * @param link : link eksternal yang akan diperiksa
+     */
+    private void submitExternalCheck(Link link) {
+        externalScheduler.submit(UrlHandler.getHost(link.getUrl()), () -> checkExternalLink(link));
+    }
+
+    /**
+     * Method untuk memeriksa status halaman internal di luar batas crawling di background.
+     *
+     * Halaman tidak diambil isinya dan tidak melewati jalur link eksternal: tanpa cache hasil pemeriksaan,
+     * tanpa klaim CrawlContext, tanpa circuit breaker, dan tanpa batas koneksi link eksternal.
+     *
+     * @param link : link internal yang hanya diperiksa statusnya
+     */
+    private void submitStatusCheck(Link link) {
+        statusScheduler.submit(rootHost, () -> {
+            // Jika proses dihentikan user, lewati pemeriksaan
+            if (isStopped) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            if (config.getEngine() == CrawlEngine.ASYNC) {
+                return checkLinkAsync(link, false);
+            }
+
+            return CompletableFuture.runAsync(() -> checkLink(link, false), executor);
+        });
+    }
+
+    /**
+     * [CrawlContext] Method untuk mengklaim pemeriksaan link eksternal di antara crawler yang berbagi CrawlContext.
+     *
+     * Klaim dilakukan saat pemeriksaan benar-benar dimulai, jadi crawler lain hanya menunggu pemeriksaan
+     * yang sedang berjalan (bukan yang masih antre di crawler pemiliknya). Jika URL sudah diklaim crawler lain,
+     * link ini menunggu hasilnya tanpa memakai slot koneksi, lalu hasilnya disalin. Jika crawler lain
+     * melepas klaimnya sebelum selesai, link diperiksa sendiri.
+     *
+     * @param link : link eksternal yang akan diperiksa
+     * @return true jika crawler ini yang harus memeriksa link, false jika memakai hasil crawler lain
+     */
+    private boolean claimExternalCheck(Link link) {
+        // Percobaan ulang dari pemeriksaan milik crawler ini
+        if (ownedVerdicts.containsKey(link.getUrl())) {
+            return true;
+        }
+
+        CompletableFuture<Link> verdict = new CompletableFuture<>();
+        CompletableFuture<Link> existing = context.claimExternalCheck(link.getUrl(), verdict);
+
+        if (existing == null) {
+            ownedVerdicts.put(link.getUrl(), verdict);
+            return true;
+        }
+
+        CompletableFuture<Void> wait = existing.handle((checked, e) -> {
+            if (isStopped) {
+                return null;
+            }
+
+            if (e == null) {
+                // Salin hasil pemeriksaan crawler lain lalu simpan dan kirim
+                copyResult(checked, link);
+                publish(link, false);
+            } else {
+                // Crawler lain dihentikan, periksa sendiri
+                submitExternalCheck(link);
+            }
+            return null;
+        });
+
+        // Ikut ditunggu sebelum crawling dianggap selesai
+        verdictWaits.add(wait);
+        wait.whenComplete((v, e) -> verdictWaits.remove(wait));
+        externalScheduler.track(wait);
+        return false;
+    }
+
+    /**
+     * [CrawlContext] Method untuk melepas klaim pemeriksaan link eksternal yang tidak jadi diperiksa
+     * (batas jumlah link tercapai atau crawling dihentikan), supaya crawler lain yang menunggu tidak tertahan.
+     *
+     * @param link : link eksternal yang dilewati
+     */
+    private void releaseExternalCheck(Link link) {
+        CompletableFuture<Link> verdict = ownedVerdicts.remove(link.getUrl());
+        if (verdict == null) {
+            return;
+        }
+
+        // Jika URL ini sudah punya hasil, bagikan; jika belum, crawler lain memeriksa sendiri
+        Link checked = repositories.get(link.getUrl());
+        if (checked != null && !isStopped) {
+            verdict.complete(checked);
+        } else {
+            verdict.completeExceptionally(new CancellationException("Check skipped"));
+        }
+    }
+
+    /**
+     * [CrawlContext] Method untuk melepas semua klaim yang belum selesai, supaya diambil alih crawler lain.
+     */
+    private void releaseOwnedVerdicts() {
+        for (CompletableFuture<Link> verdict : ownedVerdicts.values()) {
+            verdict.completeExceptionally(new CancellationException("Crawler stopped"));
+        }
+        ownedVerdicts.clear();
+    }
+
+    /**
+     * Method untuk menyalin hasil pemeriksaan dari link lain dengan URL yang sama.
+     *
+     * @param from : link yang sudah diperiksa
+     * @param to   : link yang akan diisi hasilnya
+     */
+    private static void copyResult(Link from, Link to) {
+        to.setFinalUrl(from.getFinalUrl());
+        to.setStatusCode(from.getStatusCode());
+        to.setContentType(from.getContentType());
+        to.setError(from.getError());
+        to.setIsWebpage(from.isWebpage());
+        to.setCheckMethod(from.getCheckMethod());
+        to.setAttempts(from.getAttempts());
+        to.setElapsedTime(from.getElapsedTime());
+        to.setIsTruncated(from.isTruncated());
+    }
+
+    /**
+     * Method untuk memulai pemeriksaan satu link eksternal sesuai engine yang dipakai.
+     *
+     * @param link : link eksternal yang akan diperiksa
+     * @return future yang selesai saat pemeriksaan selesai
+     */
+    private CompletableFuture<?> checkExternalLink(Link link) {
+        // Jika proses dihentikan user, lewati pemeriksaan
+        if (isStopped) {
+            releaseExternalCheck(link);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Jika crawler lain sedang (atau sudah) memeriksa URL ini, pakai hasilnya tanpa memakai slot koneksi
+        if (context != null && !claimExternalCheck(link)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (config.getEngine() == CrawlEngine.ASYNC) {
+            // Periksa link eksternal dengan sendAsync
+            return checkLinkAsync(link, false);
+        }
+
+        // Periksa link eksternal tanpa mengambil halaman HTML di virtual thread
+        return CompletableFuture.runAsync(() -> checkLink(link, false), executor);
+    }
+
+    /**
+     * Method untuk memasukkan link halaman ke antrean paling belakang frontier.
+     *
+     * @param link : link internal yang akan di-crawl
+     */
+    private void enqueueWebpage(Link link) {
+        // Halaman yang dilarang robots.txt tidak diminta sama sekali
+        if (!isAllowedByRobots(link)) {
+            link.setCheckMethod(METHOD_ROBOTS_DISALLOWED);
+            publish(link, false);
+            return;
+        }
+
+        // Halaman dari crawler trap dibuang tanpa diminta dan tanpa dikirim ke receiver, supaya batas
+        // jumlah link dipakai untuk halaman lain. Trap-nya dilaporkan per pola lewat getTraps()
+        if (trapDetector.check(link.getUrl()) != null) {
+            pendingLinks.remove(link.getUrl(), link);
+            return;
+        }
+
+        // Halaman di luar batas crawling tetap diperiksa statusnya, tapi tidak diambil isinya
+        if (!isWithinCrawlLimits(link)) {
+            submitStatusCheck(link);
+            return;
+        }
+
+        // Hitung halaman tertunda sebelum masuk antrean, supaya worker tidak berhenti terlalu cepat
+        pendingPages.incrementAndGet();
+
+        // Masukkan ke frontier antrean paling belakang. Jika ditulis ke disk, objek Link dilepas dari memori
+        if (!frontier.offer(link)) {
+            pendingLinks.remove(link.getUrl(), link);
+        }
+    }
+
+    /**
+     * Method untuk mengecek aturan robots.txt host sebuah halaman sebelum masuk antrean.
+     * robots.txt diambil saat halaman pertama host tersebut ditemukan, dan Crawl-delay-nya
+     * langsung diterapkan ke rate limiter host.
+     *
+     * @param link : link halaman yang akan masuk antrean
+     * @return true jika halaman boleh diambil atau robots.txt tidak dipatuhi
+     */
+    private boolean isAllowedByRobots(Link link) {
+        if (!config.isRespectRobots()) {
+            return true;
+        }
+
+        RobotsRules rules = robotsCache.get(link.getUrl());
+
+        // Crawl-delay menjadi jarak waktu minimal antar request ke host tersebut
+        if (rules.getCrawlDelay() > 0 && crawlDelayHosts.add(UrlHandler.getHost(link.getUrl()))) {
+            getRateLimiter(link).setMinInterval(rules.getCrawlDelay());
+        }
+
+        return rules.isAllowed(link.getUrl());
+    }
+
+    /**
+     * Method untuk mengubah record frontier dari disk kembali menjadi Link.
+     *
+     * @param record : {url, depth, sourceUrl, anchorText}
+     * @return objek Link yang siap di-crawl
+     */
+    private Link loadFrontierRecord(String[] record) {
+        Link link = new Link(record[0]);
+        link.setDepth(Integer.parseInt(record[1]));
+
+        // Halaman sumber sudah diperiksa sebelum link-nya diekstrak, jadi ada di repositories
+        Link source = repositories.get(record[2]);
+        if (source != null) {
+            link.addWebpageSource(source, record[3]);
+        }
+
+        // Sumber halaman berikutnya ditambahkan langsung ke objek ini
+        Link existing = pendingLinks.putIfAbsent(link.getUrl(), link);
+        return existing != null ? existing : link;
+    }
+
+    /**
+     * Method untuk menambahkan sumber halaman yang dicatat saat link-nya tersimpan di disk.
+     */
+    private void attachDeferredSources() {
+        String[] record;
+        while ((record = deferredSources.poll()) != null) {
+            Link link = repositories.get(record[0]);
+            Link source = repositories.get(record[1]);
+            if (link != null && source != null) {
+                link.addWebpageSource(source, record[2]);
+            }
+        }
+
+        deferredSources.close();
+    }
+
+    /**
+     * Method untuk menentukan apakah halaman internal masih boleh di-crawl
+     * berdasarkan batas kedalaman, halaman per host, dan halaman per path prefix.
+     *
+     * @param link : link internal yang akan dimasukkan ke frontier
+     * @return true jika halaman masih dalam batas (dan sudah dihitung), false jika tidak
+     */
+    private boolean isWithinCrawlLimits(Link link) {
+        CrawlConfig config = this.config;
+
+        // Batas kedalaman dari seed URL
+        if (config.getMaxDepth() > 0 && link.getDepth() > config.getMaxDepth()) {
+            return false;
+        }
+
+        String host = UrlHandler.getHost(link.getUrl());
+        AtomicInteger hostCount = pagesPerHost.computeIfAbsent(host, h -> new AtomicInteger());
+        AtomicInteger prefixCount = pagesPerPathPrefix.computeIfAbsent(host + getPathPrefix(link.getUrl()), p -> new AtomicInteger());
+
+        // Batas jumlah halaman per host
+        if (config.getMaxPagesPerHost() > 0 && hostCount.get() >= config.getMaxPagesPerHost()) {
+            return false;
+        }
+
+        // Batas jumlah halaman per path prefix
+        if (config.getMaxPagesPerPathPrefix() > 0 && prefixCount.get() >= config.getMaxPagesPerPathPrefix()) {
+            return false;
+        }
+
+        hostCount.incrementAndGet();
+        prefixCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Method untuk mengambil path prefix (segmen pertama path) dari URL,
+     * misalnya "/blog/" untuk https://example.com/blog/2024/post dan "/" untuk https://example.com/about.
+     *
+     * @param url : URL halaman
+     * @return path prefix, atau "/" jika URL tidak valid
+     */
+    private static String getPathPrefix(String url) {
+        try {
+            String path = URI.create(url).getPath();
+            if (path == null) {
+                return "/";
+            }
+
+            int next = path.indexOf('/', 1);
+            return next > 0 ? path.substring(0, next + 1) : "/";
+        } catch (IllegalArgumentException e) {
+            return "/";
+        }
+    }
+
+    /**
+     * Method untuk mengganti pengaturan crawling. Dipanggil sebelum start(), bukan saat crawling berjalan.
+     *
+     * @param value : pengaturan crawling (disalin, perubahan setelahnya tidak berpengaruh)
+     */
+    public void setConfig(CrawlConfig value) {
+        config = value.copy();
+    }
+
+    /**
+     * Method untuk menghentikan proses crawling.
+     */
+    public void stop() {
+        // Set penanda jadi true
+        isStopped = true;
+
+        // Hentikan pembacaan sitemap yang sedang berjalan
+        SitemapReader reader = sitemapReader;
+        if (reader != null) {
+            reader.cancel();
+        }
+
+        // Kosongkan antrean frontier
+        if (frontier != null) {
+            frontier.clear();
+        }
+
+        // Simpan checkpoint supaya crawling bisa dilanjutkan
+        if (journal != null) {
+            journal.flush();
+        }
+
+        // Berhenti menunggu hasil pemeriksaan crawler lain
+        for (CompletableFuture<Void> wait : verdictWaits) {
+            wait.cancel(false);
+        }
+
+        // Lepas klaim pemeriksaan yang belum selesai supaya crawler lain tidak menunggu crawler ini
+        releaseOwnedVerdicts();
+
+        // Buang pemeriksaan status halaman dan link eksternal yang masih antre
+        if (externalScheduler != null) {
+            externalScheduler.clear();
+        }
+        if (statusScheduler != null) {
+            statusScheduler.clear();
+        }
+
+        // Bangunkan engine asinkron yang sedang menunggu
+        if (asyncDone != null) {
+            asyncDone.complete(null);
+        }
+
+        // Hentikan semua task yang sedang berjalan
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Method untuk memeriksa satu link menggunakan HTTP request.
+     *
+     * @param link       : objek Link yang akan diperiksa
+     * @param isParseDoc : apakah response perlu diparse sebagai HTML
+     * @return map Link ke anchor text di halaman jika berhasil, null jika tidak berhasil atau tidak dibutuhkan
+     */
+    private Map<Link, String> checkLink(Link link, boolean isParseDoc) {
+        // Jika link sudah pernah diproses atau limit tercapai, hentikan
+        if (isAlreadyChecked(link)) {
+            if (!isParseDoc) {
+                releaseExternalCheck(link);
+            }
+            return null;
+        }
+
+        // Jika link eksternal masih punya hasil yang berlaku di cache, pakai tanpa mengirim request
+        if (!isParseDoc && isExternal(link) && applyCachedVerdict(link)) {
+            return null;
+        }
+
+        // Catat percobaan pemeriksaan
+        beginAttempt(link);
+
+        // Jika host eksternal dianggap mati, beri error yang tersimpan tanpa mengirim request
+        if (isHostDown(link)) {
+            shortCircuit(link);
+            return null;
+        }
+
+        // Waktu mulai request untuk menghitung latency
+        long startTime = 0;
+
+        try {
+            // Terapkan delay sesuai rate limiter host URL
+            getRateLimiter(link).delay();
+
+            // Catat waktu mulai setelah delay, supaya latency hanya menghitung waktu request
+            startTime = System.nanoTime();
+
+            HttpResponse<?> res;
+            if (isParseDoc) {
+                // Jika parsing dilakukan, body hanya dibaca (sebagai stream) jika header menunjukkan halaman HTML
+                link.setCheckMethod(METHOD_GET);
+                res = httpClient.send(buildPageRequest(link), new WebpageBodyHandler());
+            } else if (config.isHeadFirst()) {
+                // Jika parsing tidak dilakukan, cukup periksa header tanpa mengunduh body
+                res = sendHeadFirst(link);
+            } else {
+                // Jika parsing tidak dilakukan maka response body juga tidak dibutuhkan
+                link.setCheckMethod(METHOD_GET);
+                res = httpClient.send(buildRequest(link, METHOD_GET).build(), HttpResponse.BodyHandlers.discarding());
+            }
+
+            // Catat hasil response dan parse HTML jika dibutuhkan
+            return handleResponse(link, res, isParseDoc, startTime);
+        } catch (Throwable e) {
+            // Set pesan error berdasarkan exception yang terjadi
+            link.setError(ErrorHandler.getExceptionError(e));
+            // Sesuaikan laju host jika request timeout
+            onRequestError(link);
+            // Kembalikan null jika gagal fetching/dll
+            return null;
+        } finally {
+            // Jadwalkan percobaan ulang atau simpan dan kirim hasil pemeriksaan
+            finishAttempt(link, isParseDoc);
+        }
+    }
+
+    /**
+     * [Engine ASYNC] Method untuk memeriksa satu link dengan HttpClient.sendAsync.
+     *
+     * Tahap rate limit → request → catat response/parse dirangkai tanpa ada thread yang menunggu response.
+     * Parsing membaca stream body, jadi tahap itu dijalankan di executor.
+     *
+     * @param link       : objek Link yang akan diperiksa
+     * @param isParseDoc : apakah response perlu diparse sebagai HTML
+     * @return future berisi map Link ke anchor text di halaman jika berhasil, null jika tidak berhasil atau tidak dibutuhkan
+     */
+    private CompletableFuture<Map<Link, String>> checkLinkAsync(Link link, boolean isParseDoc) {
+        // Jika link sudah pernah diproses atau limit tercapai, hentikan
+        if (isAlreadyChecked(link)) {
+            if (!isParseDoc) {
+                releaseExternalCheck(link);
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Jika link eksternal masih punya hasil yang berlaku di cache, pakai tanpa mengirim request
+        if (!isParseDoc && isExternal(link) && applyCachedVerdict(link)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Catat percobaan pemeriksaan
+        beginAttempt(link);
+
+        // Jika host eksternal dianggap mati, beri error yang tersimpan tanpa mengirim request
+        if (isHostDown(link)) {
+            shortCircuit(link);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Waktu mulai request untuk menghitung latency
+        long[] startTime = new long[1];
+
+        // Terapkan delay sesuai rate limiter host URL tanpa menahan thread
+        return getRateLimiter(link).delayAsync(executor)
+                // Kirim request tanpa blocking
+                .thenCompose(v -> {
+                    startTime[0] = System.nanoTime();
+                    return sendAsync(link, isParseDoc);
+                })
+                // Catat hasil response dan parse HTML jika dibutuhkan
+                .thenApplyAsync(res -> {
+                    try {
+                        return handleResponse(link, res, isParseDoc, startTime[0]);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor)
+                // Set pesan error berdasarkan exception yang terjadi
+                .exceptionally(e -> {
+                    link.setError(ErrorHandler.getExceptionError(unwrap(e)));
+                    onRequestError(link);
+                    return null;
+                })
+                // Jadwalkan percobaan ulang atau simpan dan kirim hasil pemeriksaan
+                .whenComplete((linksOnWebpage, e) -> finishAttempt(link, isParseDoc));
+    }
+
+    /**
+     * [Engine ASYNC] Method untuk memilih dan mengirim request yang sesuai secara asinkron.
+     *
+     * @param link       : objek Link yang akan diperiksa
+     * @param isParseDoc : apakah response perlu diparse sebagai HTML
+     * @return future berisi response yang dipakai sebagai hasil pemeriksaan
+     */
+    private CompletableFuture<HttpResponse<?>> sendAsync(Link link, boolean isParseDoc) {
+        if (isParseDoc) {
+            link.setCheckMethod(METHOD_GET);
+            return httpClient.sendAsync(buildPageRequest(link), new WebpageBodyHandler()).thenApply(res -> res);
+        }
+
+        if (config.isHeadFirst()) {
+            return sendHeadFirstAsync(link);
+        }
+
+        link.setCheckMethod(METHOD_GET);
+        return httpClient.sendAsync(buildRequest(link, METHOD_GET).build(), HttpResponse.BodyHandlers.discarding()).thenApply(res -> res);
+    }
+
+    /**
+     * Method untuk mengambil atau membuat RateLimiter berdasarkan host URL.
+     *
+     * @param link : objek Link yang akan diperiksa
+     * @return rate limiter milik host link tersebut
+     */
+    private RateLimiter getRateLimiter(Link link) {
+        return rateLimiters.computeIfAbsent(UrlHandler.getHost(link.getUrl()), h -> new RateLimiter(config.getHostIntervals().getOrDefault(h, config.getDefaultHostInterval())));
+    }
+
+    /**
+     * Method untuk menyesuaikan laju host setelah request gagal.
+     * Hanya timeout yang menurunkan laju, error lain (DNS, SSL, dll) tidak berhubungan dengan beban server.
+     *
+     * @param link : objek Link yang gagal diperiksa
+     */
+    private void onRequestError(Link link) {
+        if (link.getError().equals("Timeout")) {
+            getRateLimiter(link).onTimeout();
+        }
+    }
+
+    /**
+     * Method untuk mengecek apakah circuit breaker host link sedang menahan request.
+     *
+     * Circuit breaker hanya dipakai untuk host eksternal; host situs yang di-crawl selalu diminta.
+     * Percobaan ulang dari link yang sudah diizinkan tidak ditahan, supaya request percobaan
+     * (half-open probe) tetap mendapat jatah percobaan ulangnya.
+     *
+     * @param link : objek Link yang akan diperiksa (percobaannya sudah dicatat)
+     * @return true jika link harus diberi error yang tersimpan tanpa mengirim request
+     */
+    private boolean isHostDown(Link link) {
+        return link.getAttempts() == 1 && hasCircuitBreaker(link) && !getCircuitBreaker(link).allowRequest();
+    }
+
+    /**
+     * @param link : objek Link yang diperiksa
+     * @return true jika host link memakai circuit breaker (bukan host situs yang di-crawl)
+     */
+    private boolean hasCircuitBreaker(Link link) {
+        return isExternal(link);
+    }
+
+    /**
+     * @param link : objek Link yang diperiksa
+     * @return true jika host link bukan host situs yang di-crawl
+     */
+    private boolean isExternal(Link link) {
+        return !UrlHandler.getHost(link.getUrl()).equalsIgnoreCase(rootHost);
+    }
+
+    /**
+     * Method untuk mengambil atau membuat CircuitBreaker berdasarkan host URL.
+     *
+     * @param link : objek Link yang akan diperiksa
+     * @return circuit breaker milik host link tersebut
+     */
+    private CircuitBreaker getCircuitBreaker(Link link) {
+        return circuitBreakers.computeIfAbsent(UrlHandler.getHost(link.getUrl()), h -> new CircuitBreaker(config.getBreakerThreshold(), config.getBreakerProbeInterval()));
+    }
+
+    /**
+     * Method untuk memberi link error yang tersimpan di circuit breaker host-nya tanpa mengirim request.
+     * Link ini tidak dijadwalkan ulang, karena host-nya sudah dianggap mati.
+     *
+     * @param link : objek Link yang host-nya sedang OPEN
+     */
+    private void shortCircuit(Link link) {
+        // Beri error yang sama dengan kegagalan terakhir host tersebut
+        link.setError(getCircuitBreaker(link).getCachedError());
+        link.setCheckMethod(METHOD_CIRCUIT_OPEN);
+        link.setElapsedTime(System.currentTimeMillis() - link.getFirstAttemptTime());
+
+        // Simpan dan kirim hasil pemeriksaan
+        publish(link, false);
+    }
+
+    /**
+     * Method untuk mengisi link dari cache hasil pemeriksaan crawling sebelumnya.
+     *
+     * @param link : objek Link eksternal yang akan diperiksa
+     * @return true jika hasil di cache masih berlaku dan link sudah disimpan dan dikirim
+     */
+    private boolean applyCachedVerdict(Link link) {
+        // Hanya untuk percobaan pertama, percobaan ulang berarti cache tidak punya hasilnya
+        if (verdictCache == null || link.getAttempts() > 0) {
+            return false;
+        }
+
+        VerdictCache.Verdict verdict = verdictCache.get(link.getUrl());
+        if (verdict == null) {
+            return false;
+        }
+
+        verdict.applyTo(link);
+        link.setCheckMethod(METHOD_CACHED);
+        link.setElapsedTime(0);
+
+        // Simpan dan kirim hasil pemeriksaan
+        publish(link, false);
+        return true;
+    }
+
+    /**
+     * Method untuk mengecek apakah link tidak perlu diperiksa lagi.
+     *
+     * @param link : objek Link yang akan diperiksa
+     * @return true jika link sudah pernah diproses atau limit tercapai
+     */
+    private boolean isAlreadyChecked(Link link) {
+        return repositories.get(link.getUrl()) != null || repositories.size() > config.getMaxLinks();
+    }
+
+    /**
+     * Method untuk mencatat hasil response ke Link dan mem-parse HTML jika dibutuhkan.
+     *
+     * @param link       : objek Link yang diperiksa
+     * @param res        : response HTTP
+     * @param isParseDoc : apakah response perlu diparse sebagai HTML
+     * @param startTime  : waktu mulai request (System.nanoTime) untuk menghitung latency
+     * @return map Link ke anchor text di halaman jika berhasil, null jika tidak berhasil atau tidak dibutuhkan
+     */
+    private Map<Link, String> handleResponse(Link link, HttpResponse<?> res, boolean isParseDoc, long startTime) throws IOException {
+        // Sesuaikan laju host berdasarkan status code, latency dan header Retry-After
+        long retryAfter = RateLimiter.parseRetryAfter(res.headers().firstValue("Retry-After").orElse(null));
+        getRateLimiter(link).onResponse(res.statusCode(), System.nanoTime() - startTime, retryAfter);
+
+        // Host memberikan response, berarti host masih hidup
+        if (hasCircuitBreaker(link)) {
+            getCircuitBreaker(link).onSuccess();
+        }
+
+        // Halaman tidak berubah sejak crawling sebelumnya, pakai data halaman yang tersimpan tanpa mem-parse
+        if (isParseDoc && res.statusCode() == 304) {
+            PageCache.Page page = getCachedPage(link);
+            if (page != null) {
+                return applyCachedPage(link, page);
+            }
+        }
+
+        // Update nilai atribut Final URL dari Link
+        link.setFinalUrl(res.uri().toString());
+        // Update nilai atribut Content Type dari Link
+        link.setContentType(res.headers().firstValue("Content-Type").orElse("").toLowerCase());
+        // Update nilai atribut Status Code dari Link
+        link.setStatusCode(res.statusCode());
+
+        Map<Link, String> linksOnWebpage = null;
+        // Body null berarti sudah dibatalkan oleh WebpageBodyHandler (bukan halaman HTML)
+        boolean isFetchOk = link.getStatusCode() == 200 && res.body() != null;
+        // Final host diketahui dari response sebelum body dibaca, body yang pindah host langsung ditutup di bawah
+        boolean isSameHost = UrlHandler.getHost(link.getFinalUrl()).equals(rootHost);
+
+        if (isParseDoc && isFetchOk && isSameHost) {
+            // Batasi body yang dibaca supaya memori per halaman tetap terkendali
+            try (LimitedInputStream body = new LimitedInputStream((InputStream) res.body(), config.getMaxBodySize())) {
+                // Parse HTML langsung dari stream menggunakan Jsoup, lalu ekstrak semua link
+                Document html = Jsoup.parse(body, getCharset(link.getContentType()), link.getFinalUrl());
+
+                // Tandai jika body melebihi batas dan sisanya tidak dibaca
+                link.setIsTruncated(body.isTruncated());
+
+                // Tandai link sebagai webpage
+                link.setIsWebpage(true);
+
+                // Data mentah halaman, diproses dengan pengaturan crawling di toWebpageLinks()
+                boolean isNofollow = hasNofollow(html, res);
+                Element canonical = html.selectFirst("link[rel=canonical][href]");
+                String canonicalHref = canonical != null ? canonical.absUrl("href") : "";
+                String text = html.text();
+                // Sidik jari hanya untuk halaman dengan teks yang cukup dan dibaca utuh
+                String fingerprint = !link.isTruncated() && text.length() >= MIN_FINGERPRINT_TEXT ? fingerprint(text) : "";
+                List<String[]> hrefs = extractHrefs(html);
+
+                linksOnWebpage = toWebpageLinks(link, isNofollow, canonicalHref, fingerprint, hrefs);
+
+                // Simpan validator dan data mentah halaman untuk conditional GET pada crawling berikutnya
+                if (pageCache != null) {
+                    String etag = res.headers().firstValue("ETag").orElse("");
+                    String lastModified = res.headers().firstValue("Last-Modified").orElse("");
+                    pageCache.put(link.getUrl(), new PageCache.Page(link, etag, lastModified, config.getMaxBodySize(), isNofollow, canonicalHref, fingerprint, hrefs));
+                }
+            } catch (Exception ignore) {
+                // Jika parsing gagal, abaikan
+                linksOnWebpage = null;
+            }
+        }
+
+        // Tutup stream body yang tidak dibaca supaya koneksi dilepas
+        if (res.body() instanceof InputStream in) {
+            in.close();
+        }
+
+        return linksOnWebpage;
+    }
+
+    /**
+     * Method untuk mengisi link halaman dari cache setelah server menjawab 304 Not Modified.
+     * Data mentah yang tersimpan diproses seperti halaman yang baru diunduh, jadi pengaturan
+     * kanonikalisasi, robots, dan duplikat crawling saat ini tetap berlaku.
+     *
+     * @param link : objek Link halaman yang diperiksa
+     * @param page : data halaman dari crawling sebelumnya
+     * @return map Link ke anchor text di halaman
+     */
+    private Map<Link, String> applyCachedPage(Link link, PageCache.Page page) {
+        // Halaman hanya disimpan jika berhasil diambil, jadi hasilnya sama dengan 200
+        link.setFinalUrl(page.getFinalUrl());
+        link.setContentType(page.getContentType());
+        link.setStatusCode(200);
+        link.setIsTruncated(page.isTruncated());
+        link.setIsWebpage(true);
+        link.setCheckMethod(METHOD_NOT_MODIFIED);
+
+        return toWebpageLinks(link, page.isNofollow(), page.getCanonicalHref(), page.getFingerprint(), page.getLinks());
+    }
+
+    /**
+     * Method untuk menentukan link di halaman yang diproses, dari data mentah hasil parsing.
+     *
+     * Link di halaman nofollow (jika robots dipatuhi) dan halaman duplikat tidak diproses lagi.
+     * Halaman asli dari halaman duplikat tetap masuk antrean (jika belum ditemukan) dengan halaman
+     * duplikat sebagai sumbernya.
+     *
+     * @param link          : objek Link halaman
+     * @param isNofollow    : apakah halaman ditandai nofollow oleh meta robots atau X-Robots-Tag
+     * @param canonicalHref : href absolut canonical, string kosong jika tidak ada
+     * @param fingerprint   : sidik jari teks halaman, string kosong jika tidak dihitung
+     * @param hrefs         : pasangan {href absolut, anchor text} link di halaman
+     * @return map Link ke anchor text
+     */
+    private Map<Link, String> toWebpageLinks(Link link, boolean isNofollow, String canonicalHref, String fingerprint, List<String[]> hrefs) {
+        String original = config.isSkipDuplicates() ? findOriginal(link, canonicalHref, fingerprint) : null;
+
+        Map<Link, String> result = new HashMap<>();
+        if (isNofollow && config.isRespectRobots()) {
+            return result;
+        }
+        if (original != null) {
+            link.setDuplicateOf(original);
+            result.put(new Link(original), "");
+            return result;
+        }
+
+        for (String[] href : hrefs) {
+            // Normalisasi URL
+            String normalizedUrl = UrlHandler.normalizeUrl(href[0], false);
+
+            // Jika URL tidak valid, abaikan
+            if (normalizedUrl == null) {
+                continue;
+            }
+
+            // Variasi URL yang menunjuk halaman yang sama dijadikan satu
+            String canonicalUrl = canonicalizer.canonicalize(normalizedUrl);
+
+            // Simpan link beserta anchor text (tanpa duplikasi)
+            result.putIfAbsent(new Link(canonicalUrl), href[1]);
+        }
+        return result;
+    }
+
+    /**
+     * Method untuk mencatat dimulainya satu percobaan pemeriksaan link.
+     *
+     * @param link : objek Link yang akan diperiksa
+     */
+    private void beginAttempt(Link link) {
+        // Catat waktu percobaan pertama untuk menghitung total waktu pemeriksaan
+        if (link.getAttempts() == 0) {
+            link.setFirstAttemptTime(System.currentTimeMillis());
+        }
+
+        link.setAttempts(link.getAttempts() + 1);
+    }
+
+    /**
+     * Method untuk menyelesaikan satu percobaan pemeriksaan link.
+     * Jika error-nya sementara, pemeriksaan dijadwalkan ulang; jika tidak, hasilnya disimpan dan dikirim.
+     *
+     * @param link       : objek Link yang sudah diperiksa
+     * @param isParseDoc : apakah link diperiksa sebagai halaman (internal) atau tidak (eksternal)
+     */
+    private void finishAttempt(Link link, boolean isParseDoc) {
+        // Catat total waktu sejak percobaan pertama
+        link.setElapsedTime(System.currentTimeMillis() - link.getFirstAttemptTime());
+
+        if (!isStopped && retryPolicy.shouldRetry(link)) {
+            scheduleRetry(link, isParseDoc);
+            return;
+        }
+
+        // Kegagalan baru dihitung circuit breaker setelah jatah percobaan ulang habis. Request yang berakhir
+        // tanpa response karena dihentikan atau dibatalkan tidak dihitung, tapi request percobaan yang
+        // berakhir begitu tetap mengembalikan circuit ke OPEN
+        if (link.getStatusCode() == 0 && hasCircuitBreaker(link)) {
+            if (!isStopped && !link.getError().isEmpty()) {
+                getCircuitBreaker(link).onFailure(link.getError());
+            } else {
+                getCircuitBreaker(link).onAborted();
+            }
+        }
+
+        publish(link, isParseDoc);
+    }
+
+    /**
+     * Method untuk menjadwalkan percobaan ulang tanpa menahan worker/thread mana pun.
+     *
+     * Link eksternal dimasukkan kembali ke antrean host-nya dan baru diperiksa setelah jeda backoff.
+     * Link halaman masuk lagi ke frontier setelah jeda backoff, dan selama menunggu tetap dihitung
+     * sebagai pekerjaan tertunda supaya crawling tidak dianggap selesai.
+     *
+     * @param link       : objek Link yang akan diperiksa ulang
+     * @param isParseDoc : apakah link diperiksa sebagai halaman (internal) atau tidak (eksternal)
+     */
+    private void scheduleRetry(Link link, boolean isParseDoc) {
+        // Hitung jeda backoff. Jeda berjalan di scheduler bawaan, bukan executor crawler, supaya tetap selesai
+        // jika executor sudah dimatikan stop() selama jeda
+        long delay = retryPolicy.nextDelay(link.getAttempts());
+        Executor delayed = CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS);
+
+        // Hapus hasil percobaan sebelumnya
+        link.resetResult();
+
+        if (!isParseDoc) {
+            // Link eksternal (atau halaman yang hanya diperiksa statusnya): jeda berjalan di luar scheduler supaya
+            // slot host dan slot global tidak tertahan, lalu link masuk lagi ke antreannya. Selama jeda tetap
+            // ditunggu sebelum crawling dianggap selesai
+            boolean isExternal = isExternal(link);
+            CompletableFuture<Void> resubmit = CompletableFuture.runAsync(() -> {
+            }, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)).thenRun(() -> {
+                if (isStopped) {
+                    // Percobaan ulang request percobaan circuit breaker tidak jadi dikirim
+                    if (isExternal) {
+                        getCircuitBreaker(link).onAborted();
+                    }
+                    return;
+                }
+                if (isExternal) {
+                    submitExternalCheck(link);
+                } else {
+                    submitStatusCheck(link);
+                }
+            });
+            (isExternal ? externalScheduler : statusScheduler).track(resubmit);
+            return;
+        }
+
+        // Link halaman: hitung sebagai pekerjaan tertunda selama jeda
+        AtomicInteger pending = config.getEngine() == CrawlEngine.ASYNC ? asyncInFlight : pendingPages;
+        pending.incrementAndGet();
+
+        delayed.execute(() -> {
+            try {
+                // Setelah jeda, pindah ke executor crawler
+                executor.execute(() -> {
+                    // Masukkan kembali ke frontier (tetap di memori supaya jumlah percobaan tidak hilang)
+                    frontier.offerInMemory(link);
+
+                    if (config.getEngine() == CrawlEngine.ASYNC) {
+                        // Lepas slot lalu kirim request berikutnya
+                        asyncInFlight.decrementAndGet();
+                        dispatchAsync();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Executor sudah dimatikan, batalkan percobaan ulang
+                pending.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Method untuk menyimpan link hasil pemeriksaan ke repository dan mengirimnya ke receiver.
+     *
+     * @param link       : objek Link yang sudah diperiksa
+     * @param isParseDoc : apakah link diperiksa sebagai halaman (internal) atau tidak (eksternal)
+     */
+    private void publish(Link link, boolean isParseDoc) {
+        // Masukkan link ke repository jika belum ada
+        Link existing = repositories.putIfAbsent(link.getUrl(), link);
+
+        // Link sudah selesai diperiksa, sumber halaman berikutnya ditambahkan lewat repositories
+        pendingLinks.remove(link.getUrl(), link);
+
+        // Bagikan hasil pemeriksaan link eksternal ke crawler lain. Hasil setelah stop() bisa berasal dari
+        // request yang diputus, jadi crawler lain memeriksa sendiri
+        CompletableFuture<Link> verdict = ownedVerdicts.remove(link.getUrl());
+        if (verdict != null) {
+            if (isStopped) {
+                verdict.completeExceptionally(new CancellationException("Crawler stopped"));
+            } else {
+                verdict.complete(link);
+            }
+        }
+
+        // Jika ini link baru, catat ke checkpoint lalu kirim ke receiver (MainController).
+        // Halaman yang di-crawl dicatat di finishWebpage setelah link di dalamnya masuk antrean
+        if (existing == null) {
+            if (!isParseDoc || !link.isWebpage()) {
+                writeDone(link);
+            }
+            receiver.receive(link);
+        }
+
+        // Simpan hasil pemeriksaan link eksternal ke cache. Hasil dari cache, circuit breaker, atau robots.txt
+        // bukan hasil request baru, dan hasil setelah stop() bisa berasal dari request yang diputus
+        if (!isParseDoc && isExternal(link) && verdictCache != null && !isStopped
+                && !link.getCheckMethod().equals(METHOD_CACHED) && !link.getCheckMethod().equals(METHOD_CIRCUIT_OPEN)
+                && !link.getCheckMethod().equals(METHOD_ROBOTS_DISALLOWED)) {
+            verdictCache.put(link);
+        }
+    }
+
+    /**
+     * Method untuk mengambil exception asli yang dibungkus CompletionException/ExecutionException.
+     *
+     * @param e : exception dari CompletableFuture
+     * @return exception penyebab sebenarnya
+     */
+    private static Throwable unwrap(Throwable e) {
+        while ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) {
+            e = e.getCause();
+        }
+
+        return e;
+    }
+
+    /**
+     * Method untuk mengambil charset dari header Content-Type.
+     *
+     * @param contentType : nilai header Content-Type (misalnya "text/html; charset=utf-8")
+     * @return nama charset jika valid, null supaya Jsoup mendeteksi sendiri dari dokumen
+     */
+    private String getCharset(String contentType) {
+        for (String part : contentType.split(";")) {
+            String param = part.trim();
+
+            if (param.startsWith("charset=")) {
+                // Buang tanda kutip di sekitar nama charset
+                String charset = param.substring("charset=".length()).replace("\"", "").trim();
+
+                try {
+                    return Charset.isSupported(charset) ? charset : null;
+                } catch (IllegalArgumentException e) {
+                    // Nama charset tidak valid
+                    return null;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Method untuk membangun HTTP request dasar (URL, metode, User-Agent dan timeout).
+     *
+     * @param link   : objek Link yang akan diperiksa
+     * @param method : metode HTTP (GET atau HEAD)
+     * @return builder request yang masih bisa ditambah header lain
+     */
+    private HttpRequest.Builder buildRequest(Link link, String method) {
+        return HttpRequest.newBuilder()
+                // URL target
+                .uri(URI.create(link.getUrl()))
+                // Metode HTTP tanpa body request
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                // Header User Agent
+                .header("User-Agent", config.getUserAgent())
+                // Request Timeout
+                .timeout(Duration.ofMillis(config.getRequestTimeout()));
+    }
+
+    /**
+     * Method untuk membangun request GET halaman internal.
+     * Jika halaman tersimpan di cache, validatornya dikirim supaya server cukup menjawab 304 jika halaman tidak berubah.
+     *
+     * @param link : objek Link halaman yang akan diperiksa
+     * @return request GET halaman
+     */
+    private HttpRequest buildPageRequest(Link link) {
+        HttpRequest.Builder req = buildRequest(link, METHOD_GET);
+
+        PageCache.Page page = getCachedPage(link);
+        if (page != null) {
+            if (!page.getEtag().isEmpty()) {
+                req.header("If-None-Match", page.getEtag());
+            }
+            if (!page.getLastModified().isEmpty()) {
+                req.header("If-Modified-Since", page.getLastModified());
+            }
+        }
+
+        return req.build();
+    }
+
+    /**
+     * @param link : objek Link halaman
+     * @return data halaman dari crawling sebelumnya yang masih berlaku untuk pengaturan saat ini, atau null
+     */
+    private PageCache.Page getCachedPage(Link link) {
+        return pageCache != null ? pageCache.get(link.getUrl(), config.getMaxBodySize()) : null;
+    }
+
+    /**
+     * Method untuk memeriksa link eksternal dengan HEAD terlebih dahulu.
+     *
+     * Jika server menolak HEAD atau jawabannya tidak bisa dipercaya, pemeriksaan diulang dengan
+     * GET yang hanya meminta byte pertama (Range: bytes=0-0) dan stream body langsung ditutup,
+     * sehingga server yang mengabaikan Range pun tidak sempat mengirim seluruh body. Jika server
+     * menolak Range dengan 416 (misalnya body kosong), GET diulang sekali tanpa Range.
+     *
+     * @param link : objek Link yang akan diperiksa
+     * @return response terakhir yang dipakai sebagai hasil pemeriksaan
+     */
+    private HttpResponse<?> sendHeadFirst(Link link) throws IOException, InterruptedException {
+        // Kirim HEAD, response tidak punya body
+        HttpResponse<Void> head = httpClient.send(buildRequest(link, METHOD_HEAD).build(), HttpResponse.BodyHandlers.discarding());
+
+        // Jika jawaban HEAD bisa dipercaya, pakai hasilnya
+        if (!isHeadUnreliable(head.statusCode())) {
+            link.setCheckMethod(METHOD_HEAD);
+            return head;
+        }
+
+        // Fallback: GET dengan Range hanya untuk byte pertama
+        HttpResponse<InputStream> res = httpClient.send(buildProbeRequest(link, true), HttpResponse.BodyHandlers.ofInputStream());
+
+        // Tutup stream body secepatnya supaya sisa body tidak diunduh
+        res.body().close();
+        link.setCheckMethod(METHOD_RANGE_GET);
+
+        // 416 hanya berarti Range ditolak, bukan halaman rusak: ulangi tanpa Range
+        if (res.statusCode() == 416) {
+            res = httpClient.send(buildProbeRequest(link, false), HttpResponse.BodyHandlers.ofInputStream());
+            res.body().close();
+            link.setCheckMethod(METHOD_GET);
+        }
+
+        return res;
+    }
+
+    /**
+     * [Engine ASYNC] Versi asinkron dari sendHeadFirst(): HEAD dulu, lalu GET dengan Range jika perlu.
+     *
+     * @param link : objek Link yang akan diperiksa
+     * @return future berisi response terakhir yang dipakai sebagai hasil pemeriksaan
+     */
+    private CompletableFuture<HttpResponse<?>> sendHeadFirstAsync(Link link) {
+        return httpClient.sendAsync(buildRequest(link, METHOD_HEAD).build(), HttpResponse.BodyHandlers.discarding()).thenCompose(head -> {
+            // Jika jawaban HEAD bisa dipercaya, pakai hasilnya
+            if (!isHeadUnreliable(head.statusCode())) {
+                link.setCheckMethod(METHOD_HEAD);
+                return CompletableFuture.completedFuture(head);
+            }
+
+            // Fallback: GET dengan Range hanya untuk byte pertama
+            return sendProbeAsync(link, true).thenCompose(res -> {
+                // 416 hanya berarti Range ditolak, bukan halaman rusak: ulangi tanpa Range
+                if (res.statusCode() != 416) {
+                    link.setCheckMethod(METHOD_RANGE_GET);
+                    return CompletableFuture.completedFuture(res);
+                }
+
+                return sendProbeAsync(link, false).thenApply(plain -> {
+                    link.setCheckMethod(METHOD_GET);
+                    return plain;
+                });
+            });
+        });
+    }
+
+    /**
+     * [Engine ASYNC] Method untuk mengirim GET fallback dan langsung menutup stream body-nya.
+     *
+     * @param link     : objek Link yang akan diperiksa
+     * @param isRanged : apakah hanya byte pertama yang diminta
+     * @return future berisi response GET
+     */
+    private CompletableFuture<HttpResponse<?>> sendProbeAsync(Link link, boolean isRanged) {
+        return httpClient.sendAsync(buildProbeRequest(link, isRanged), HttpResponse.BodyHandlers.ofInputStream()).thenApply(res -> {
+            try {
+                // Tutup stream body secepatnya supaya sisa body tidak diunduh
+                res.body().close();
+            } catch (IOException ignore) {
+                // Gagal menutup stream tidak mengubah hasil pemeriksaan
+            }
+            return res;
+        });
+    }
+
+    /**
+     * Method untuk membangun request GET fallback setelah HEAD.
+     *
+     * @param link     : objek Link yang akan diperiksa
+     * @param isRanged : apakah hanya byte pertama yang diminta (Range: bytes=0-0)
+     * @return request GET
+     */
+    private HttpRequest buildProbeRequest(Link link, boolean isRanged) {
+        HttpRequest.Builder req = buildRequest(link, METHOD_GET);
+        if (isRanged) {
+            req.header("Range", "bytes=0-0");
+        }
+        return req.build();
+    }
+
+    /**
+     * Method untuk menentukan apakah status code dari HEAD perlu dikonfirmasi ulang dengan GET.
+     *
+     * Server yang tidak mendukung HEAD menjawab 405 atau 501. Beberapa server dan WAF juga menolak
+     * HEAD dengan 400 atau 403 padahal GET berhasil. Status lain (termasuk 404, 410, 429, dan 5xx)
+     * dipercaya apa adanya, karena GET hampir selalu memberi jawaban yang sama dan hanya menambah
+     * satu request ke host yang mungkin sedang bermasalah.
+     *
+     * @param statusCode : status code dari response HEAD
+     * @return true jika perlu fallback ke GET
+     */
+    private static boolean isHeadUnreliable(int statusCode) {
+        return statusCode == 400 || statusCode == 403 || statusCode == 405 || statusCode == 501;
+    }
+
+    /**
+     * Method untuk mengecek apakah link di halaman tidak boleh diikuti, lewat
+     * meta robots (misalnya &lt;meta name="robots" content="nofollow"&gt;) atau header X-Robots-Tag.
+     *
+     * @param html : dokumen HTML hasil parsing
+     * @param res  : response HTTP halaman
+     * @return true jika halaman ditandai nofollow
+     */
+    private static boolean hasNofollow(Document html, HttpResponse<?> res) {
+        List<String> directives = new ArrayList<>(res.headers().allValues("X-Robots-Tag"));
+        for (Element meta : html.select("meta[name=robots]")) {
+            directives.add(meta.attr("content"));
+        }
+
+        for (String directive : directives) {
+            for (String value : directive.toLowerCase(Locale.ROOT).split("[,\\s]+")) {
+                if (value.equals("nofollow") || value.equals("none")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Method untuk mencari halaman asli jika halaman ini duplikat.
+     *
+     * Halaman dianggap duplikat jika &lt;link rel="canonical"&gt; menunjuk halaman lain di host yang sama,
+     * atau jika sidik jari teksnya sama dengan halaman yang sudah diproses lebih dulu. Sidik jari halaman
+     * ini juga dicatat, supaya salinan berikutnya dianggap duplikat dari halaman yang sama.
+     *
+     * @param link          : link halaman yang sudah diambil
+     * @param canonicalHref : href absolut canonical, string kosong jika tidak ada
+     * @param fingerprint   : sidik jari teks halaman, string kosong jika tidak dihitung
+     * @return URL halaman asli, atau null jika halaman ini bukan duplikat
+     */
+    private String findOriginal(Link link, String canonicalHref, String fingerprint) {
+        String original = null;
+
+        String canonicalUrl = canonicalHref.isEmpty() ? null : UrlHandler.normalizeUrl(canonicalHref, false);
+        if (canonicalUrl != null) {
+            canonicalUrl = canonicalizer.canonicalize(canonicalUrl);
+            String finalUrl = UrlHandler.normalizeUrl(link.getFinalUrl(), false);
+
+            // Canonical ke halaman sendiri (termasuk setelah redirect) atau ke host lain bukan duplikat.
+            // Canonical ke halaman yang sudah tercatat duplikat juga diabaikan, supaya canonical yang saling
+            // menunjuk tidak membuat link di kedua halaman terlewat
+            Link target = repositories.get(canonicalUrl);
+            if (!canonicalUrl.equals(link.getUrl())
+                    && (finalUrl == null || !canonicalUrl.equals(canonicalizer.canonicalize(finalUrl)))
+                    && UrlHandler.getHost(canonicalUrl).equalsIgnoreCase(rootHost)
+                    && (target == null || target.getDuplicateOf().isEmpty())) {
+                original = canonicalUrl;
+            }
+        }
+
+        // Sidik jari dari teks halaman
+        if (!fingerprint.isEmpty()) {
+            String existing = pageFingerprints.putIfAbsent(fingerprint, original != null ? original : link.getUrl());
+            if (original == null && existing != null && !existing.equals(link.getUrl())) {
+                original = existing;
+            }
+        }
+
+        return original;
+    }
+
+    /**
+     * Method untuk membuat sidik jari teks halaman (128 bit pertama SHA-256).
+     *
+     * @param text : teks halaman yang spasinya sudah dinormalisasi
+     * @return sidik jari dalam bentuk hex
+     */
+    private static String fingerprint(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 wajib tersedia di setiap JVM
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Method untuk mengekstrak seluruh link dari dokumen HTML tanpa normalisasi.
+     *
+     * @param html dokumen HTML hasil parsing
+     * @return pasangan {href absolut, anchor text} sesuai urutan di halaman
+     */
+    private static List<String[]> extractHrefs(Document html) {
+        List<String[]> result = new ArrayList<>();
+
+        // Ambil semua elemen <a href>
+        for (Element a : html.select("a[href]")) {
+            // Ambil URL absolut dari atribut href
+            String absoluteUrl = a.absUrl("href");
+
+            // Jika URL kosong, skip
+            if (absoluteUrl.isEmpty()) {
+                continue;
+            }
+
+            result.add(new String[]{absoluteUrl, a.text().trim()});
+        }
+
+        return result;
+    }
+
+    /**
+     * Method untuk melihat crawler trap yang ditemukan selama crawling.
+     *
+     * @return trap yang ditemukan, diurutkan dari yang paling banyak menghentikan halaman
+     */
+    public List<TrapDetector.Trap> getTraps() {
+        TrapDetector detector = trapDetector;
+        return detector == null ? List.of() : detector.getTraps();
+    }
+
+    /**
+     * Method untuk melihat laju request saat ini untuk setiap host.
+     *
+     * @return map host ke laju request/detik (Infinity jika tanpa batas)
+     */
+    public Map<String, Double> getHostRates() {
+        Map<String, Double> result = new TreeMap<>();
+
+        for (var entry : rateLimiters.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getRate());
         }
 
         return result;
@@ -3,6 +3,7 @@ package com.unpar.brokenlinkscanner.services;
 import com.unpar.brokenlinkscanner.models.Link;
 import com.unpar.brokenlinkscanner.models.Summary;
 import com.unpar.brokenlinkscanner.utils.ErrorHandler;
+import com.unpar.brokenlinkscanner.utils.TrapDetector;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.xssf.usermodel.XSSFColor;
@@ -22,6 +23,7 @@ import java.util.*;
 public class Exporter {
     private final List<Link> brokenLinks;
     private final Summary summary;
+    private final List<TrapDetector.Trap> traps;
 
     private CellStyle headerStyle;
     private CellStyle oddRowStyle;
@@ -30,9 +32,14 @@ public class Exporter {
     private CellStyle emptyStyle;
 
     public Exporter( Summary summary, List<Link> data) {
+        this(summary, data, List.of());
+    }
+
+    public Exporter(Summary summary, List<Link> data, List<TrapDetector.Trap> traps) {
         this.summary = summary;
         this.brokenLinks = new ArrayList<>(data);
         this.brokenLinks.sort(Comparator.comparingInt(a -> a.getWebpageSources().size()));
+        this.traps = new ArrayList<>(traps);
     }
 
     public void save(File file) throws IOException {
@@ -51,6 +58,11 @@ public class Exporter {
             Sheet brokenLinkSheet = workbook.createSheet("Broken Links");
             writeBrokenLinkTable(brokenLinkSheet);
 
+            if (!traps.isEmpty()) {
+                Sheet trapSheet = workbook.createSheet("Crawler Traps");
+                writeTrapTable(trapSheet);
+            }
+
             try (FileOutputStream fos = new FileOutputStream(file)) {
                 workbook.write(fos);
             }
@@ -96,6 +108,7 @@ public class Exporter {
         summaryMap.put("All Links",     String.valueOf(summary.getAllLinksCount()));
         summaryMap.put("Webpage Links", String.valueOf(summary.getWebpages()));
         summaryMap.put("Broken Links",  String.valueOf(summary.getBrokenLinksCount()));
+        summaryMap.put("Duplicate Pages", String.valueOf(summary.getDuplicatesCount()));
         summaryMap.put("Start Time",    startTimeStr);
         summaryMap.put("End Time",      endTimeStr);
         summaryMap.put("Duration",      durationStr);
@@ -317,6 +330,39 @@ public class Exporter {
         sheet.setColumnWidth(columnList.size(), 20000);
     }
 
+    private void writeTrapTable(Sheet sheet) {
+
+        List<String> columnList = List.of("URL Pattern", "Reason", "Skipped Pages");
+
+        // ================= HEADER TABLE =================
+        Row headerRow = sheet.createRow(0);
+        headerRow.setHeightInPoints(25);
+
+        for (int i = 0; i < columnList.size(); i++) {
+            createTableCell(headerRow, i, columnList.get(i), headerStyle);
+        }
+
+        // ================= BODY TABLE =================
+        int rowIndex = 1;
+
+        for (TrapDetector.Trap trap : traps) {
+            Row row = sheet.createRow(rowIndex);
+
+            CellStyle style = (rowIndex % 2 == 0) ? evenRowStyle : oddRowStyle;
+
+            createTableCell(row, columnList.indexOf("URL Pattern"), trap.getPattern(), style);
+            createTableCell(row, columnList.indexOf("Reason"), trap.getReason(), style);
+            createTableCell(row, columnList.indexOf("Skipped Pages"), String.valueOf(trap.getSkippedCount()), style);
+
+            rowIndex++;
+        }
+
+        // ================= LEBAR KOLOM =================
+        sheet.setColumnWidth(columnList.indexOf("URL Pattern"), 15000);
+        sheet.setColumnWidth(columnList.indexOf("Reason"), 8000);
+        sheet.setColumnWidth(columnList.indexOf("Skipped Pages"), 5000);
+    }
+
     private void createTableCell(Row row, int col, String value, CellStyle style) {
 
         Cell cell = row.createCell(col);
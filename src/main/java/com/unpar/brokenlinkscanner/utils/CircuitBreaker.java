@@ -0,0 +1,172 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Kelas circuit breaker untuk satu host.
+ *
+ * Setelah sejumlah kegagalan berturut-turut dengan jenis error yang sama (host tidak ditemukan,
+ * koneksi ditolak, atau timeout), circuit menjadi OPEN dan link lain ke host tersebut langsung
+ * diberi error yang sama tanpa mengirim request. Sesekali satu request percobaan (half-open probe)
+ * tetap diizinkan; jika berhasil, circuit kembali CLOSED.
+ */
+public class CircuitBreaker {
+    // Jenis error yang menandakan host mati (sesuai pesan dari ErrorHandler)
+    private static final Set<String> TRIP_ERRORS = Set.of("Host Not Found", "Connection Refused", "Timeout");
+
+    public enum State {
+        // Request dikirim seperti biasa
+        CLOSED,
+        // Request tidak dikirim, link langsung diberi error yang tersimpan
+        OPEN,
+        // Satu request percobaan sedang berjalan
+        HALF_OPEN
+    }
+
+    // Lock untuk mengubah state
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Jumlah kegagalan berturut-turut yang membuat circuit OPEN
+    private final int failureThreshold;
+
+    // Jeda sebelum request percobaan dikirim saat circuit OPEN (milidetik)
+    private final long probeInterval;
+
+    // State circuit saat ini
+    private State state = State.CLOSED;
+
+    // Jumlah kegagalan berturut-turut dengan jenis error yang sama
+    private int consecutiveFailures = 0;
+
+    // Jenis error dari kegagalan terakhir
+    private String lastError = "";
+
+    // Waktu circuit terakhir kali menjadi OPEN
+    private long openedAt = 0;
+
+    /**
+     * @param failureThreshold : jumlah kegagalan berturut-turut yang membuat circuit OPEN
+     * @param probeInterval    : jeda sebelum request percobaan dikirim saat circuit OPEN (milidetik)
+     */
+    public CircuitBreaker(int failureThreshold, long probeInterval) {
+        if (failureThreshold < 1 || probeInterval < 0) {
+            throw new IllegalArgumentException("Invalid circuit breaker settings");
+        }
+
+        this.failureThreshold = failureThreshold;
+        this.probeInterval = probeInterval;
+    }
+
+    /**
+     * Method untuk menentukan apakah request ke host boleh dikirim.
+     *
+     * @return true jika circuit CLOSED, atau jika saatnya mengirim request percobaan
+     */
+    public boolean allowRequest() {
+        lock.lock();
+        try {
+            if (state == State.CLOSED) {
+                return true;
+            }
+
+            // Saat OPEN dan jeda sudah lewat, izinkan satu request percobaan
+            if (state == State.OPEN && System.currentTimeMillis() - openedAt >= probeInterval) {
+                state = State.HALF_OPEN;
+                return true;
+            }
+
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method yang dipanggil saat host memberikan response (apa pun status code-nya).
+     */
+    public void onSuccess() {
+        lock.lock();
+        try {
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            lastError = "";
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method yang dipanggil saat request ke host gagal.
+     *
+     * @param error : pesan error dari ErrorHandler
+     */
+    public void onFailure(String error) {
+        lock.lock();
+        try {
+            // Error lain (SSL, URL tidak valid, dll) tidak menandakan host mati
+            if (!TRIP_ERRORS.contains(error)) {
+                if (state == State.HALF_OPEN) {
+                    state = State.OPEN;
+                    openedAt = System.currentTimeMillis();
+                }
+                return;
+            }
+
+            // Hitung kegagalan berturut-turut dengan jenis error yang sama
+            consecutiveFailures = error.equals(lastError) ? consecutiveFailures + 1 : 1;
+            lastError = error;
+
+            // Request percobaan gagal atau batas tercapai, circuit menjadi OPEN
+            if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                state = State.OPEN;
+                openedAt = System.currentTimeMillis();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method yang dipanggil saat request ke host berakhir tanpa response dan tanpa error yang bisa dinilai
+     * (crawling dihentikan atau request dibatalkan).
+     *
+     * Jika request percobaan sedang berjalan, circuit kembali OPEN dan jeda percobaan dimulai lagi,
+     * supaya circuit tidak tertahan di HALF_OPEN dan request percobaan berikutnya tetap dikirim.
+     */
+    public void onAborted() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                state = State.OPEN;
+                openedAt = System.currentTimeMillis();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return error yang diberikan ke link saat circuit OPEN
+     */
+    public String getCachedError() {
+        lock.lock();
+        try {
+            return lastError;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return state circuit saat ini
+     */
+    public State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import com.unpar.brokenlinkscanner.models.Link;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UTFDataFormatException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Kelas journal (checkpoint) crawling yang ditulis secara append-only ke file lokal.
+ *
+ * Setiap kejadian penting dicatat sebagai satu record: link masuk antrean, sumber halaman baru,
+ * dan hasil pemeriksaan link. Record ditampung di buffer lalu ditulis ke disk secara berkala,
+ * jadi saat crawling dihentikan, aplikasi ditutup, atau JVM mati, crawling bisa dilanjutkan
+ * dari record terakhir yang sudah tersimpan. Journal dihapus setelah crawling selesai normal.
+ *
+ * Format record: [byte jenis][short jumlah field][field dengan format writeUTF]...
+ */
+public class CrawlJournal implements AutoCloseable {
+    // Awal crawling: {seedUrl}
+    public static final byte HEADER = 'H';
+    // Link halaman masuk frontier: {url, depth, sourceUrl, anchorText}
+    public static final byte QUEUED_PAGE = 'Q';
+    // Link eksternal dijadwalkan untuk diperiksa: {url, depth, sourceUrl, anchorText}
+    public static final byte QUEUED_EXTERNAL = 'E';
+    // Sumber halaman baru untuk link yang sudah ditemukan: {url, sourceUrl, anchorText}
+    public static final byte SOURCE = 'S';
+    // Hasil pemeriksaan link: {url, finalUrl, statusCode, contentType, error, isWebpage, checkMethod, attempts, elapsedTime, depth, isTruncated, duplicateOf}
+    public static final byte DONE = 'D';
+
+    // Batas panjang anchor text yang disimpan
+    private static final int MAX_ANCHOR_LENGTH = 1000;
+
+    // Lock untuk menulis record
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Lokasi file journal
+    private final Path file;
+
+    // Jarak waktu minimal antar flush ke disk (milidetik)
+    private final long flushInterval;
+
+    // Stream untuk menulis record
+    private DataOutputStream out;
+
+    // Buffer untuk menyusun satu record sebelum ditulis
+    private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream();
+    private final DataOutputStream recordOut = new DataOutputStream(recordBuffer);
+
+    // Waktu flush terakhir
+    private long lastFlush;
+
+    /**
+     * @param file          : lokasi file journal
+     * @param flushInterval : jarak waktu minimal antar flush ke disk (milidetik)
+     */
+    public CrawlJournal(Path file, long flushInterval) {
+        this.file = file;
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * Method untuk membuka journal baru (isi lama dihapus) dan mencatat seed URL.
+     *
+     * @param seedUrl : URL awal crawling
+     * @throws UncheckedIOException jika file gagal dibuka
+     */
+    public void create(String seedUrl) {
+        lock.lock();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)));
+            lastFlush = System.currentTimeMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create checkpoint file", e);
+        } finally {
+            lock.unlock();
+        }
+
+        write(HEADER, seedUrl);
+        flush();
+    }
+
+    /**
+     * Method untuk membuka journal yang sudah ada untuk ditambah record baru.
+     * Record terakhir yang terpotong (misalnya karena JVM mati saat menulis) dibuang lebih dulu.
+     *
+     * @param validLength : panjang bagian file yang berisi record utuh (hasil dari replay)
+     * @throws UncheckedIOException jika file gagal dibuka
+     */
+    public void reopen(long validLength) {
+        lock.lock();
+        try {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+            }
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.APPEND)));
+            lastFlush = System.currentTimeMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open checkpoint file", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method untuk mencatat link yang masuk antrean pemeriksaan.
+     *
+     * @param link   : link yang baru ditemukan (sumber pertamanya ikut dicatat)
+     * @param isPage : true untuk link halaman (frontier), false untuk link eksternal
+     */
+    public void writeQueued(Link link, boolean isPage) {
+        String sourceUrl = "";
+        String anchorText = "";
+        for (var source : link.getWebpageSources().entrySet()) {
+            sourceUrl = source.getKey().getUrl();
+            anchorText = source.getValue();
+            break;
+        }
+
+        write(isPage ? QUEUED_PAGE : QUEUED_EXTERNAL, link.getUrl(), String.valueOf(link.getDepth()), sourceUrl, limitAnchor(anchorText));
+    }
+
+    /**
+     * Method untuk mencatat sumber halaman baru untuk link yang sudah ditemukan.
+     */
+    public void writeSource(String url, String sourceUrl, String anchorText) {
+        write(SOURCE, url, sourceUrl, limitAnchor(anchorText));
+    }
+
+    /**
+     * Method untuk mencatat hasil pemeriksaan link.
+     *
+     * @param link : link yang sudah selesai diperiksa
+     */
+    public void writeDone(Link link) {
+        write(DONE, link.getUrl(), link.getFinalUrl(), String.valueOf(link.getStatusCode()), link.getContentType(), link.getError(), String.valueOf(link.isWebpage()), link.getCheckMethod(), String.valueOf(link.getAttempts()), String.valueOf(link.getElapsedTime()), String.valueOf(link.getDepth()), String.valueOf(link.isTruncated()), link.getDuplicateOf());
+    }
+
+    /**
+     * Method untuk mengubah record DONE kembali menjadi Link dengan hasil pemeriksaannya.
+     *
+     * @param fields : isi record DONE
+     * @return objek Link (tanpa sumber halaman)
+     */
+    public static Link toDoneLink(String[] fields) {
+        Link link = new Link(fields[0]);
+        link.setFinalUrl(fields[1]);
+        link.setStatusCode(Integer.parseInt(fields[2]));
+        link.setContentType(fields[3]);
+        link.setError(fields[4]);
+        link.setIsWebpage(Boolean.parseBoolean(fields[5]));
+        link.setCheckMethod(fields[6]);
+        link.setAttempts(Integer.parseInt(fields[7]));
+        link.setElapsedTime(Long.parseLong(fields[8]));
+        link.setDepth(Integer.parseInt(fields[9]));
+        link.setIsTruncated(Boolean.parseBoolean(fields[10]));
+        // Checkpoint lama belum punya field duplicateOf
+        if (fields.length > 11) {
+            link.setDuplicateOf(fields[11]);
+        }
+        return link;
+    }
+
+    /**
+     * Method untuk menulis buffer ke disk.
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            if (out != null) {
+                out.flush();
+                lastFlush = System.currentTimeMillis();
+            }
+        } catch (IOException e) {
+            // Checkpoint gagal tidak menghentikan crawling, dicoba lagi di flush berikutnya
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (out != null) {
+                out.close();
+                out = null;
+            }
+        } catch (IOException ignored) {
+            // File tetap bisa dibaca sampai record utuh terakhir
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method untuk menutup lalu menghapus file journal, dipakai setelah crawling selesai normal.
+     */
+    public void delete() {
+        lock.lock();
+        try {
+            close();
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // File yang tersisa hanya membuat tombol Resume melanjutkan crawling yang sudah selesai
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method untuk membaca semua record utuh di journal secara berurutan.
+     *
+     * @param file     : lokasi file journal
+     * @param consumer : penerima (jenis record, isi record)
+     * @return panjang bagian file yang berisi record utuh
+     * @throws IOException jika file gagal dibaca
+     */
+    public static long replay(Path file, BiConsumer<Byte, String[]> consumer) throws IOException {
+        try (CountingInputStream counter = new CountingInputStream(new BufferedInputStream(Files.newInputStream(file)));
+             DataInputStream in = new DataInputStream(counter)) {
+            long validLength = 0;
+
+            while (true) {
+                String[] fields;
+                byte type;
+                try {
+                    int first = in.read();
+                    if (first < 0) {
+                        break;
+                    }
+                    type = (byte) first;
+
+                    fields = new String[in.readShort()];
+                    for (int i = 0; i < fields.length; i++) {
+                        fields[i] = in.readUTF();
+                    }
+                } catch (EOFException | UTFDataFormatException e) {
+                    // Record terakhir terpotong, abaikan
+                    break;
+                }
+
+                validLength = counter.count;
+                consumer.accept(type, fields);
+            }
+
+            return validLength;
+        }
+    }
+
+    private static String limitAnchor(String anchorText) {
+        return anchorText != null && anchorText.length() > MAX_ANCHOR_LENGTH ? anchorText.substring(0, MAX_ANCHOR_LENGTH) : anchorText;
+    }
+
+    /**
+     * Method untuk menulis satu record, lalu flush jika sudah waktunya.
+     * Record disusun utuh di memori dulu, jadi record yang gagal disusun tidak ikut tertulis.
+     */
+    private void write(byte type, String... fields) {
+        lock.lock();
+        try {
+            if (out == null) {
+                return;
+            }
+
+            recordBuffer.reset();
+            recordOut.writeByte(type);
+            recordOut.writeShort(fields.length);
+            for (String field : fields) {
+                recordOut.writeUTF(field == null ? "" : field);
+            }
+            recordBuffer.writeTo(out);
+
+            if (System.currentTimeMillis() - lastFlush >= flushInterval) {
+                out.flush();
+                lastFlush = System.currentTimeMillis();
+            }
+        } catch (IOException e) {
+            // Checkpoint gagal (atau field terlalu panjang) tidak menghentikan crawling
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * InputStream yang menghitung jumlah byte yang sudah dibaca.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        long count = 0;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import com.unpar.brokenlinkscanner.models.Link;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Kelas antrean frontier (FIFO) yang sebagian besar isinya disimpan di disk.
+ *
+ * Hanya bagian depan antrean (head) yang disimpan sebagai objek Link di memori. Jika head penuh,
+ * link berikutnya ditulis ke SpillFile sebagai record ringkas (URL, kedalaman, URL sumber, anchor)
+ * dan objek Link-nya dilepas. Saat head tinggal setengah, record dibaca kembali dan diubah menjadi Link
+ * oleh loader dari Crawler, jadi urutan breadth-first tetap terjaga.
+ */
+public class DiskFrontier {
+    // Batas panjang anchor text yang disimpan di disk
+    private static final int MAX_ANCHOR_LENGTH = 1000;
+
+    // Lock untuk head dan spill
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Sinyal untuk worker yang menunggu antrean terisi
+    private final Condition notEmpty = lock.newCondition();
+
+    // Bagian depan antrean yang disimpan di memori
+    private final Deque<Link> head = new ArrayDeque<>();
+
+    // Sisa antrean di disk
+    private final SpillFile spill;
+
+    // Batas jumlah link di head sebelum link berikutnya ditulis ke disk
+    private final int memoryLimit;
+
+    // Untuk mengubah record dari disk kembali menjadi Link: {url, depth, sourceUrl, anchorText}
+    private final Function<String[], Link> loader;
+
+    /**
+     * @param memoryLimit : batas jumlah link yang disimpan di memori
+     * @param spillDir    : direktori untuk file spill (null = direktori temporary sistem)
+     * @param loader      : pengubah record {url, depth, sourceUrl, anchorText} menjadi Link
+     */
+    public DiskFrontier(int memoryLimit, Path spillDir, Function<String[], Link> loader) {
+        if (memoryLimit < 1) {
+            throw new IllegalArgumentException("Memory limit must be at least 1");
+        }
+
+        this.memoryLimit = memoryLimit;
+        this.spill = new SpillFile(spillDir, "blc-frontier-");
+        this.loader = loader;
+    }
+
+    /**
+     * Method untuk memasukkan link ke antrean paling belakang.
+     *
+     * @param link : link halaman yang akan di-crawl
+     * @return true jika link disimpan di memori, false jika ditulis ke disk (objek Link tidak dipakai lagi)
+     */
+    public boolean offer(Link link) {
+        lock.lock();
+        try {
+            // Selama masih ada record di disk, link baru juga ke disk supaya urutan FIFO terjaga
+            if (head.size() < memoryLimit && spill.isEmpty()) {
+                head.addLast(link);
+                notEmpty.signal();
+                return true;
+            }
+
+            spill.append(toRecord(link));
+            notEmpty.signal();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method untuk memasukkan link ke memori tanpa pernah ditulis ke disk
+     * (misalnya link yang dicoba ulang, karena status percobaannya harus tetap tersimpan).
+     *
+     * @param link : link halaman yang akan di-crawl
+     */
+    public void offerInMemory(Link link) {
+        lock.lock();
+        try {
+            head.addLast(link);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method untuk mengambil link paling depan tanpa menunggu.
+     *
+     * @return link paling depan, atau null jika antrean kosong
+     */
+    public Link poll() {
+        lock.lock();
+        try {
+            return pollHead();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method untuk mengambil link paling depan, menunggu paling lama timeout jika antrean kosong.
+     *
+     * @return link paling depan, atau null jika antrean tetap kosong sampai timeout
+     * @throws InterruptedException jika thread di-interrupt saat menunggu
+     */
+    public Link poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+
+        lock.lockInterruptibly();
+        try {
+            while (head.isEmpty() && spill.isEmpty()) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return pollHead();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return true jika tidak ada link di memori maupun di disk
+     */
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return head.isEmpty() && spill.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return jumlah link di memori dan di disk
+     */
+    public long size() {
+        lock.lock();
+        try {
+            return head.size() + spill.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method untuk mengosongkan antrean dan menghapus file spill.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            head.clear();
+            spill.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method untuk mengambil link dari head, lalu mengisi ulang head dari disk jika tinggal setengah.
+     * Dipanggil saat lock dipegang.
+     */
+    private Link pollHead() {
+        if (head.size() <= memoryLimit / 2) {
+            String[] record;
+            while (head.size() < memoryLimit && (record = spill.poll()) != null) {
+                head.addLast(loader.apply(record));
+            }
+        }
+
+        return head.pollFirst();
+    }
+
+    /**
+     * Method untuk mengubah Link menjadi record ringkas. Dari sumber halaman hanya satu yang disimpan
+     * (sumber pertama), karena link di frontier baru saja ditemukan dari satu halaman.
+     */
+    private static String[] toRecord(Link link) {
+        String sourceUrl = "";
+        String anchorText = "";
+
+        for (Map.Entry<Link, String> source : link.getWebpageSources().entrySet()) {
+            sourceUrl = source.getKey().getUrl();
+            anchorText = source.getValue();
+            break;
+        }
+
+        if (anchorText != null && anchorText.length() > MAX_ANCHOR_LENGTH) {
+            anchorText = anchorText.substring(0, MAX_ANCHOR_LENGTH);
+        }
+
+        return new String[]{link.getUrl(), String.valueOf(link.getDepth()), sourceUrl, anchorText};
+    }
+}
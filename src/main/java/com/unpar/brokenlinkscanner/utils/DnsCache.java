@@ -0,0 +1,251 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.net.spi.InetAddressResolver;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Kelas resolver DNS dengan cache di dalam proses.
+ *
+ * HttpClient tidak menyediakan resolver per client, jadi kelas ini dipasang sebagai resolver sistem
+ * lewat DnsCacheProvider dan semua resolusi nama di JVM melewatinya. Cache hanya berlaku selama ada
+ * sesi yang terbuka (satu sesi per crawling yang berjalan); tanpa sesi, setiap lookup langsung diteruskan
+ * ke resolver bawaan JDK tanpa disimpan, dan isi cache dibuang.
+ *
+ * Selama sesi terbuka, hasil berhasil disimpan selama TTL positif, host yang tidak ditemukan disimpan
+ * selama TTL negatif, dan beberapa thread yang mencari host yang sama hanya memicu satu lookup. Jika
+ * beberapa sesi terbuka bersamaan, TTL terpendek yang dipakai, jadi tidak ada crawling yang mendapat
+ * hasil lebih lama dari pengaturannya sendiri. Jumlah entri dibatasi: jika batas terlewati, entri yang
+ * kedaluwarsa dibuang lebih dulu, lalu entri yang paling lama di-resolve.
+ */
+public class DnsCache implements InetAddressResolver {
+    // Jumlah thread untuk prefetch. Lookup DNS adalah panggilan native yang memblokir carrier
+    // virtual thread, jadi prefetch memakai platform thread sendiri
+    private static final int PREFETCH_THREADS = 8;
+
+    // Jumlah maksimal entri cache
+    private static final int MAX_ENTRIES = 10_000;
+
+    // Lama thread prefetch boleh menganggur sebelum dihentikan (detik)
+    private static final long PREFETCH_KEEP_ALIVE = 30;
+
+    // Thread pool untuk resolusi host di background. Thread baru dibuat saat ada prefetch
+    // dan dihentikan lagi setelah menganggur
+    private static final ThreadPoolExecutor PREFETCH_POOL = new ThreadPoolExecutor(PREFETCH_THREADS, PREFETCH_THREADS,
+            PREFETCH_KEEP_ALIVE, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+        Thread t = new Thread(r, "dns-prefetch");
+        t.setDaemon(true);
+        return t;
+    });
+
+    static {
+        PREFETCH_POOL.allowCoreThreadTimeOut(true);
+    }
+
+    // Sesi yang sedang terbuka, masing-masing membawa TTL dari pengaturan crawling-nya
+    private static final Set<Session> SESSIONS = ConcurrentHashMap.newKeySet();
+
+    // Resolver bawaan JDK yang dipakai untuk lookup sebenarnya
+    private final InetAddressResolver builtinResolver;
+
+    // Cache hasil resolusi berdasarkan nama host dan jenis alamat yang diminta
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Sesi cache DNS milik satu crawling. Cache berlaku sejak sesi dibuka sampai ditutup.
+     */
+    public static final class Session implements AutoCloseable {
+        // Lama hasil resolusi berhasil disimpan (milidetik)
+        private final long positiveTtl;
+
+        // Lama host yang tidak ditemukan disimpan (milidetik)
+        private final long negativeTtl;
+
+        private Session(long positiveTtl, long negativeTtl) {
+            this.positiveTtl = positiveTtl;
+            this.negativeTtl = negativeTtl;
+        }
+
+        /**
+         * Method untuk menutup sesi. Jika tidak ada sesi lain yang terbuka, cache tidak dipakai lagi.
+         */
+        @Override
+        public void close() {
+            SESSIONS.remove(this);
+        }
+    }
+
+    /**
+     * Satu entri cache. Hasil berupa future agar thread lain yang meminta host yang sama
+     * cukup menunggu lookup yang sedang berjalan.
+     */
+    private static class Entry {
+        final CompletableFuture<InetAddress[]> result = new CompletableFuture<>();
+
+        // Waktu lookup selesai; selama lookup berjalan entri tidak pernah kedaluwarsa
+        volatile long resolvedAt = Long.MAX_VALUE;
+
+        // Apakah host tidak ditemukan
+        volatile boolean isNotFound;
+
+        boolean isExpired(long positiveTtl, long negativeTtl) {
+            long age = System.currentTimeMillis() - resolvedAt;
+            return age >= (isNotFound ? negativeTtl : positiveTtl);
+        }
+    }
+
+    DnsCache(InetAddressResolver builtinResolver) {
+        this.builtinResolver = builtinResolver;
+    }
+
+    /**
+     * Method untuk membuka sesi cache DNS selama satu crawling berjalan.
+     *
+     * @param positiveMillis : lama hasil berhasil disimpan (milidetik)
+     * @param negativeMillis : lama host tidak ditemukan disimpan (milidetik)
+     * @return sesi yang harus ditutup setelah crawling selesai
+     */
+    public static Session openSession(long positiveMillis, long negativeMillis) {
+        if (positiveMillis < 0 || negativeMillis < 0) {
+            throw new IllegalArgumentException("TTL must not be negative");
+        }
+
+        Session session = new Session(positiveMillis, negativeMillis);
+        SESSIONS.add(session);
+        return session;
+    }
+
+    @Override
+    public Stream<InetAddress> lookupByName(String host, LookupPolicy lookupPolicy) throws UnknownHostException {
+        // Tanpa sesi yang terbuka, teruskan ke resolver bawaan dan buang sisa cache crawling sebelumnya
+        if (SESSIONS.isEmpty()) {
+            if (!cache.isEmpty()) {
+                cache.clear();
+            }
+            return builtinResolver.lookupByName(host, lookupPolicy);
+        }
+
+        // TTL terpendek dari semua sesi yang terbuka
+        long positiveTtl = Long.MAX_VALUE;
+        long negativeTtl = Long.MAX_VALUE;
+        for (Session session : SESSIONS) {
+            positiveTtl = Math.min(positiveTtl, session.positiveTtl);
+            negativeTtl = Math.min(negativeTtl, session.negativeTtl);
+        }
+
+        String key = host.toLowerCase() + "#" + lookupPolicy.characteristics();
+
+        while (true) {
+            Entry entry = cache.get(key);
+
+            if (entry == null || entry.isExpired(positiveTtl, negativeTtl)) {
+                // Coba jadi thread yang melakukan lookup; jika kalah cepat, ulangi dan tunggu hasil thread lain
+                Entry fresh = new Entry();
+                boolean isOwner = entry == null ? cache.putIfAbsent(key, fresh) == null : cache.replace(key, entry, fresh);
+                if (!isOwner) {
+                    continue;
+                }
+
+                resolve(key, fresh, host, lookupPolicy);
+                entry = fresh;
+
+                if (cache.size() > MAX_ENTRIES) {
+                    evict(positiveTtl, negativeTtl);
+                }
+            }
+
+            try {
+                return Arrays.stream(entry.result.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof UnknownHostException) {
+                    throw new UnknownHostException(e.getCause().getMessage());
+                }
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public String lookupByAddress(byte[] addr) throws UnknownHostException {
+        return builtinResolver.lookupByAddress(addr);
+    }
+
+    /**
+     * Method untuk melakukan lookup dengan resolver bawaan lalu mengisi entri cache.
+     */
+    private void resolve(String key, Entry entry, String host, LookupPolicy lookupPolicy) {
+        try {
+            InetAddress[] addresses = builtinResolver.lookupByName(host, lookupPolicy).toArray(InetAddress[]::new);
+            entry.resolvedAt = System.currentTimeMillis();
+            entry.result.complete(addresses);
+        } catch (UnknownHostException e) {
+            entry.isNotFound = true;
+            entry.resolvedAt = System.currentTimeMillis();
+            entry.result.completeExceptionally(e);
+        } catch (RuntimeException e) {
+            // Error lain tidak disimpan, lookup berikutnya dicoba lagi
+            cache.remove(key, entry);
+            entry.result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Method untuk membuang entri sampai jumlahnya kembali di bawah batas. Entri yang kedaluwarsa dibuang
+     * lebih dulu, lalu entri yang sudah selesai dan paling lama di-resolve. Entri yang lookup-nya
+     * masih berjalan tidak dibuang supaya thread yang menunggu tetap memakai lookup yang sama.
+     */
+    private void evict(long positiveTtl, long negativeTtl) {
+        cache.values().removeIf(entry -> entry.isExpired(positiveTtl, negativeTtl));
+
+        // Sisakan ruang supaya pembuangan tidak terjadi di setiap lookup berikutnya
+        int excess = cache.size() - MAX_ENTRIES * 9 / 10;
+        if (excess <= 0) {
+            return;
+        }
+
+        List<Map.Entry<String, Entry>> done = new ArrayList<>();
+        for (Map.Entry<String, Entry> e : cache.entrySet()) {
+            if (e.getValue().result.isDone()) {
+                done.add(e);
+            }
+        }
+
+        done.sort(Comparator.comparingLong(e -> e.getValue().resolvedAt));
+        for (int i = 0; i < excess && i < done.size(); i++) {
+            cache.remove(done.get(i).getKey(), done.get(i).getValue());
+        }
+    }
+
+    /**
+     * Method untuk me-resolve host di background agar alamatnya sudah ada di cache
+     * saat request pertama ke host tersebut dikirim. Tanpa sesi yang terbuka, tidak ada yang di-resolve.
+     *
+     * @param host : nama host yang baru ditemukan
+     */
+    public static void prefetch(String host) {
+        if (host == null || host.isBlank() || SESSIONS.isEmpty()) {
+            return;
+        }
+
+        PREFETCH_POOL.execute(() -> {
+            try {
+                InetAddress.getAllByName(host);
+            } catch (UnknownHostException | RuntimeException ignored) {
+                // Hasil (termasuk host tidak ditemukan) sudah tersimpan di cache, error dilaporkan saat request
+            }
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import java.net.spi.InetAddressResolver;
+import java.net.spi.InetAddressResolverProvider;
+
+/**
+ * Provider yang memasang DnsCache sebagai resolver sistem untuk seluruh JVM.
+ * Didaftarkan lewat META-INF/services/java.net.spi.InetAddressResolverProvider.
+ * Di luar sesi crawling, DnsCache hanya meneruskan lookup ke resolver bawaan JDK.
+ */
+public class DnsCacheProvider extends InetAddressResolverProvider {
+    @Override
+    public InetAddressResolver get(Configuration configuration) {
+        return new DnsCache(configuration.builtinResolver());
+    }
+
+    @Override
+    public String name() {
+        return "Broken Link Scanner DNS Cache";
+    }
+}
@@ -2,6 +2,7 @@ package com.unpar.brokenlinkscanner.utils;
 
 import javax.net.ssl.SSLHandshakeException;
 import java.io.IOException;
+import java.net.ConnectException;
 import java.net.MalformedURLException;
 import java.net.UnknownHostException;
 import java.nio.charset.MalformedInputException;
@@ -49,7 +50,7 @@ public class ErrorHandler {
         }
 
         // ========== CONNECTION ERRORS ==========
-        if (msg.contains("refused")) return "Connection Refused";
+        if (msg.contains("refused") || top instanceof ConnectException || root instanceof ConnectException) return "Connection Refused";
         if (msg.contains("connection reset")) return "Connection Reset";
         if (msg.contains("broken pipe")) return "Connection Closed";
 
@@ -0,0 +1,327 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Kelas penjadwal task yang memisahkan antrean per host.
+ *
+ * Setiap host punya antrean sendiri dan batas jumlah task yang berjalan bersamaan.
+ * Host dilayani bergiliran (round-robin), satu task per giliran. Dengan begitu satu host yang
+ * lambat dan punya ratusan link tidak menghalangi (head-of-line blocking) host lain.
+ */
+public class HostScheduler {
+    // Lock untuk mengubah state antrean (tidak pernah dipegang saat task berjalan)
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Sinyal saat tidak ada lagi task yang antre maupun berjalan
+    private final Condition idleCondition = lock.newCondition();
+
+    // Antrean task untuk setiap host
+    private final Map<String, HostQueue> hosts = new HashMap<>();
+
+    // Host yang punya task antre dan masih boleh menjalankan task baru, dalam urutan giliran
+    private final Deque<HostQueue> readyHosts = new ArrayDeque<>();
+
+    // Batas jumlah task yang berjalan bersamaan untuk semua host
+    private final int maxConcurrent;
+
+    // Batas jumlah task yang berjalan bersamaan untuk satu host
+    private final int maxPerHost;
+
+    // Executor untuk memulai task
+    private final Executor executor;
+
+    // Jumlah task yang sedang berjalan
+    private int running = 0;
+
+    // Jumlah task yang masih antre
+    private int queued = 0;
+
+    // Jumlah future dari luar yang ditunggu tanpa memakai slot
+    private int tracked = 0;
+
+    // Dipanggil setiap kali scheduler menjadi idle
+    private volatile Runnable idleListener;
+
+    /**
+     * Antrean task milik satu host.
+     */
+    private static class HostQueue {
+        private final String host;
+        private final Deque<Supplier<? extends CompletionStage<?>>> tasks = new ArrayDeque<>();
+        private int running = 0;
+        private boolean isReady = false;
+
+        private HostQueue(String host) {
+            this.host = host;
+        }
+    }
+
+    /**
+     * @param maxConcurrent : batas jumlah task yang berjalan bersamaan untuk semua host
+     * @param maxPerHost    : batas jumlah task yang berjalan bersamaan untuk satu host
+     * @param executor      : executor untuk memulai task
+     */
+    public HostScheduler(int maxConcurrent, int maxPerHost, Executor executor) {
+        if (maxConcurrent < 1 || maxPerHost < 1) {
+            throw new IllegalArgumentException("Concurrency limits must be at least 1");
+        }
+
+        this.maxConcurrent = maxConcurrent;
+        this.maxPerHost = maxPerHost;
+        this.executor = executor;
+    }
+
+    /**
+     * Method untuk memasukkan task ke antrean host.
+     *
+     * @param host : host tujuan task
+     * @param task : task yang mengembalikan future, slot host dilepas setelah future selesai
+     */
+    public void submit(String host, Supplier<? extends CompletionStage<?>> task) {
+        lock.lock();
+        try {
+            // Ambil atau buat antrean untuk host ini
+            HostQueue queue = hosts.computeIfAbsent(host, HostQueue::new);
+
+            // Masukkan task ke antrean paling belakang
+            queue.tasks.add(task);
+            queued++;
+
+            // Jadikan host siap dilayani jika masih punya slot kosong
+            markReady(queue);
+        } finally {
+            lock.unlock();
+        }
+
+        // Jalankan task selama slot masih tersedia
+        dispatch();
+    }
+
+    /**
+     * Method untuk ikut menunggu future dari luar tanpa memakai slot koneksi
+     * (misalnya hasil pemeriksaan yang sedang dikerjakan crawler lain). Scheduler baru idle setelah future ini selesai.
+     *
+     * @param stage : future yang ditunggu
+     */
+    public void track(CompletionStage<?> stage) {
+        lock.lock();
+        try {
+            tracked++;
+        } finally {
+            lock.unlock();
+        }
+
+        stage.whenComplete((v, e) -> untrack());
+    }
+
+    /**
+     * Method untuk mendaftarkan callback yang dipanggil setiap kali scheduler menjadi idle.
+     *
+     * @param listener : callback yang dipanggil di luar lock
+     */
+    public void setIdleListener(Runnable listener) {
+        this.idleListener = listener;
+    }
+
+    /**
+     * Method untuk membuang semua task yang masih antre (task yang sedang berjalan tetap dibiarkan selesai).
+     */
+    public void clear() {
+        boolean isIdle;
+
+        lock.lock();
+        try {
+            for (HostQueue queue : hosts.values()) {
+                queued -= queue.tasks.size();
+                queue.tasks.clear();
+                queue.isReady = false;
+            }
+
+            readyHosts.clear();
+            isIdle = checkIdle();
+        } finally {
+            lock.unlock();
+        }
+
+        notifyIdle(isIdle);
+    }
+
+    /**
+     * Method untuk menunggu (blocking) sampai tidak ada task yang antre maupun berjalan.
+     */
+    public void awaitIdle() throws InterruptedException {
+        lock.lock();
+        try {
+            while (running > 0 || queued > 0 || tracked > 0) {
+                idleCondition.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return true jika tidak ada task yang antre maupun berjalan (termasuk future yang ditunggu)
+     */
+    public boolean isIdle() {
+        lock.lock();
+        try {
+            return running == 0 && queued == 0 && tracked == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method untuk menjalankan task dari host-host yang siap, bergiliran, selama slot global masih tersedia.
+     */
+    private void dispatch() {
+        // Task yang akan dimulai setelah lock dilepas
+        List<Runnable> toStart = new ArrayList<>();
+
+        lock.lock();
+        try {
+            while (running < maxConcurrent && !readyHosts.isEmpty()) {
+                // Ambil host dengan giliran paling depan
+                HostQueue queue = readyHosts.poll();
+                queue.isReady = false;
+
+                // Jalankan satu task dari host ini (host di readyHosts pasti punya task antre dan slot kosong)
+                Supplier<? extends CompletionStage<?>> task = queue.tasks.poll();
+
+                queue.running++;
+                running++;
+                queued--;
+
+                toStart.add(() -> start(queue, task));
+
+                // Jika host masih punya task dan slot, masukkan ke giliran paling belakang
+                markReady(queue);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (Runnable starter : toStart) {
+            try {
+                // Mulai task di executor supaya tidak terjadi rekursi saat task selesai seketika
+                executor.execute(starter);
+            } catch (RejectedExecutionException e) {
+                // Executor sudah dimatikan, anggap task selesai
+                starter.run();
+            }
+        }
+    }
+
+    /**
+     * Method untuk memulai satu task dan melepas slotnya setelah future task selesai.
+     *
+     * @param queue : antrean host pemilik task
+     * @param task  : task yang dijalankan
+     */
+    private void start(HostQueue queue, Supplier<? extends CompletionStage<?>> task) {
+        CompletionStage<?> stage;
+        try {
+            stage = task.get();
+        } catch (Throwable e) {
+            stage = CompletableFuture.failedFuture(e);
+        }
+
+        stage.whenComplete((v, e) -> finish(queue));
+    }
+
+    /**
+     * Method untuk melepas slot task yang sudah selesai lalu menjalankan task berikutnya.
+     *
+     * @param queue : antrean host pemilik task
+     */
+    private void finish(HostQueue queue) {
+        boolean isIdle;
+
+        lock.lock();
+        try {
+            queue.running--;
+            running--;
+
+            // Host yang sebelumnya penuh bisa dilayani lagi
+            markReady(queue);
+
+            // Buang antrean host yang sudah kosong supaya map tidak terus membesar
+            if (queue.running == 0 && queue.tasks.isEmpty()) {
+                hosts.remove(queue.host);
+            }
+
+            isIdle = checkIdle();
+        } finally {
+            lock.unlock();
+        }
+
+        dispatch();
+        notifyIdle(isIdle);
+    }
+
+    /**
+     * Method untuk melepas future dari luar yang sudah selesai.
+     */
+    private void untrack() {
+        boolean isIdle;
+
+        lock.lock();
+        try {
+            tracked--;
+            isIdle = checkIdle();
+        } finally {
+            lock.unlock();
+        }
+
+        notifyIdle(isIdle);
+    }
+
+    /**
+     * Method untuk memasukkan host ke giliran jika punya task antre dan slot kosong (dipanggil saat lock dipegang).
+     *
+     * @param queue : antrean host
+     */
+    private void markReady(HostQueue queue) {
+        if (!queue.isReady && !queue.tasks.isEmpty() && queue.running < maxPerHost) {
+            queue.isReady = true;
+            readyHosts.addLast(queue);
+        }
+    }
+
+    /**
+     * Method untuk mengecek dan memberi sinyal idle (dipanggil saat lock dipegang).
+     *
+     * @return true jika scheduler idle
+     */
+    private boolean checkIdle() {
+        boolean isIdle = running == 0 && queued == 0 && tracked == 0;
+
+        if (isIdle) {
+            idleCondition.signalAll();
+        }
+
+        return isIdle;
+    }
+
+    /**
+     * Method untuk memanggil idle listener di luar lock.
+     *
+     * @param isIdle : apakah scheduler idle
+     */
+    private void notifyIdle(boolean isIdle) {
+        Runnable listener = idleListener;
+
+        if (isIdle && listener != null) {
+            listener.run();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * InputStream pembungkus yang hanya mengizinkan pembacaan sampai batas byte tertentu.
+ *
+ * Setelah batas tercapai, stream dianggap selesai (EOF) walaupun stream asli masih punya data.
+ * Kondisi ini dicatat sebagai terpotong (truncated) supaya bisa ditandai pada Link.
+ */
+public class LimitedInputStream extends FilterInputStream {
+    // Sisa byte yang masih boleh dibaca
+    private long remaining;
+
+    // Penanda apakah stream asli masih punya data setelah batas tercapai
+    private boolean isTruncated = false;
+
+    /**
+     * @param in       : stream asli (misalnya body response HTTP)
+     * @param maxBytes : jumlah maksimal byte yang boleh dibaca
+     */
+    public LimitedInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.remaining = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        // Jika batas sudah tercapai, cek sisa data lalu anggap EOF
+        if (remaining <= 0) {
+            markTruncated();
+            return -1;
+        }
+
+        int b = super.read();
+        if (b != -1) {
+            remaining--;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        // Jika batas sudah tercapai, cek sisa data lalu anggap EOF
+        if (remaining <= 0) {
+            markTruncated();
+            return -1;
+        }
+
+        // Jangan baca melebihi sisa batas
+        int n = super.read(b, off, (int) Math.min(len, remaining));
+        if (n > 0) {
+            remaining -= n;
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(Math.min(n, remaining));
+        remaining -= skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(super.available(), remaining);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Method untuk mengecek apakah stream asli masih punya data setelah batas tercapai.
+     */
+    private void markTruncated() throws IOException {
+        if (!isTruncated && super.read() != -1) {
+            isTruncated = true;
+        }
+    }
+
+    /**
+     * @return true jika body lebih besar dari batas dan sisanya tidak dibaca
+     */
+    public boolean isTruncated() {
+        return isTruncated;
+    }
+}
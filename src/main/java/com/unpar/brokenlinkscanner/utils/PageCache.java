@@ -0,0 +1,407 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import com.unpar.brokenlinkscanner.models.Link;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Kelas cache halaman internal dari crawling sebelumnya untuk conditional GET.
+ *
+ * Untuk setiap halaman disimpan validator dari server (ETag dan Last-Modified) beserta data mentah
+ * hasil parsing: href absolut setiap link, penanda nofollow, href canonical, dan sidik jari teks.
+ * Saat crawling ulang, validator dikirim lewat If-None-Match dan If-Modified-Since; jika server
+ * menjawab 304 Not Modified, data mentah tersebut diproses lagi dengan pengaturan crawling saat ini
+ * (normalisasi, kanonikalisasi, robots, duplikat) tanpa mengunduh dan mem-parse halaman.
+ * Halaman tanpa validator tidak disimpan.
+ *
+ * Halaman berlaku selama TTL sejak terakhir diunduh utuh (jawaban 304 tidak memperpanjangnya), dan
+ * hanya dipakai jika batas ukuran body saat disimpan sama dengan crawling saat ini. Jumlah halaman
+ * dibatasi; setelah penuh, halaman baru tidak disimpan sampai ada yang kedaluwarsa.
+ *
+ * Format record: [short jumlah field][field dengan format writeUTF]...
+ * Field: {url, finalUrl, contentType, etag, lastModified, isTruncated, maxBodySize, isNofollow,
+ * canonicalHref, fingerprint, savedAt, (href, anchor text)...}
+ */
+public class PageCache implements AutoCloseable {
+    // Jumlah field sebelum daftar link (ganjil, jadi record format lama yang genap tidak terbaca)
+    private static final int HEADER_FIELDS = 11;
+
+    // Jumlah field maksimal satu record (batas short)
+    private static final int MAX_FIELDS = Short.MAX_VALUE;
+
+    // Panjang maksimal anchor text yang disimpan
+    private static final int MAX_ANCHOR_LENGTH = 1000;
+
+    // Lock untuk menulis file
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Data halaman per URL
+    private final Map<String, Page> pages = new ConcurrentHashMap<>();
+
+    // Lokasi file cache
+    private final Path file;
+
+    // Lama halaman berlaku sejak diunduh (milidetik)
+    private final long ttl;
+
+    // Jumlah halaman maksimal di cache
+    private final int maxPages;
+
+    // Stream untuk menambahkan data halaman baru ke file
+    private DataOutputStream out;
+
+    /**
+     * Data satu halaman dari crawling sebelumnya.
+     */
+    public static class Page {
+        private final String finalUrl;
+        private final String contentType;
+        private final String etag;
+        private final String lastModified;
+        private final boolean isTruncated;
+        private final long maxBodySize;
+        private final boolean isNofollow;
+        private final String canonicalHref;
+        private final String fingerprint;
+        private final long savedAt;
+        // Pasangan {href absolut, anchor text} link di halaman, sebelum dinormalisasi
+        private final List<String[]> links;
+
+        /**
+         * @param link          : link halaman yang sudah diperiksa (finalUrl, contentType, isTruncated)
+         * @param etag          : nilai header ETag, string kosong jika tidak ada
+         * @param lastModified  : nilai header Last-Modified, string kosong jika tidak ada
+         * @param maxBodySize   : batas ukuran body saat halaman dibaca
+         * @param isNofollow    : apakah halaman ditandai nofollow oleh meta robots atau X-Robots-Tag
+         * @param canonicalHref : href absolut &lt;link rel="canonical"&gt;, string kosong jika tidak ada
+         * @param fingerprint   : sidik jari teks halaman, string kosong jika tidak dihitung
+         * @param links         : pasangan {href absolut, anchor text} link di halaman
+         */
+        public Page(Link link, String etag, String lastModified, long maxBodySize, boolean isNofollow, String canonicalHref, String fingerprint, List<String[]> links) {
+            this(link.getFinalUrl(), link.getContentType(), etag, lastModified, link.isTruncated(), maxBodySize, isNofollow, canonicalHref, fingerprint, System.currentTimeMillis(), trimAnchors(links));
+        }
+
+        private Page(String finalUrl, String contentType, String etag, String lastModified, boolean isTruncated, long maxBodySize,
+                     boolean isNofollow, String canonicalHref, String fingerprint, long savedAt, List<String[]> links) {
+            this.finalUrl = finalUrl;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.isTruncated = isTruncated;
+            this.maxBodySize = maxBodySize;
+            this.isNofollow = isNofollow;
+            this.canonicalHref = canonicalHref;
+            this.fingerprint = fingerprint;
+            this.savedAt = savedAt;
+            this.links = links;
+        }
+
+        public String getFinalUrl() {
+            return finalUrl;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * @return nilai header ETag, string kosong jika tidak ada
+         */
+        public String getEtag() {
+            return etag;
+        }
+
+        /**
+         * @return nilai header Last-Modified, string kosong jika tidak ada
+         */
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public boolean isTruncated() {
+            return isTruncated;
+        }
+
+        public boolean isNofollow() {
+            return isNofollow;
+        }
+
+        /**
+         * @return href absolut canonical, string kosong jika tidak ada
+         */
+        public String getCanonicalHref() {
+            return canonicalHref;
+        }
+
+        /**
+         * @return sidik jari teks halaman, string kosong jika tidak dihitung
+         */
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * @return pasangan {href absolut, anchor text} link di halaman, urutannya sama dengan saat disimpan
+         */
+        public List<String[]> getLinks() {
+            return links;
+        }
+    }
+
+    /**
+     * @param file     : lokasi file cache
+     * @param ttl      : lama halaman berlaku sejak diunduh (milidetik), 0 berarti halaman tidak disimpan
+     * @param maxPages : jumlah halaman maksimal di cache
+     */
+    public PageCache(Path file, long ttl, int maxPages) {
+        if (ttl < 0) {
+            throw new IllegalArgumentException("Page cache TTL must be at least 0");
+        }
+        if (maxPages < 1) {
+            throw new IllegalArgumentException("Page cache size must be at least 1");
+        }
+
+        this.file = file;
+        this.ttl = ttl;
+        this.maxPages = maxPages;
+    }
+
+    /**
+     * Method untuk membaca data halaman yang masih berlaku dari file, lalu membuka file untuk ditambah data baru.
+     * Jika file gagal dibaca atau ditulis, cache tetap bisa dipakai di memori.
+     */
+    public void open() {
+        lock.lock();
+        try {
+            pages.clear();
+
+            if (Files.exists(file)) {
+                read();
+            }
+
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        } catch (IOException e) {
+            // Cache hanya mempercepat crawling, jadi cukup dipakai di memori
+            out = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method untuk mengambil data halaman yang masih berlaku.
+     *
+     * @param url         : URL halaman yang sudah dinormalisasi
+     * @param maxBodySize : batas ukuran body crawling saat ini
+     * @return data halaman dari crawling sebelumnya, atau null jika tidak ada, sudah kedaluwarsa,
+     * atau disimpan dengan batas ukuran body yang berbeda (link yang terbaca bisa berbeda)
+     */
+    public Page get(String url, long maxBodySize) {
+        Page page = pages.get(url);
+        if (page == null) {
+            return null;
+        }
+
+        if (isExpired(page, System.currentTimeMillis())) {
+            pages.remove(url, page);
+            return null;
+        }
+
+        return page.maxBodySize == maxBodySize ? page : null;
+    }
+
+    /**
+     * Method untuk menyimpan data halaman yang baru diunduh.
+     * Jika server tidak memberi ETag maupun Last-Modified, data lama halaman tersebut dihapus.
+     *
+     * @param url  : URL halaman yang sudah dinormalisasi
+     * @param page : data halaman
+     */
+    public void put(String url, Page page) {
+        if (ttl == 0 || (page.etag.isEmpty() && page.lastModified.isEmpty())) {
+            pages.remove(url);
+            return;
+        }
+
+        // Halaman dengan link terlalu banyak untuk satu record tidak disimpan
+        if (HEADER_FIELDS + page.links.size() * 2L > MAX_FIELDS) {
+            pages.remove(url);
+            return;
+        }
+
+        // Cache penuh, halaman baru tidak disimpan (halaman yang sudah ada tetap diperbarui)
+        if (pages.size() >= maxPages && !pages.containsKey(url)) {
+            return;
+        }
+
+        byte[] record;
+        try {
+            record = toRecord(url, page);
+        } catch (IOException e) {
+            // Ada field yang terlalu panjang untuk format record, halaman tidak disimpan
+            pages.remove(url);
+            return;
+        }
+        pages.put(url, page);
+
+        lock.lock();
+        try {
+            if (out != null) {
+                out.write(record);
+            }
+        } catch (IOException e) {
+            // Gagal menulis ke file, data tetap ada di memori
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return jumlah halaman di cache
+     */
+    public int size() {
+        return pages.size();
+    }
+
+    /**
+     * Method untuk menutup file lalu menulis ulang isinya dengan data terbaru setiap halaman yang masih berlaku saja.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (out == null) {
+                return;
+            }
+
+            out.close();
+            out = null;
+
+            // Tulis ke file sementara dulu supaya file lama tetap utuh jika penulisan gagal
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            long now = System.currentTimeMillis();
+            try (BufferedOutputStream compact = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                for (var entry : pages.entrySet()) {
+                    if (!isExpired(entry.getValue(), now)) {
+                        compact.write(toRecord(entry.getKey(), entry.getValue()));
+                    }
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ignored) {
+            // File lama tetap bisa dibaca, record lama ditimpa record baru saat dibaca
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method untuk membaca semua record utuh dari file. Record yang lebih baru menimpa record lama dengan URL sama,
+     * record yang sudah kedaluwarsa dilewati, dan pembacaan berhenti setelah cache penuh.
+     */
+    private void read() throws IOException {
+        long now = System.currentTimeMillis();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                String[] fields;
+                try {
+                    fields = new String[in.readShort()];
+                    for (int i = 0; i < fields.length; i++) {
+                        fields[i] = in.readUTF();
+                    }
+                } catch (EOFException | UTFDataFormatException | NegativeArraySizeException e) {
+                    // Akhir file atau record terakhir terpotong
+                    break;
+                }
+
+                if (fields.length < HEADER_FIELDS || (fields.length - HEADER_FIELDS) % 2 != 0) {
+                    // Format tidak dikenal, abaikan sisa file
+                    break;
+                }
+
+                List<String[]> links = new ArrayList<>((fields.length - HEADER_FIELDS) / 2);
+                for (int i = HEADER_FIELDS; i < fields.length; i += 2) {
+                    links.add(new String[]{fields[i], fields[i + 1]});
+                }
+
+                Page page;
+                try {
+                    page = new Page(fields[1], fields[2], fields[3], fields[4], Boolean.parseBoolean(fields[5]), Long.parseLong(fields[6]),
+                            Boolean.parseBoolean(fields[7]), fields[8], fields[9], Long.parseLong(fields[10]), links);
+                } catch (NumberFormatException e) {
+                    // Record rusak, lewati
+                    continue;
+                }
+
+                if (isExpired(page, now)) {
+                    pages.remove(fields[0]);
+                } else if (pages.size() < maxPages || pages.containsKey(fields[0])) {
+                    pages.put(fields[0], page);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method untuk menyusun satu record utuh, supaya record tidak tertulis setengah jika ada field yang gagal ditulis.
+     */
+    private static byte[] toRecord(String url, Page page) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream record = new DataOutputStream(bytes);
+
+        record.writeShort(HEADER_FIELDS + page.links.size() * 2);
+        record.writeUTF(url);
+        record.writeUTF(page.finalUrl);
+        record.writeUTF(page.contentType);
+        record.writeUTF(page.etag);
+        record.writeUTF(page.lastModified);
+        record.writeUTF(String.valueOf(page.isTruncated));
+        record.writeUTF(String.valueOf(page.maxBodySize));
+        record.writeUTF(String.valueOf(page.isNofollow));
+        record.writeUTF(page.canonicalHref);
+        record.writeUTF(page.fingerprint);
+        record.writeUTF(String.valueOf(page.savedAt));
+        for (String[] link : page.links) {
+            record.writeUTF(link[0]);
+            record.writeUTF(link[1]);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Method untuk memotong anchor text yang terlalu panjang supaya ukuran record tetap terkendali.
+     */
+    private static List<String[]> trimAnchors(List<String[]> links) {
+        List<String[]> result = new ArrayList<>(links.size());
+        for (String[] link : links) {
+            String anchor = link[1].length() > MAX_ANCHOR_LENGTH ? link[1].substring(0, MAX_ANCHOR_LENGTH) : link[1];
+            result.add(new String[]{link[0], anchor});
+        }
+        return result;
+    }
+
+    private boolean isExpired(Page page, long now) {
+        return now - page.savedAt >= ttl;
+    }
+}
@@ -1,38 +1,339 @@
 package com.unpar.brokenlinkscanner.utils;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Kelas untuk mengatur laju request ke satu host dengan token bucket yang adaptif.
+ *
+ * Setiap pemanggil memesan (reserve) satu token, lalu menunggu sampai token tersedia di luar lock,
+ * jadi virtual thread tidak mem-pin carrier thread, dan menunggu bisa juga dilakukan secara asinkron.
+ *
+ * Laju request menyesuaikan diri dengan respon server:
+ * - 429/503 menurunkan laju setengahnya dan menghormati header Retry-After (maksimal 60 detik)
+ * - latency yang melonjak atau timeout menurunkan laju sedikit
+ * - response sukses menaikkan laju perlahan sampai batas maksimal
+ */
 public class RateLimiter {
-    // Waktu jarak antar request
-    private static final long INTERVAL = 0L;
+    // Laju awal saat host tanpa batas (unlimited) pertama kali menolak request (request/detik)
+    private static final double INITIAL_BACKOFF_RATE = 5.0;
+    // Laju paling lambat (1 request per 5 detik)
+    private static final double MIN_RATE = 0.2;
+    // Di atas laju ini, host tanpa batas dikembalikan menjadi unlimited
+    private static final double UNLIMITED_RESTORE_RATE = 50.0;
+    // Faktor penurunan laju saat menerima 429/503
+    private static final double BACKOFF_FACTOR = 0.5;
+    // Faktor penurunan laju saat latency melonjak atau timeout
+    private static final double SLOWDOWN_FACTOR = 0.8;
+    // Kenaikan laju setiap response sukses (request/detik)
+    private static final double RECOVERY_STEP = 0.5;
+    // Latency dianggap melonjak jika melebihi rata-rata dikali faktor ini
+    private static final double LATENCY_SPIKE_FACTOR = 3.0;
+    // Latency di bawah batas ini tidak pernah dianggap melonjak (1 detik)
+    private static final long MIN_SPIKE_LATENCY = TimeUnit.SECONDS.toNanos(1);
+    // Jumlah sampel latency minimal sebelum deteksi lonjakan dipakai
+    private static final int MIN_LATENCY_SAMPLES = 5;
+    // Jumlah token maksimal yang bisa ditabung (burst)
+    private static final int BURST = 2;
+    // Retry-After maksimal yang dipatuhi, nilai yang lebih besar membuat crawling tidak pernah selesai (60 detik)
+    private static final long MAX_RETRY_AFTER = TimeUnit.SECONDS.toNanos(60);
+
+    // Lock untuk mengubah state (tidak pernah dipegang saat menunggu)
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Laju maksimal (request/detik), Infinity berarti tanpa batas
+    private double maxRate;
+
+    // Laju saat ini (request/detik), Infinity berarti tanpa batas
+    private double rate;
+
+    // Waktu token berikutnya secara teori (System.nanoTime), dasar perhitungan token bucket
+    private long nextTokenTime = Long.MIN_VALUE;
+
+    // Request tidak boleh dikirim sebelum waktu ini (dari Retry-After)
+    private long blockedUntil = Long.MIN_VALUE;
+
+    // Rata-rata latency (EWMA) dalam nanodetik
+    private double avgLatency = 0;
+
+    // Jumlah sampel latency yang sudah tercatat
+    private int latencySamples = 0;
+
+    /**
+     * Rate limiter tanpa batas laju (tetap menyesuaikan diri saat server menolak).
+     */
+    public RateLimiter() {
+        this(0L);
+    }
+
+    /**
+     * @param intervalMillis : jarak waktu minimal antar request dalam milidetik (0 = tanpa batas laju)
+     */
+    public RateLimiter(long intervalMillis) {
+        if (intervalMillis < 0) {
+            throw new IllegalArgumentException("Interval cannot be negative");
+        }
 
-    // Waktu dari request terakhir
-    private volatile long lastRequestTime = 0L;
+        this.maxRate = intervalMillis == 0 ? Double.POSITIVE_INFINITY : 1000.0 / intervalMillis;
+        this.rate = maxRate;
+    }
 
     /**
-     * Method utama untuk mengatur delay atau jarak waktu antar satu request ke
-     * request yang lain.
+     * Method untuk memesan satu token request.
      *
-     * synchronized artinya cuma satu thread dalam satu waktu yang bisa menjalankan
-     * method ini.
+     * @return lama waktu (nanodetik) yang harus ditunggu sampai token tersedia, 0 jika bisa langsung
      */
-    public synchronized void delay() {
-        // Waktu saat ini dalam epoch
-        long now = System.currentTimeMillis();
+    public long reserve() {
+        lock.lock();
+        try {
+            // Waktu saat ini
+            long now = System.nanoTime();
+
+            // Request paling cepat boleh dikirim setelah masa blokir Retry-After selesai
+            long earliest = Math.max(now, blockedUntil);
+
+            // Tanpa batas laju, cukup tunggu masa blokir
+            if (Double.isInfinite(rate)) {
+                return earliest - now;
+            }
 
-        // Waktu untuk menunggu
-        long waitTime = lastRequestTime + INTERVAL - now;
+            // Jarak antar token pada laju saat ini
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
 
-        // Kalau masih belum lewat 500 ms dari request terakhir, tunggu dulu
+            // Token bucket: token berikutnya tidak boleh lebih awal dari (sekarang - kapasitas burst)
+            long tokenTime = Math.max(nextTokenTime, earliest - (BURST - 1) * interval);
+            long sendTime = Math.max(tokenTime, earliest);
+
+            // Geser waktu token berikutnya sejauh satu interval
+            nextTokenTime = tokenTime + interval;
+
+            return sendTime - now;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method untuk menunggu (blocking) sampai token request tersedia.
+     *
+     * Tidak ada lock yang dipegang selama menunggu, jadi aman untuk virtual thread.
+     */
+    public void delay() {
+        // Pesan token dan hitung waktu tunggu
+        long waitTime = reserve();
+
+        // Kalau token belum tersedia, tunggu dulu
         if (waitTime > 0) {
             try {
-                // Hentikan thread sementara, selama nilai waitTime
-                Thread.sleep(waitTime);
+                // Hentikan thread sementara (virtual thread di-park, bukan di-pin)
+                Thread.sleep(Duration.ofNanos(waitTime));
             } catch (InterruptedException e) {
                 // Kalau thread dibatalkan, set flag interrupted biar caller tahu
                 Thread.currentThread().interrupt();
             }
         }
+    }
+
+    /**
+     * Method untuk menunggu token request secara asinkron (tanpa thread yang tertahan).
+     *
+     * @param executor : executor untuk melanjutkan rangkaian setelah token tersedia
+     * @return future yang selesai saat token request tersedia
+     */
+    public CompletableFuture<Void> delayAsync(Executor executor) {
+        // Pesan token dan hitung waktu tunggu
+        long waitTime = reserve();
+
+        // Kalau token sudah tersedia, langsung selesai
+        if (waitTime <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Selesaikan future setelah waktu tunggu lewat, lalu lanjut di executor. Jika executor sudah dimatikan,
+        // future selesai dengan RejectedExecutionException (bukan menggantung selamanya)
+        return CompletableFuture.runAsync(() -> {
+        }, CompletableFuture.delayedExecutor(waitTime, TimeUnit.NANOSECONDS)).thenRunAsync(() -> {
+        }, executor);
+    }
+
+    /**
+     * Method untuk menyesuaikan laju berdasarkan response dari server.
+     *
+     * @param statusCode      : status code response
+     * @param latencyNanos    : lama waktu request sampai response diterima (nanodetik)
+     * @param retryAfterNanos : nilai header Retry-After dalam nanodetik (0 jika tidak ada)
+     */
+    public void onResponse(int statusCode, long latencyNanos, long retryAfterNanos) {
+        lock.lock();
+        try {
+            if (statusCode == 429 || statusCode == 503) {
+                // Server menolak karena kelebihan beban, turunkan laju setengahnya
+                slowDown(BACKOFF_FACTOR);
+
+                // Jangan kirim request lagi sebelum waktu Retry-After
+                if (retryAfterNanos > 0) {
+                    blockedUntil = Math.max(blockedUntil, System.nanoTime() + retryAfterNanos);
+                }
+                return;
+            }
+
+            // Deteksi lonjakan latency dibanding rata-rata sebelumnya
+            boolean isLatencySpike = latencySamples >= MIN_LATENCY_SAMPLES && latencyNanos > MIN_SPIKE_LATENCY && latencyNanos > avgLatency * LATENCY_SPIKE_FACTOR;
+
+            // Perbarui rata-rata latency (EWMA)
+            avgLatency = latencySamples == 0 ? latencyNanos : avgLatency * 0.8 + latencyNanos * 0.2;
+            latencySamples++;
+
+            if (isLatencySpike) {
+                // Server mulai lambat, turunkan laju sedikit
+                slowDown(SLOWDOWN_FACTOR);
+            } else {
+                // Response normal, naikkan laju perlahan
+                speedUp();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method untuk memperlambat laju maksimal, misalnya sesuai Crawl-delay di robots.txt.
+     * Tidak berpengaruh jika laju maksimal sudah lebih lambat.
+     *
+     * @param intervalMillis : jarak waktu minimal antar request dalam milidetik
+     */
+    public void setMinInterval(long intervalMillis) {
+        if (intervalMillis <= 0) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            maxRate = Math.min(maxRate, 1000.0 / intervalMillis);
+            rate = Math.min(rate, maxRate);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method untuk menurunkan laju saat request ke host mengalami timeout.
+     */
+    public void onTimeout() {
+        lock.lock();
+        try {
+            slowDown(SLOWDOWN_FACTOR);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method untuk menurunkan laju (dipanggil saat lock dipegang).
+     *
+     * @param factor : faktor pengali laju
+     */
+    private void slowDown(double factor) {
+        rate = Double.isInfinite(rate) ? Math.min(INITIAL_BACKOFF_RATE, maxRate) : Math.min(maxRate, Math.max(MIN_RATE, rate * factor));
+    }
+
+    /**
+     * Method untuk menaikkan laju secara perlahan (dipanggil saat lock dipegang).
+     */
+    private void speedUp() {
+        if (Double.isInfinite(rate)) {
+            return;
+        }
+
+        rate = Math.min(maxRate, rate + RECOVERY_STEP);
+
+        // Host tanpa batas yang sudah pulih dikembalikan menjadi unlimited
+        if (Double.isInfinite(maxRate) && rate >= UNLIMITED_RESTORE_RATE) {
+            rate = maxRate;
+        }
+    }
+
+    /**
+     * @return laju saat ini dalam request/detik (Infinity jika tanpa batas)
+     */
+    public double getRate() {
+        lock.lock();
+        try {
+            return rate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method untuk menampilkan laju host yang sedang dibatasi, dari yang paling lambat.
+     *
+     * @param rates : map host ke laju request/detik (Infinity jika tanpa batas)
+     * @param limit : jumlah host maksimal yang ditampilkan
+     * @return misalnya "example.com 0.5/s, cdn.example.com 2.0/s (+3 more)", string kosong jika tidak ada host yang dibatasi
+     */
+    public static String formatRates(Map<String, Double> rates, int limit) {
+        List<Map.Entry<String, Double>> limited = new ArrayList<>();
+        for (var entry : rates.entrySet()) {
+            if (!entry.getValue().isInfinite()) {
+                limited.add(entry);
+            }
+        }
+        limited.sort(Map.Entry.<String, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
 
-        // update waktu terakhir dengan waktu sekarang
-        lastRequestTime = System.currentTimeMillis();
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < Math.min(limit, limited.size()); i++) {
+            if (i > 0) {
+                result.append(", ");
+            }
+            result.append(limited.get(i).getKey()).append(' ').append(String.format(Locale.ROOT, "%.1f/s", limited.get(i).getValue()));
+        }
+        if (limited.size() > limit) {
+            result.append(" (+").append(limited.size() - limit).append(" more)");
+        }
+        return result.toString();
+    }
+
+    /**
+     * Method untuk membaca nilai header Retry-After.
+     *
+     * @param value : nilai header, berupa jumlah detik atau tanggal HTTP (RFC 1123)
+     * @return lama waktu tunggu dalam nanodetik (maksimal 60 detik), 0 jika kosong atau tidak valid
+     */
+    public static long parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+
+        String trimmed = value.trim();
+
+        try {
+            // Format jumlah detik (misalnya "120")
+            return Math.min(MAX_RETRY_AFTER, TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(trimmed))));
+        } catch (NumberFormatException ignore) {
+            // Bukan angka, coba format tanggal
+        }
+
+        try {
+            // Format tanggal HTTP (misalnya "Wed, 21 Oct 2015 07:28:00 GMT")
+            ZonedDateTime until = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration wait = Duration.between(ZonedDateTime.now(until.getZone()), until);
+            if (wait.isNegative()) {
+                return 0;
+            }
+            // Dibandingkan sebagai Duration dulu, karena tanggal yang sangat jauh tidak muat dalam nanodetik
+            return wait.compareTo(Duration.ofNanos(MAX_RETRY_AFTER)) > 0 ? MAX_RETRY_AFTER : wait.toNanos();
+        } catch (Exception e) {
+            return 0;
+        }
     }
 }
@@ -0,0 +1,87 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import com.unpar.brokenlinkscanner.models.Link;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Kelas untuk menentukan kapan pemeriksaan link diulang dan berapa lama jedanya.
+ *
+ * Hanya error yang bersifat sementara (timeout, koneksi terputus, I/O error) serta status 429/5xx
+ * yang diulang. Jeda antar percobaan naik secara eksponensial dengan jitter, supaya percobaan ulang
+ * dari banyak link tidak datang bersamaan ke server yang sama.
+ */
+public class RetryPolicy {
+    // Error koneksi yang dianggap sementara (sesuai pesan dari ErrorHandler)
+    private static final Set<String> TRANSIENT_ERRORS = Set.of("Timeout", "Connection Reset", "Connection Closed", "I/O Error");
+
+    // Jumlah maksimal percobaan ulang (di luar percobaan pertama)
+    private final int maxRetries;
+
+    // Jeda dasar sebelum percobaan ulang pertama (milidetik)
+    private final long baseDelay;
+
+    // Jeda maksimal antar percobaan (milidetik)
+    private final long maxDelay;
+
+    /**
+     * @param maxRetries : jumlah maksimal percobaan ulang, 0 untuk menonaktifkan retry
+     * @param baseDelay  : jeda dasar sebelum percobaan ulang pertama (milidetik)
+     * @param maxDelay   : jeda maksimal antar percobaan (milidetik)
+     */
+    public RetryPolicy(int maxRetries, long baseDelay, long maxDelay) {
+        if (maxRetries < 0 || baseDelay < 0 || maxDelay < baseDelay) {
+            throw new IllegalArgumentException("Invalid retry policy");
+        }
+
+        this.maxRetries = maxRetries;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     * Method untuk menentukan apakah link perlu diperiksa ulang.
+     *
+     * @param link : link yang baru saja selesai diperiksa
+     * @return true jika error-nya sementara dan jatah percobaan masih ada
+     */
+    public boolean shouldRetry(Link link) {
+        // Jatah percobaan ulang sudah habis
+        if (link.getAttempts() > maxRetries) {
+            return false;
+        }
+
+        int code = link.getStatusCode();
+
+        // Status 429 dan 5xx bisa berubah jika dicoba lagi
+        if (code == 429 || (code >= 500 && code < 600)) {
+            return true;
+        }
+
+        // Error koneksi yang bersifat sementara
+        return code == 0 && TRANSIENT_ERRORS.contains(link.getError());
+    }
+
+    /**
+     * Method untuk menghitung jeda sebelum percobaan berikutnya (exponential backoff dengan equal jitter).
+     *
+     * @param attempts : jumlah percobaan yang sudah dilakukan
+     * @return jeda dalam milidetik, antara setengah dan penuh dari nilai eksponensial
+     */
+    public long nextDelay(int attempts) {
+        // base * 2^(attempts-1), dibatasi maxDelay (shift dibatasi supaya tidak overflow)
+        long exp = Math.min(maxDelay, baseDelay << Math.min(Math.max(attempts - 1, 0), 20));
+
+        // Setengah jeda tetap, setengahnya lagi acak
+        long half = exp / 2;
+        return half + ThreadLocalRandom.current().nextLong(exp - half + 1);
+    }
+
+    /**
+     * @return jumlah maksimal percobaan ulang
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+}
@@ -0,0 +1,111 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kelas untuk mengambil robots.txt sekali untuk setiap host dan menyimpan aturannya.
+ *
+ * Jika beberapa thread meminta aturan host yang sama bersamaan, hanya satu yang mengirim request,
+ * yang lain menunggu hasilnya. Sesuai RFC 9309, robots.txt yang tidak ada (4xx) berarti semua URL boleh
+ * diambil, sedangkan error server (5xx) berarti semua URL dilarang. Host yang tidak bisa dihubungi tidak
+ * dibatasi, supaya error koneksinya tetap terlihat pada hasil pemeriksaan halaman.
+ */
+public class RobotsCache {
+    // Ukuran maksimal robots.txt yang dibaca (batas minimal dari RFC 9309)
+    private static final long MAX_ROBOTS_SIZE = 500L * 1024;
+
+    // Aturan per origin (skema, host dan port)
+    private final Map<String, CompletableFuture<RobotsRules>> rules = new ConcurrentHashMap<>();
+
+    // Untuk mengambil robots.txt
+    private final HttpClient httpClient;
+
+    // Header User-Agent yang dikirim, juga dipakai untuk memilih grup aturan
+    private final String userAgent;
+
+    // Timeout request robots.txt (milidetik)
+    private final long requestTimeout;
+
+    /**
+     * @param httpClient     : HttpClient untuk mengambil robots.txt
+     * @param userAgent      : header User-Agent crawler
+     * @param requestTimeout : timeout request robots.txt (milidetik)
+     */
+    public RobotsCache(HttpClient httpClient, String userAgent, long requestTimeout) {
+        this.httpClient = httpClient;
+        this.userAgent = userAgent;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Method untuk mengambil aturan robots.txt host sebuah URL, diambil dari server jika belum ada.
+     *
+     * @param url : URL yang akan di-crawl
+     * @return aturan robots.txt host tersebut
+     */
+    public RobotsRules get(String url) {
+        URI origin;
+        try {
+            origin = URI.create(url).resolve("/");
+        } catch (IllegalArgumentException e) {
+            return RobotsRules.ALLOW_ALL;
+        }
+
+        CompletableFuture<RobotsRules> mine = new CompletableFuture<>();
+        CompletableFuture<RobotsRules> existing = rules.putIfAbsent(origin.toString(), mine);
+        if (existing != null) {
+            return existing.join();
+        }
+
+        RobotsRules result = fetch(origin.resolve("/robots.txt"));
+        mine.complete(result);
+        return result;
+    }
+
+    /**
+     * Method untuk mengambil dan membaca robots.txt.
+     *
+     * @param robotsUrl : URL robots.txt
+     * @return aturan robots.txt
+     */
+    private RobotsRules fetch(URI robotsUrl) {
+        HttpRequest req = HttpRequest.newBuilder()
+                .uri(robotsUrl)
+                .GET()
+                .header("User-Agent", userAgent)
+                .timeout(Duration.ofMillis(requestTimeout))
+                .build();
+
+        try {
+            HttpResponse<InputStream> res = httpClient.send(req, HttpResponse.BodyHandlers.ofInputStream());
+
+            try (InputStream body = new LimitedInputStream(res.body(), MAX_ROBOTS_SIZE)) {
+                int status = res.statusCode();
+                if (status >= 200 && status < 300) {
+                    return RobotsRules.parse(new String(body.readAllBytes(), StandardCharsets.UTF_8), userAgent);
+                }
+                if (status >= 500) {
+                    return RobotsRules.DISALLOW_ALL;
+                }
+                // robots.txt tidak ada (atau redirect yang tidak diikuti), tidak ada batasan
+                return RobotsRules.ALLOW_ALL;
+            }
+        } catch (IOException e) {
+            // Host tidak bisa dihubungi, request halaman akan mendapat error yang sama
+            return RobotsRules.ALLOW_ALL;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return RobotsRules.ALLOW_ALL;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Kelas aturan robots.txt untuk satu host yang sudah dikompilasi (RFC 9309).
+ *
+ * Aturan yang dipakai adalah grup dengan user-agent yang sama dengan product token crawler,
+ * atau grup "*" jika tidak ada. Aturan tanpa wildcard dicocokkan sebagai prefix biasa, aturan dengan
+ * "*" atau "$" dikompilasi menjadi regex. Jika beberapa aturan cocok, aturan dengan pola terpanjang
+ * yang menang, dan Allow menang jika panjangnya sama.
+ */
+public class RobotsRules {
+    // Crawl-delay maksimal yang dipakai, nilai yang lebih besar dianggap tidak masuk akal (milidetik)
+    private static final long MAX_CRAWL_DELAY = 60_000;
+
+    // Tanpa aturan, semua URL boleh diambil (misalnya robots.txt tidak ada)
+    public static final RobotsRules ALLOW_ALL = new RobotsRules(List.of(), 0, List.of());
+
+    // Semua URL dilarang (robots.txt tidak bisa diambil karena error server)
+    public static final RobotsRules DISALLOW_ALL = new RobotsRules(List.of(new Rule(false, "/")), 0, List.of());
+
+    // Aturan Allow/Disallow untuk crawler ini
+    private final List<Rule> rules;
+
+    // Jarak waktu antar request dari Crawl-delay (milidetik), 0 jika tidak ada
+    private final long crawlDelay;
+
+    // URL sitemap yang disebutkan di robots.txt
+    private final List<String> sitemaps;
+
+    /**
+     * Satu aturan Allow atau Disallow.
+     */
+    private static class Rule {
+        private final boolean isAllow;
+        // Panjang pola, untuk menentukan aturan yang paling spesifik
+        private final int length;
+        // Pola tanpa wildcard, dicocokkan sebagai prefix
+        private final String prefix;
+        // Pola dengan wildcard, null jika pola berupa prefix biasa
+        private final Pattern pattern;
+
+        private Rule(boolean isAllow, String value) {
+            this.isAllow = isAllow;
+            this.length = value.length();
+
+            if (value.indexOf('*') < 0 && !value.endsWith("$")) {
+                this.prefix = value;
+                this.pattern = null;
+                return;
+            }
+
+            // Ubah pola menjadi regex: "*" menjadi ".*", "$" di akhir menjadi akhir URL
+            boolean isAnchored = value.endsWith("$");
+            String body = isAnchored ? value.substring(0, value.length() - 1) : value;
+            StringBuilder regex = new StringBuilder();
+            for (String part : body.split("\\*", -1)) {
+                if (!regex.isEmpty()) {
+                    regex.append(".*");
+                }
+                if (!part.isEmpty()) {
+                    regex.append(Pattern.quote(part));
+                }
+            }
+            if (isAnchored) {
+                regex.append('$');
+            }
+
+            this.prefix = null;
+            this.pattern = Pattern.compile(regex.toString(), Pattern.DOTALL);
+        }
+
+        private boolean matches(String path) {
+            return pattern == null ? path.startsWith(prefix) : pattern.matcher(path).lookingAt();
+        }
+    }
+
+    private RobotsRules(List<Rule> rules, long crawlDelay, List<String> sitemaps) {
+        this.rules = rules;
+        this.crawlDelay = crawlDelay;
+        this.sitemaps = sitemaps;
+    }
+
+    /**
+     * Method untuk membaca isi robots.txt.
+     *
+     * @param content   : isi robots.txt
+     * @param userAgent : header User-Agent crawler, product token-nya dipakai untuk memilih grup aturan
+     * @return aturan untuk crawler ini
+     */
+    public static RobotsRules parse(String content, String userAgent) {
+        String token = getProductToken(userAgent);
+
+        // Aturan dan Crawl-delay per nama user-agent (lowercase)
+        Map<String, List<Rule>> rulesByAgent = new HashMap<>();
+        Map<String, Long> delayByAgent = new HashMap<>();
+        List<String> sitemaps = new ArrayList<>();
+
+        // User-agent grup yang sedang dibaca. Baris user-agent berturut-turut membentuk satu grup
+        List<String> agents = new ArrayList<>();
+        boolean isInRules = false;
+
+        for (String line : content.split("\r\n|\r|\n")) {
+            // Buang komentar
+            int hash = line.indexOf('#');
+            if (hash >= 0) {
+                line = line.substring(0, hash);
+            }
+
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+
+            String key = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = line.substring(colon + 1).trim();
+
+            switch (key) {
+                case "user-agent" -> {
+                    // User-agent setelah aturan berarti grup baru
+                    if (isInRules) {
+                        agents = new ArrayList<>();
+                        isInRules = false;
+                    }
+                    agents.add(getProductToken(value));
+                }
+                case "allow", "disallow" -> {
+                    isInRules = true;
+                    // Disallow kosong berarti tidak ada yang dilarang
+                    if (value.isEmpty()) {
+                        continue;
+                    }
+                    Rule rule = new Rule(key.equals("allow"), value);
+                    for (String agent : agents) {
+                        rulesByAgent.computeIfAbsent(agent, a -> new ArrayList<>()).add(rule);
+                    }
+                }
+                case "crawl-delay" -> {
+                    isInRules = true;
+                    try {
+                        long delay = Math.min(MAX_CRAWL_DELAY, (long) (Double.parseDouble(value) * 1000));
+                        for (String agent : agents) {
+                            delayByAgent.put(agent, Math.max(0, delay));
+                        }
+                    } catch (NumberFormatException e) {
+                        // Nilai tidak valid, abaikan
+                    }
+                }
+                case "sitemap" -> {
+                    // Sitemap tidak terikat grup user-agent
+                    if (!value.isEmpty()) {
+                        sitemaps.add(value);
+                    }
+                }
+                default -> {
+                    // Baris lain tidak dipakai
+                }
+            }
+        }
+
+        // Pakai grup khusus crawler ini jika ada, jika tidak pakai grup "*"
+        String agent = rulesByAgent.containsKey(token) || delayByAgent.containsKey(token) ? token : "*";
+
+        return new RobotsRules(rulesByAgent.getOrDefault(agent, List.of()), delayByAgent.getOrDefault(agent, 0L), Collections.unmodifiableList(sitemaps));
+    }
+
+    /**
+     * Method untuk mengecek apakah URL boleh diambil.
+     *
+     * @param url : URL yang sudah dinormalisasi
+     * @return true jika boleh diambil
+     */
+    public boolean isAllowed(String url) {
+        if (rules.isEmpty()) {
+            return true;
+        }
+
+        // Aturan dicocokkan dengan path dan query URL
+        String path;
+        try {
+            URI uri = URI.create(url);
+            path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+            if (uri.getRawQuery() != null) {
+                path += "?" + uri.getRawQuery();
+            }
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+
+        // robots.txt sendiri selalu boleh diambil
+        if (path.equals("/robots.txt")) {
+            return true;
+        }
+
+        Rule best = null;
+        for (Rule rule : rules) {
+            if (!rule.matches(path)) {
+                continue;
+            }
+            if (best == null || rule.length > best.length || (rule.length == best.length && rule.isAllow)) {
+                best = rule;
+            }
+        }
+
+        return best == null || best.isAllow;
+    }
+
+    /**
+     * @return jarak waktu antar request dari Crawl-delay (milidetik), 0 jika tidak ada
+     */
+    public long getCrawlDelay() {
+        return crawlDelay;
+    }
+
+    /**
+     * @return URL sitemap yang disebutkan di robots.txt (bisa relatif)
+     */
+    public List<String> getSitemaps() {
+        return sitemaps;
+    }
+
+    /**
+     * Method untuk mengambil product token dari User-Agent (misalnya "BrokenLinkChecker/1.0 (+url)" menjadi "brokenlinkchecker").
+     */
+    private static String getProductToken(String userAgent) {
+        String token = userAgent.trim();
+        int end = 0;
+        while (end < token.length() && (Character.isLetterOrDigit(token.charAt(end)) || token.charAt(end) == '-' || token.charAt(end) == '_' || token.charAt(end) == '*')) {
+            end++;
+        }
+        return token.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+}
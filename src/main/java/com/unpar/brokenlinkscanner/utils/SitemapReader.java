@@ -0,0 +1,279 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Kelas untuk mencari dan membaca sitemap sebuah situs.
+ *
+ * Sitemap dicari dari baris "Sitemap:" di robots.txt, atau /sitemap.xml jika robots.txt tidak menyebutkan
+ * sitemap. Sitemap index diikuti sampai ke sitemap di dalamnya, dan sitemap yang dikompres gzip dibuka
+ * langsung dari stream. Setiap file dibaca sebagai stream XML (StAX), jadi tidak pernah dimuat utuh ke memori.
+ *
+ * URL yang ditemukan diurutkan dari lastmod terbaru, URL tanpa lastmod diletakkan paling akhir sesuai
+ * urutan di sitemap. Jika URL lebih banyak dari batas, hanya URL dengan lastmod terbaru yang disimpan.
+ */
+public class SitemapReader {
+    // Jumlah file sitemap maksimal yang dibaca untuk satu situs
+    private static final int MAX_SITEMAP_FILES = 1000;
+
+    // Ukuran maksimal satu file sitemap setelah dibuka (batas dari protokol sitemap)
+    private static final long MAX_SITEMAP_SIZE = 50L * 1024 * 1024;
+
+    // Untuk membuat pembaca XML tanpa DTD dan entitas eksternal
+    private static final XMLInputFactory XML_FACTORY = createXmlFactory();
+
+    // Untuk melakukan HTTP request
+    private final HttpClient httpClient;
+
+    // Header User-Agent yang dikirim
+    private final String userAgent;
+
+    // Timeout setiap request (milidetik)
+    private final long requestTimeout;
+
+    // Jumlah URL maksimal yang dikembalikan
+    private final int maxUrls;
+
+    // Penanda apakah pembacaan dibatalkan
+    private volatile boolean isCancelled;
+
+    /**
+     * Satu URL dari sitemap.
+     */
+    private static class Entry {
+        private final String url;
+        // Epoch milidetik, 0 jika tidak ada
+        private final long lastModified;
+        // Urutan ditemukan, untuk URL dengan lastmod yang sama
+        private final long order;
+
+        private Entry(String url, long lastModified, long order) {
+            this.url = url;
+            this.lastModified = lastModified;
+            this.order = order;
+        }
+    }
+
+    /**
+     * @param httpClient     : HttpClient untuk mengambil robots.txt dan sitemap
+     * @param userAgent      : header User-Agent yang dikirim
+     * @param requestTimeout : timeout setiap request (milidetik)
+     * @param maxUrls        : jumlah URL maksimal yang dikembalikan
+     */
+    public SitemapReader(HttpClient httpClient, String userAgent, long requestTimeout, int maxUrls) {
+        this.httpClient = httpClient;
+        this.userAgent = userAgent;
+        this.requestTimeout = requestTimeout;
+        this.maxUrls = maxUrls;
+    }
+
+    /**
+     * Method untuk mencari semua sitemap situs dan mengambil URL di dalamnya.
+     *
+     * @param seedUrl        : URL awal situs (skema, host dan port dipakai untuk mencari sitemap)
+     * @param robotsSitemaps : URL sitemap dari robots.txt situs (boleh relatif)
+     * @param filter         : URL yang diterima (misalnya hanya host yang sama), menerima URL yang sudah dinormalisasi
+     * @return URL yang sudah dinormalisasi, diurutkan dari lastmod terbaru
+     */
+    public List<String> discover(String seedUrl, List<String> robotsSitemaps, Predicate<String> filter) {
+        URI root = URI.create(seedUrl).resolve("/");
+
+        // Sitemap dari robots.txt, atau lokasi standar jika tidak ada
+        Deque<String> sitemaps = new ArrayDeque<>();
+        for (String sitemap : robotsSitemaps) {
+            try {
+                sitemaps.add(root.resolve(sitemap).toString());
+            } catch (IllegalArgumentException e) {
+                // URL sitemap tidak valid, abaikan
+            }
+        }
+        if (sitemaps.isEmpty()) {
+            sitemaps.add(root.resolve("/sitemap.xml").toString());
+        }
+
+        // Simpan URL terbaik saja: yang paling atas adalah yang paling dulu dibuang
+        Comparator<Entry> newestFirst = Comparator.comparingLong((Entry e) -> e.lastModified).reversed().thenComparingLong(e -> e.order);
+        PriorityQueue<Entry> kept = new PriorityQueue<>(newestFirst.reversed());
+        Set<String> keptUrls = new HashSet<>();
+        long[] order = new long[1];
+
+        Set<String> visited = new HashSet<>();
+        while (!sitemaps.isEmpty() && visited.size() < MAX_SITEMAP_FILES && !isCancelled) {
+            String sitemapUrl = sitemaps.poll();
+            if (!visited.add(sitemapUrl)) {
+                continue;
+            }
+
+            readSitemap(sitemapUrl, sitemaps::add, (url, lastModified) -> {
+                String normalizedUrl = UrlHandler.normalizeUrl(url, true);
+                if (normalizedUrl == null || !filter.test(normalizedUrl) || !keptUrls.add(normalizedUrl)) {
+                    return;
+                }
+
+                kept.add(new Entry(normalizedUrl, lastModified, order[0]++));
+                if (kept.size() > maxUrls) {
+                    keptUrls.remove(kept.poll().url);
+                }
+            });
+        }
+
+        List<Entry> entries = new ArrayList<>(kept);
+        entries.sort(newestFirst);
+        return entries.stream().map(e -> e.url).toList();
+    }
+
+    /**
+     * Method untuk menghentikan pembacaan sitemap yang sedang berjalan.
+     */
+    public void cancel() {
+        isCancelled = true;
+    }
+
+    /**
+     * Method untuk membaca satu file sitemap atau sitemap index sebagai stream.
+     *
+     * @param sitemapUrl : URL file sitemap
+     * @param onSitemap  : dipanggil untuk setiap sitemap di dalam sitemap index
+     * @param onUrl      : dipanggil untuk setiap URL halaman beserta lastmod (epoch milidetik, 0 jika tidak ada)
+     */
+    private void readSitemap(String sitemapUrl, Consumer<String> onSitemap, ObjLongConsumer<String> onUrl) {
+        try (InputStream body = fetch(URI.create(sitemapUrl), MAX_SITEMAP_SIZE)) {
+            if (body == null) {
+                return;
+            }
+
+            XMLStreamReader xml = XML_FACTORY.createXMLStreamReader(body);
+            try {
+                // Elemen <url> atau <sitemap> yang sedang dibaca
+                String parent = null;
+                String loc = null;
+                String lastmod = null;
+
+                while (xml.hasNext() && !isCancelled) {
+                    int event = xml.next();
+
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        String name = xml.getLocalName();
+                        if (name.equals("url") || name.equals("sitemap")) {
+                            parent = name;
+                            loc = null;
+                            lastmod = null;
+                        } else if (parent != null && name.equals("loc")) {
+                            loc = xml.getElementText().trim();
+                        } else if (parent != null && name.equals("lastmod")) {
+                            lastmod = xml.getElementText().trim();
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT && xml.getLocalName().equals(parent)) {
+                        if (loc != null && !loc.isEmpty()) {
+                            if (parent.equals("sitemap")) {
+                                onSitemap.accept(URI.create(sitemapUrl).resolve(loc).toString());
+                            } else {
+                                onUrl.accept(loc, parseLastModified(lastmod));
+                            }
+                        }
+                        parent = null;
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        } catch (IOException | XMLStreamException | IllegalArgumentException e) {
+            // Sitemap rusak atau terpotong, URL yang sudah terbaca tetap dipakai
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Method untuk mengambil body sebuah URL sebagai stream, dibuka otomatis jika dikompres gzip.
+     *
+     * @param uri     : URL yang diambil
+     * @param maxSize : ukuran maksimal body yang dibaca (setelah dibuka)
+     * @return stream body, atau null jika status code bukan 200
+     */
+    private InputStream fetch(URI uri, long maxSize) throws IOException, InterruptedException {
+        HttpRequest req = HttpRequest.newBuilder()
+                .uri(uri)
+                .GET()
+                .header("User-Agent", userAgent)
+                .timeout(Duration.ofMillis(requestTimeout))
+                .build();
+
+        HttpResponse<InputStream> res = httpClient.send(req, HttpResponse.BodyHandlers.ofInputStream());
+        if (res.statusCode() != 200) {
+            res.body().close();
+            return null;
+        }
+
+        // Kenali gzip dari dua byte pertama, karena server tidak selalu mengirim header yang sesuai
+        PushbackInputStream in = new PushbackInputStream(res.body(), 2);
+        byte[] magic = in.readNBytes(2);
+        in.unread(magic);
+
+        InputStream body = in;
+        if (magic.length == 2 && (magic[0] & 0xff) == 0x1f && (magic[1] & 0xff) == 0x8b) {
+            body = new GZIPInputStream(in);
+        }
+
+        return new LimitedInputStream(body, maxSize);
+    }
+
+    /**
+     * Method untuk membaca nilai lastmod (format W3C Datetime, misalnya 2024-05-01 atau 2024-05-01T10:00:00+07:00).
+     *
+     * @param value : nilai lastmod
+     * @return epoch milidetik, atau 0 jika kosong atau tidak valid
+     */
+    private static long parseLastModified(String value) {
+        if (value == null || value.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            return OffsetDateTime.parse(value.toUpperCase(Locale.ROOT)).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            // Bukan tanggal dan waktu lengkap, coba sebagai tanggal saja
+        }
+
+        try {
+            return LocalDate.parse(value.substring(0, Math.min(10, value.length()))).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+
+    private static XMLInputFactory createXmlFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
@@ -0,0 +1,273 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Kelas antrean FIFO di disk untuk record berisi beberapa string.
+ *
+ * Record ditulis secara append-only ke beberapa file segmen lewat FileChannel, lalu dibaca
+ * kembali dengan urutan yang sama. Segmen yang sudah habis dibaca langsung ditutup dan dihapus, jadi
+ * pemakaian disk hanya sebesar record yang belum dibaca. Direktori dibuat saat record pertama ditulis.
+ * File segmen tidak di-memory-map, supaya bisa langsung dihapus (termasuk di Windows) tanpa menunggu GC.
+ *
+ * Format record: [int panjang record][short jumlah field][int panjang field][byte UTF-8 field]...
+ */
+public class SpillFile implements AutoCloseable {
+    // Ukuran maksimal satu file segmen (32 MB)
+    private static final int SEGMENT_SIZE = 32 * 1024 * 1024;
+
+    // Lock untuk menulis dan membaca record
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Direktori induk tempat direktori spill dibuat
+    private final Path parentDir;
+
+    // Awalan nama direktori spill
+    private final String prefix;
+
+    // Direktori spill (null sampai record pertama ditulis)
+    private Path dir;
+
+    // Segmen yang belum habis dibaca, segmen paling belakang adalah segmen tulis
+    private final Deque<Segment> segments = new ArrayDeque<>();
+
+    // Nomor untuk nama file segmen berikutnya
+    private int nextSegmentId = 0;
+
+    // Jumlah record yang belum dibaca
+    private long size = 0;
+
+    /**
+     * Satu file segmen beserta channel yang terbuka selama segmen dipakai.
+     */
+    private static class Segment {
+        final Path file;
+        final FileChannel channel;
+        int writePos = 0;
+        int readPos = 0;
+
+        Segment(Path file, FileChannel channel) {
+            this.file = file;
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * @param parentDir : direktori tempat file spill dibuat (null = direktori temporary sistem)
+     * @param prefix    : awalan nama direktori spill
+     */
+    public SpillFile(Path parentDir, String prefix) {
+        this.parentDir = parentDir;
+        this.prefix = prefix;
+    }
+
+    /**
+     * Method untuk menambahkan record ke belakang antrean.
+     *
+     * @param fields : isi record (null ditulis sebagai string kosong)
+     * @throws UncheckedIOException jika file spill gagal dibuat atau ditulis
+     */
+    public void append(String... fields) {
+        // Encode semua field ke UTF-8 dan hitung panjang record
+        byte[][] encoded = new byte[fields.length][];
+        int length = Integer.BYTES + Short.BYTES;
+        for (int i = 0; i < fields.length; i++) {
+            encoded[i] = (fields[i] == null ? "" : fields[i]).getBytes(StandardCharsets.UTF_8);
+            length += Integer.BYTES + encoded[i].length;
+        }
+
+        if (length > SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Record is larger than a spill segment");
+        }
+
+        lock.lock();
+        try {
+            // Buka segmen baru jika segmen tulis tidak cukup
+            Segment segment = segments.peekLast();
+            if (segment == null || segment.writePos + length > SEGMENT_SIZE) {
+                segment = openSegment();
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            buffer.putInt(length);
+            buffer.putShort((short) fields.length);
+            for (byte[] field : encoded) {
+                buffer.putInt(field.length);
+                buffer.put(field);
+            }
+
+            writeFully(segment, buffer.flip(), segment.writePos);
+            segment.writePos += length;
+            size++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method untuk mengambil record paling depan dari antrean.
+     *
+     * @return isi record, atau null jika antrean kosong
+     * @throws UncheckedIOException jika file spill gagal dibaca
+     */
+    public String[] poll() {
+        lock.lock();
+        try {
+            Segment segment = segments.peekFirst();
+            if (segment == null || size == 0) {
+                return null;
+            }
+
+            // Segmen depan habis dibaca dan sudah ada segmen tulis yang lebih baru, hapus lalu pindah
+            if (segment.readPos == segment.writePos) {
+                deleteSegment(segments.pollFirst());
+                segment = segments.peekFirst();
+            }
+
+            // Baca panjang record, lalu sisa record sekaligus
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+            readFully(segment, header, segment.readPos);
+            int length = header.flip().getInt();
+
+            ByteBuffer buffer = ByteBuffer.allocate(length - Integer.BYTES);
+            readFully(segment, buffer, segment.readPos + Integer.BYTES);
+            buffer.flip();
+
+            String[] fields = new String[buffer.getShort()];
+            for (int i = 0; i < fields.length; i++) {
+                byte[] field = new byte[buffer.getInt()];
+                buffer.get(field);
+                fields[i] = new String(field, StandardCharsets.UTF_8);
+            }
+
+            segment.readPos += length;
+            size--;
+            return fields;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return true jika tidak ada record yang belum dibaca
+     */
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return size == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return jumlah record yang belum dibaca
+     */
+    public long size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method untuk membuang semua record dan menghapus file spill.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            while (!segments.isEmpty()) {
+                deleteSegment(segments.pollFirst());
+            }
+            size = 0;
+
+            if (dir != null) {
+                try {
+                    Files.deleteIfExists(dir);
+                } catch (IOException ignored) {
+                    // Direktori temporary akan dibersihkan oleh sistem
+                }
+                dir = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        clear();
+    }
+
+    /**
+     * Method untuk membuat dan membuka file segmen baru.
+     */
+    private Segment openSegment() {
+        try {
+            if (dir == null) {
+                dir = parentDir == null ? Files.createTempDirectory(prefix) : Files.createTempDirectory(parentDir, prefix);
+            }
+
+            Path file = dir.resolve("segment-" + nextSegmentId++ + ".dat");
+            Segment segment = new Segment(file, FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE));
+            segments.addLast(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create spill file", e);
+        }
+    }
+
+    /**
+     * Method untuk menulis seluruh isi buffer ke segmen mulai dari posisi tertentu.
+     */
+    private static void writeFully(Segment segment, ByteBuffer buffer, long position) {
+        try {
+            while (buffer.hasRemaining()) {
+                position += segment.channel.write(buffer, position);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write spill file", e);
+        }
+    }
+
+    /**
+     * Method untuk membaca segmen mulai dari posisi tertentu sampai buffer penuh.
+     */
+    private static void readFully(Segment segment, ByteBuffer buffer, long position) {
+        try {
+            while (buffer.hasRemaining()) {
+                int read = segment.channel.read(buffer, position);
+                if (read < 0) {
+                    throw new IOException("Unexpected end of spill file");
+                }
+                position += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read spill file", e);
+        }
+    }
+
+    /**
+     * Method untuk menutup channel lalu menghapus file segmen.
+     */
+    private static void deleteSegment(Segment segment) {
+        try {
+            segment.channel.close();
+            Files.deleteIfExists(segment.file);
+        } catch (IOException ignored) {
+            // Direktori temporary akan dibersihkan oleh sistem
+        }
+    }
+}
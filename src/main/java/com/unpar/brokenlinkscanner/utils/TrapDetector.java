@@ -0,0 +1,202 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Kelas untuk mengenali crawler trap, yaitu bagian situs yang menghasilkan URL baru tanpa batas
+ * (kalender, arsip dengan paginasi, filter produk, atau link relatif yang salah).
+ *
+ * Tiga jenis trap yang dikenali selama crawling:
+ * - segmen path yang berulang (misalnya /a/b/a/b/a/b dari link relatif yang salah)
+ * - path yang terlalu dalam
+ * - terlalu banyak variasi URL untuk satu pola path, di mana segmen yang mengandung angka dan nilai
+ *   parameter query diabaikan (misalnya /calendar/2024/05?view=month dan /calendar/2024/06?view=week
+ *   sama-sama berpola /calendar/{@literal *}/{@literal *}?view)
+ *
+ * Halaman dengan segmen berulang atau path terlalu dalam langsung dihentikan. Untuk pola dengan
+ * terlalu banyak variasi, halaman sampai batas tetap di-crawl dan sisanya dihentikan.
+ */
+public class TrapDetector {
+    public static final String REASON_REPEATED_SEGMENT = "Repeated path segment";
+    public static final String REASON_PATH_TOO_DEEP = "Path too deep";
+    public static final String REASON_TOO_MANY_VARIANTS = "Too many URL variants";
+
+    // Jumlah maksimal satu segmen path boleh muncul, 0 berarti tanpa batas
+    private final int maxRepeatedSegments;
+
+    // Jumlah maksimal segmen path, 0 berarti tanpa batas
+    private final int maxPathDepth;
+
+    // Jumlah maksimal halaman per pola path, 0 berarti tanpa batas
+    private final int maxVariants;
+
+    // Jumlah halaman yang sudah diterima per pola path
+    private final Map<String, AtomicInteger> variantsPerPattern = new ConcurrentHashMap<>();
+
+    // Trap yang ditemukan per pola
+    private final Map<String, Trap> traps = new ConcurrentHashMap<>();
+
+    /**
+     * Satu trap yang ditemukan beserta jumlah halaman yang dihentikan.
+     */
+    public static class Trap {
+        private final String pattern;
+        private final String reason;
+        private final AtomicInteger skippedCount = new AtomicInteger();
+
+        private Trap(String pattern, String reason) {
+            this.pattern = pattern;
+            this.reason = reason;
+        }
+
+        /**
+         * @return pola URL trap (host dan path, misalnya example.com/calendar/{@literal *}?month)
+         */
+        public String getPattern() {
+            return pattern;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        /**
+         * @return jumlah halaman yang tidak di-crawl karena trap ini
+         */
+        public int getSkippedCount() {
+            return skippedCount.get();
+        }
+    }
+
+    /**
+     * @param maxRepeatedSegments : jumlah maksimal satu segmen path boleh muncul, 0 berarti tanpa batas
+     * @param maxPathDepth        : jumlah maksimal segmen path, 0 berarti tanpa batas
+     * @param maxVariants         : jumlah maksimal halaman per pola path, 0 berarti tanpa batas
+     */
+    public TrapDetector(int maxRepeatedSegments, int maxPathDepth, int maxVariants) {
+        this.maxRepeatedSegments = maxRepeatedSegments;
+        this.maxPathDepth = maxPathDepth;
+        this.maxVariants = maxVariants;
+    }
+
+    /**
+     * Method untuk mengecek apakah halaman termasuk trap. Halaman yang bukan trap langsung dihitung
+     * dalam pola path-nya, jadi method ini dipanggil sekali untuk setiap URL.
+     *
+     * @param url : URL halaman yang sudah dinormalisasi
+     * @return trap yang menghentikan halaman ini, atau null jika halaman boleh di-crawl
+     */
+    public Trap check(String url) {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        String host = UrlHandler.getHost(url);
+        List<String> segments = new ArrayList<>();
+        if (uri.getRawPath() != null) {
+            for (String segment : uri.getRawPath().split("/")) {
+                if (!segment.isEmpty()) {
+                    segments.add(segment);
+                }
+            }
+        }
+
+        // Segmen path yang berulang, polanya sampai segmen yang melewati batas
+        if (maxRepeatedSegments > 0) {
+            Map<String, Integer> counts = new HashMap<>();
+            for (int i = 0; i < segments.size(); i++) {
+                if (counts.merge(segments.get(i), 1, Integer::sum) > maxRepeatedSegments) {
+                    return skip(host + "/" + String.join("/", segments.subList(0, i + 1)), REASON_REPEATED_SEGMENT);
+                }
+            }
+        }
+
+        // Path terlalu dalam, polanya adalah bagian path sampai batas
+        if (maxPathDepth > 0 && segments.size() > maxPathDepth) {
+            return skip(host + "/" + String.join("/", segments.subList(0, maxPathDepth)) + "/*", REASON_PATH_TOO_DEEP);
+        }
+
+        // Terlalu banyak variasi untuk satu pola path
+        if (maxVariants > 0) {
+            String pattern = getPattern(host, segments, uri.getRawQuery());
+            if (variantsPerPattern.computeIfAbsent(pattern, p -> new AtomicInteger()).incrementAndGet() > maxVariants) {
+                return skip(pattern, REASON_TOO_MANY_VARIANTS);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return trap yang ditemukan, diurutkan dari yang paling banyak menghentikan halaman
+     */
+    public List<Trap> getTraps() {
+        List<Trap> result = new ArrayList<>(traps.values());
+        result.sort(Comparator.comparingInt(Trap::getSkippedCount).reversed().thenComparing(Trap::getPattern));
+        return result;
+    }
+
+    /**
+     * Method untuk membuat ringkasan trap dalam satu baris, dimulai dari yang paling banyak menghentikan halaman.
+     *
+     * @param traps : trap yang ditemukan (hasil getTraps())
+     * @param limit : jumlah maksimal trap yang ditampilkan
+     * @return teks seperti "example.com/calendar/{@literal *} (Too many URL variants, 42 skipped)", kosong jika tidak ada trap
+     */
+    public static String formatTraps(List<Trap> traps, int limit) {
+        List<String> parts = new ArrayList<>();
+        for (int i = 0; i < traps.size() && i < limit; i++) {
+            Trap trap = traps.get(i);
+            parts.add(trap.getPattern() + " (" + trap.getReason() + ", " + trap.getSkippedCount() + " skipped)");
+        }
+
+        String result = String.join("; ", parts);
+        if (traps.size() > limit) {
+            result += " (+" + (traps.size() - limit) + " more)";
+        }
+        return result;
+    }
+
+    private Trap skip(String pattern, String reason) {
+        Trap trap = traps.computeIfAbsent(pattern, p -> new Trap(p, reason));
+        trap.skippedCount.incrementAndGet();
+        return trap;
+    }
+
+    /**
+     * Method untuk membuat pola path: segmen yang mengandung angka menjadi "*" dan query hanya
+     * berisi nama parameter yang diurutkan (misalnya example.com/archive/{@literal *}?page).
+     */
+    private static String getPattern(String host, List<String> segments, String query) {
+        StringBuilder pattern = new StringBuilder(host);
+        for (String segment : segments) {
+            pattern.append('/').append(segment.chars().anyMatch(Character::isDigit) ? "*" : segment);
+        }
+        if (segments.isEmpty()) {
+            pattern.append('/');
+        }
+
+        if (query != null && !query.isEmpty()) {
+            TreeSet<String> names = new TreeSet<>();
+            for (String param : query.split("&")) {
+                if (!param.isEmpty()) {
+                    names.add(param.split("=", 2)[0]);
+                }
+            }
+            pattern.append('?').append(String.join("&", names));
+        }
+
+        return pattern.toString();
+    }
+}
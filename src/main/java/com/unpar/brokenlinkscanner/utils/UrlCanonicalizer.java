@@ -0,0 +1,220 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Kelas untuk mengubah URL yang sudah dinormalisasi menjadi bentuk kanonik sesuai aturan satu crawling,
+ * supaya variasi URL yang menunjuk halaman yang sama hanya diperiksa sekali.
+ *
+ * Aturan yang bisa diaktifkan:
+ * - membuang parameter query (dan parameter path seperti ;jsessionid=...) yang namanya cocok dengan pola
+ * - mengurutkan parameter query yang tersisa berdasarkan nama
+ * - membuang nama file index di akhir path (misalnya /docs/index.html menjadi /docs, sama seperti hasil normalisasi /docs/)
+ * - menganggap http/https dan www/non-www dari situs yang di-crawl sebagai URL yang sama
+ *
+ * Penyamaan skema dan www hanya berlaku untuk host situs yang di-crawl, dan selalu diubah ke bentuk
+ * seed URL, karena bentuk itu yang pasti bisa diakses. Host lain tidak diubah.
+ */
+public class UrlCanonicalizer {
+    // Nama file index yang dibuang dari akhir path
+    private static final Set<String> INDEX_FILES = Set.of(
+            "index.html", "index.htm", "index.php", "index.asp", "index.aspx", "index.jsp",
+            "default.html", "default.htm", "default.asp", "default.aspx");
+
+    // Pola nama parameter yang dibuang (tanpa membedakan huruf besar/kecil)
+    private final List<Pattern> stripParams;
+
+    // Urutkan parameter query berdasarkan nama atau tidak
+    private final boolean isSortParams;
+
+    // Buang nama file index di akhir path atau tidak
+    private final boolean isStripIndexFiles;
+
+    // Samakan http dan https untuk situs yang di-crawl atau tidak
+    private final boolean isIgnoreScheme;
+
+    // Samakan www dan non-www untuk situs yang di-crawl atau tidak
+    private final boolean isIgnoreWww;
+
+    // Skema, host dan port seed URL
+    private final String rootScheme;
+    private final String rootHost;
+    private final int rootPort;
+
+    /**
+     * @param stripParams       : pola nama parameter yang dibuang, dipisah koma; "*" berarti karakter apa pun (misalnya "utm_*,fbclid")
+     * @param isSortParams      : urutkan parameter query berdasarkan nama
+     * @param isStripIndexFiles : buang nama file index di akhir path
+     * @param isIgnoreScheme    : samakan http dan https untuk situs yang di-crawl
+     * @param isIgnoreWww       : samakan www dan non-www untuk situs yang di-crawl
+     * @param seedUrl           : seed URL yang sudah dinormalisasi
+     */
+    public UrlCanonicalizer(String stripParams, boolean isSortParams, boolean isStripIndexFiles, boolean isIgnoreScheme, boolean isIgnoreWww, String seedUrl) {
+        this.stripParams = new ArrayList<>();
+        for (String param : stripParams.split(",")) {
+            String name = param.trim();
+            if (!name.isEmpty()) {
+                this.stripParams.add(toPattern(name));
+            }
+        }
+
+        this.isSortParams = isSortParams;
+        this.isStripIndexFiles = isStripIndexFiles;
+        this.isIgnoreScheme = isIgnoreScheme;
+        this.isIgnoreWww = isIgnoreWww;
+
+        URI seed = URI.create(seedUrl);
+        this.rootScheme = seed.getScheme();
+        this.rootHost = seed.getHost();
+        this.rootPort = seed.getPort();
+    }
+
+    /**
+     * @return true jika tidak ada aturan yang aktif (URL tidak pernah diubah)
+     */
+    public boolean isNoop() {
+        return stripParams.isEmpty() && !isSortParams && !isStripIndexFiles && !isIgnoreScheme && !isIgnoreWww;
+    }
+
+    /**
+     * Method untuk mengubah URL menjadi bentuk kanonik.
+     *
+     * @param url : URL yang sudah dinormalisasi dengan UrlHandler.normalizeUrl
+     * @return URL kanonik, atau URL asli jika tidak bisa diparse
+     */
+    public String canonicalize(String url) {
+        if (isNoop()) {
+            return url;
+        }
+
+        URI uri;
+        try {
+            uri = new URI(url);
+        } catch (URISyntaxException e) {
+            return url;
+        }
+
+        String scheme = uri.getScheme();
+        String host = uri.getHost();
+        int port = uri.getPort();
+        String path = uri.getRawPath();
+        String query = uri.getRawQuery();
+
+        if (scheme == null || host == null) {
+            return url;
+        }
+
+        // Samakan skema dan www untuk situs yang di-crawl
+        if (isIgnoreWww && port == rootPort && stripWww(host).equalsIgnoreCase(stripWww(rootHost))) {
+            host = rootHost;
+        }
+        if (isIgnoreScheme && host.equalsIgnoreCase(rootHost) && port == rootPort) {
+            scheme = rootScheme;
+        }
+
+        // Buang parameter path dan nama file index
+        if (path != null && !path.isEmpty()) {
+            path = canonicalizePath(path);
+        }
+
+        // Buang dan urutkan parameter query
+        if (query != null) {
+            query = canonicalizeQuery(query);
+        }
+
+        StringBuilder result = new StringBuilder(url.length());
+        result.append(scheme).append("://").append(host);
+        if (port != -1) {
+            result.append(':').append(port);
+        }
+        result.append(path == null || path.isEmpty() ? "/" : path);
+        if (query != null && !query.isEmpty()) {
+            result.append('?').append(query);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Method untuk membuang parameter path (;nama=nilai) yang cocok dengan pola dan nama file index di akhir path.
+     */
+    private String canonicalizePath(String path) {
+        if (!stripParams.isEmpty() && path.indexOf(';') >= 0) {
+            String[] segments = path.split("/", -1);
+            for (int i = 0; i < segments.length; i++) {
+                String[] parts = segments[i].split(";", -1);
+                StringBuilder segment = new StringBuilder(parts[0]);
+                for (int j = 1; j < parts.length; j++) {
+                    if (!isStripped(parts[j].split("=", 2)[0])) {
+                        segment.append(';').append(parts[j]);
+                    }
+                }
+                segments[i] = segment.toString();
+            }
+            path = String.join("/", segments);
+        }
+
+        if (isStripIndexFiles) {
+            int slash = path.lastIndexOf('/');
+            if (INDEX_FILES.contains(path.substring(slash + 1).toLowerCase(Locale.ROOT))) {
+                // Tanpa slash di akhir, sama seperti hasil UrlHandler.normalizeUrl
+                path = slash <= 0 ? "/" : path.substring(0, slash);
+            }
+        }
+
+        return path;
+    }
+
+    /**
+     * Method untuk membuang parameter query yang cocok dengan pola, lalu mengurutkan sisanya jika diaktifkan.
+     * Parameter dengan nama yang sama tetap dalam urutan aslinya.
+     */
+    private String canonicalizeQuery(String query) {
+        List<String> params = new ArrayList<>();
+        for (String param : query.split("&")) {
+            if (!param.isEmpty() && !isStripped(param.split("=", 2)[0])) {
+                params.add(param);
+            }
+        }
+
+        if (isSortParams) {
+            params.sort(Comparator.comparing(param -> param.split("=", 2)[0]));
+        }
+
+        return String.join("&", params);
+    }
+
+    private boolean isStripped(String name) {
+        for (Pattern pattern : stripParams) {
+            if (pattern.matcher(name).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWww(String host) {
+        return host.regionMatches(true, 0, "www.", 0, 4) ? host.substring(4) : host;
+    }
+
+    /**
+     * Method untuk mengubah pola nama parameter (dengan wildcard "*") menjadi regex.
+     */
+    private static Pattern toPattern(String glob) {
+        String[] parts = glob.split("\\*", -1);
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(parts[i]));
+        }
+        return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE);
+    }
+}
@@ -0,0 +1,194 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Kelas himpunan URL yang sudah ditemukan, dengan memori yang hemat.
+ *
+ * URL tidak disimpan sebagai String, melainkan sebagai fingerprint 64-bit di tabel long[] dengan
+ * open addressing (linear probing), sehingga satu URL hanya memakan sekitar 8-16 byte.
+ * Tabel dibagi ke beberapa segmen dengan lock masing-masing supaya worker tidak saling menunggu.
+ *
+ * Dua URL berbeda bisa saja punya fingerprint yang sama; peluangnya sekitar n² / 2^65
+ * (kurang dari satu per sejuta untuk 10 juta URL), dan akibatnya hanya satu URL tidak diperiksa.
+ */
+public class UrlSeenSet {
+    // Jumlah segmen (harus pangkat 2)
+    private static final int SEGMENT_COUNT = 16;
+
+    // Batas rasio isi tabel sebelum diperbesar
+    private static final double MAX_LOAD = 0.6;
+
+    // Nilai penanda slot kosong di tabel
+    private static final long EMPTY = 0L;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    /**
+     * Satu segmen tabel fingerprint.
+     */
+    private static class Segment {
+        final ReentrantLock lock = new ReentrantLock();
+        long[] table;
+        int size;
+
+        Segment(int capacity) {
+            table = new long[capacity];
+        }
+    }
+
+    /**
+     * @param expectedSize : perkiraan jumlah URL (tabel tetap membesar jika terlampaui)
+     */
+    public UrlSeenSet(int expectedSize) {
+        // Kapasitas awal per segmen, dibulatkan ke pangkat 2
+        int perSegment = (int) Math.min(1 << 30, Math.max(16, (long) (expectedSize / SEGMENT_COUNT / MAX_LOAD) + 1));
+        int capacity = Integer.highestOneBit(perSegment - 1) << 1;
+
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(capacity);
+        }
+    }
+
+    /**
+     * Method untuk menambahkan URL ke himpunan.
+     *
+     * @param url : URL yang sudah dinormalisasi
+     * @return true jika URL baru pertama kali ditemukan, false jika sudah pernah ditambahkan
+     */
+    public boolean add(String url) {
+        long fp = fingerprint(url);
+        Segment segment = segmentOf(fp);
+
+        segment.lock.lock();
+        try {
+            // Perbesar tabel sebelum terlalu penuh
+            if (segment.size + 1 > segment.table.length * MAX_LOAD) {
+                resize(segment);
+            }
+
+            if (!insert(segment.table, fp)) {
+                return false;
+            }
+
+            segment.size++;
+            return true;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * @param url : URL yang sudah dinormalisasi
+     * @return true jika URL sudah pernah ditambahkan
+     */
+    public boolean contains(String url) {
+        long fp = fingerprint(url);
+        Segment segment = segmentOf(fp);
+
+        segment.lock.lock();
+        try {
+            long[] table = segment.table;
+            int mask = table.length - 1;
+
+            for (int i = (int) fp & mask; table[i] != EMPTY; i = (i + 1) & mask) {
+                if (table[i] == fp) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * @return jumlah URL di himpunan
+     */
+    public int size() {
+        int total = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                total += segment.size;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Method untuk mengosongkan himpunan (kapasitas tabel dipertahankan).
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                Arrays.fill(segment.table, EMPTY);
+                segment.size = 0;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    private Segment segmentOf(long fp) {
+        // Pakai bit teratas untuk segmen, bit bawah untuk posisi di tabel
+        return segments[(int) (fp >>> 60) & (SEGMENT_COUNT - 1)];
+    }
+
+    /**
+     * Method untuk memasukkan fingerprint ke tabel dengan linear probing.
+     *
+     * @return true jika dimasukkan, false jika sudah ada
+     */
+    private static boolean insert(long[] table, long fp) {
+        int mask = table.length - 1;
+        int i = (int) fp & mask;
+
+        while (table[i] != EMPTY) {
+            if (table[i] == fp) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+
+        table[i] = fp;
+        return true;
+    }
+
+    /**
+     * Method untuk menggandakan kapasitas tabel satu segmen.
+     */
+    private static void resize(Segment segment) {
+        long[] bigger = new long[segment.table.length * 2];
+        for (long fp : segment.table) {
+            if (fp != EMPTY) {
+                insert(bigger, fp);
+            }
+        }
+        segment.table = bigger;
+    }
+
+    /**
+     * Method untuk menghitung fingerprint 64-bit dari URL (FNV-1a lalu diacak dengan finalizer MurmurHash3).
+     * Nilai 0 dipakai sebagai penanda slot kosong, jadi tidak pernah dihasilkan.
+     */
+    static long fingerprint(String url) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < url.length(); i++) {
+            h ^= url.charAt(i);
+            h *= 0x100000001b3L;
+        }
+
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+
+        return h == EMPTY ? 1L : h;
+    }
+}
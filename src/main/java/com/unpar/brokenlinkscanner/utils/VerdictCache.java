@@ -0,0 +1,282 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import com.unpar.brokenlinkscanner.models.Link;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Kelas cache hasil pemeriksaan link eksternal yang disimpan di file lokal, dipakai lagi antar proses crawling.
+ *
+ * Setiap hasil disimpan dengan waktu pemeriksaannya, dan berlaku selama TTL sesuai jenis hasilnya:
+ * berhasil, error 4xx, error 5xx, atau error jaringan (DNS, koneksi, timeout, SSL). TTL 0 berarti
+ * hasil jenis itu tidak disimpan. Hasil baru ditambahkan ke akhir file selama crawling, lalu file
+ * ditulis ulang tanpa hasil yang sudah kedaluwarsa saat cache ditutup.
+ *
+ * Format record: [short jumlah field][field dengan format writeUTF]...
+ * Field: {url, finalUrl, statusCode, contentType, error, checkedAt}
+ */
+public class VerdictCache implements AutoCloseable {
+    // Jumlah field setiap record
+    private static final int FIELD_COUNT = 6;
+
+    // Lock untuk menulis file
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Hasil pemeriksaan per URL
+    private final Map<String, Verdict> verdicts = new ConcurrentHashMap<>();
+
+    // Lokasi file cache
+    private final Path file;
+
+    // TTL setiap jenis hasil (milidetik)
+    private final long okTtl;
+    private final long clientErrorTtl;
+    private final long serverErrorTtl;
+    private final long networkErrorTtl;
+
+    // Stream untuk menambahkan hasil baru ke file
+    private DataOutputStream out;
+
+    /**
+     * Hasil pemeriksaan satu URL.
+     */
+    public static class Verdict {
+        private final String finalUrl;
+        private final int statusCode;
+        private final String contentType;
+        private final String error;
+        private final long checkedAt;
+
+        private Verdict(String finalUrl, int statusCode, String contentType, String error, long checkedAt) {
+            this.finalUrl = finalUrl;
+            this.statusCode = statusCode;
+            this.contentType = contentType;
+            this.error = error;
+            this.checkedAt = checkedAt;
+        }
+
+        /**
+         * Method untuk mengisi Link dengan hasil pemeriksaan ini.
+         *
+         * @param link : link dengan URL yang sama
+         */
+        public void applyTo(Link link) {
+            link.setFinalUrl(finalUrl);
+            link.setStatusCode(statusCode);
+            link.setContentType(contentType);
+            link.setError(error);
+        }
+
+        /**
+         * @return waktu pemeriksaan (epoch milidetik)
+         */
+        public long getCheckedAt() {
+            return checkedAt;
+        }
+    }
+
+    /**
+     * @param file            : lokasi file cache
+     * @param okTtl           : TTL hasil berhasil (milidetik)
+     * @param clientErrorTtl  : TTL hasil dengan status code 4xx (milidetik)
+     * @param serverErrorTtl  : TTL hasil dengan status code 5xx (milidetik)
+     * @param networkErrorTtl : TTL hasil tanpa response, misalnya DNS, koneksi, timeout, atau SSL (milidetik)
+     */
+    public VerdictCache(Path file, long okTtl, long clientErrorTtl, long serverErrorTtl, long networkErrorTtl) {
+        this.file = file;
+        this.okTtl = okTtl;
+        this.clientErrorTtl = clientErrorTtl;
+        this.serverErrorTtl = serverErrorTtl;
+        this.networkErrorTtl = networkErrorTtl;
+    }
+
+    /**
+     * Method untuk membaca hasil yang masih berlaku dari file, lalu membuka file untuk ditambah hasil baru.
+     * Jika file gagal dibaca atau ditulis, cache tetap bisa dipakai di memori.
+     */
+    public void open() {
+        lock.lock();
+        try {
+            verdicts.clear();
+
+            if (Files.exists(file)) {
+                read();
+            }
+
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        } catch (IOException e) {
+            // Cache hanya mempercepat crawling, jadi cukup dipakai di memori
+            out = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method untuk mengambil hasil pemeriksaan URL yang masih berlaku.
+     *
+     * @param url : URL yang sudah dinormalisasi
+     * @return hasil pemeriksaan, atau null jika tidak ada atau sudah kedaluwarsa
+     */
+    public Verdict get(String url) {
+        Verdict verdict = verdicts.get(url);
+        if (verdict == null) {
+            return null;
+        }
+
+        if (isExpired(verdict, System.currentTimeMillis())) {
+            verdicts.remove(url, verdict);
+            return null;
+        }
+
+        return verdict;
+    }
+
+    /**
+     * Method untuk menyimpan hasil pemeriksaan link.
+     *
+     * @param link : link yang sudah selesai diperiksa
+     */
+    public void put(Link link) {
+        Verdict verdict = new Verdict(link.getFinalUrl(), link.getStatusCode(), link.getContentType(), link.getError(), System.currentTimeMillis());
+
+        // Jenis hasil dengan TTL 0 tidak disimpan
+        if (getTtl(verdict) <= 0) {
+            return;
+        }
+
+        verdicts.put(link.getUrl(), verdict);
+
+        lock.lock();
+        try {
+            if (out != null) {
+                write(out, link.getUrl(), verdict);
+            }
+        } catch (IOException e) {
+            // Gagal menulis ke file, hasil tetap ada di memori
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return jumlah hasil pemeriksaan di cache
+     */
+    public int size() {
+        return verdicts.size();
+    }
+
+    /**
+     * Method untuk menutup file lalu menulis ulang isinya tanpa hasil yang sudah kedaluwarsa.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (out == null) {
+                return;
+            }
+
+            out.close();
+            out = null;
+
+            // Tulis ke file sementara dulu supaya file lama tetap utuh jika penulisan gagal
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            long now = System.currentTimeMillis();
+            try (DataOutputStream compact = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                for (var entry : verdicts.entrySet()) {
+                    if (!isExpired(entry.getValue(), now)) {
+                        write(compact, entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ignored) {
+            // File lama tetap bisa dibaca, hasil kedaluwarsa dibuang saat dibaca
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method untuk membaca semua record utuh dari file. Record yang lebih baru menimpa record lama dengan URL sama.
+     */
+    private void read() throws IOException {
+        long now = System.currentTimeMillis();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                String[] fields;
+                try {
+                    fields = new String[in.readShort()];
+                    for (int i = 0; i < fields.length; i++) {
+                        fields[i] = in.readUTF();
+                    }
+                } catch (EOFException | UTFDataFormatException e) {
+                    // Akhir file atau record terakhir terpotong
+                    break;
+                }
+
+                if (fields.length != FIELD_COUNT) {
+                    // Format tidak dikenal, abaikan sisa file
+                    break;
+                }
+
+                try {
+                    Verdict verdict = new Verdict(fields[1], Integer.parseInt(fields[2]), fields[3], fields[4], Long.parseLong(fields[5]));
+                    if (!isExpired(verdict, now)) {
+                        verdicts.put(fields[0], verdict);
+                    }
+                } catch (NumberFormatException e) {
+                    // Record rusak, lewati
+                }
+            }
+        }
+    }
+
+    private static void write(DataOutputStream out, String url, Verdict verdict) throws IOException {
+        out.writeShort(FIELD_COUNT);
+        out.writeUTF(url);
+        out.writeUTF(verdict.finalUrl);
+        out.writeUTF(String.valueOf(verdict.statusCode));
+        out.writeUTF(verdict.contentType);
+        out.writeUTF(verdict.error);
+        out.writeUTF(String.valueOf(verdict.checkedAt));
+    }
+
+    private boolean isExpired(Verdict verdict, long now) {
+        return now - verdict.checkedAt >= getTtl(verdict);
+    }
+
+    /**
+     * @return TTL sesuai jenis hasil pemeriksaan
+     */
+    private long getTtl(Verdict verdict) {
+        if (verdict.error.isEmpty()) {
+            return okTtl;
+        }
+        if (verdict.statusCode >= 500) {
+            return serverErrorTtl;
+        }
+        if (verdict.statusCode >= 400) {
+            return clientErrorTtl;
+        }
+        return networkErrorTtl;
+    }
+}
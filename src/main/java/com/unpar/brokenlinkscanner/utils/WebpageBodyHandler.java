@@ -0,0 +1,75 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * BodyHandler untuk link internal yang memutuskan dari header response apakah body perlu dibaca.
+ *
+ * Body hanya dibuka sebagai stream jika response bisa menjadi halaman web (status 200, Content-Type HTML,
+ * dan Content-Length tidak nol). Selain itu body langsung dibatalkan tanpa diunduh, dan hasil body-nya null.
+ */
+public class WebpageBodyHandler implements HttpResponse.BodyHandler<InputStream> {
+
+    @Override
+    public HttpResponse.BodySubscriber<InputStream> apply(HttpResponse.ResponseInfo info) {
+        // Ambil Content-Type dan Content-Length dari header response
+        String contentType = info.headers().firstValue("Content-Type").orElse("");
+        long contentLength = info.headers().firstValueAsLong("Content-Length").orElse(-1L);
+
+        // Jika response bisa menjadi halaman web, baca body sebagai stream
+        if (info.statusCode() == 200 && isHtml(contentType) && contentLength != 0) {
+            return HttpResponse.BodySubscribers.ofInputStream();
+        }
+
+        // Selain itu batalkan body saat itu juga
+        return new CancellingSubscriber();
+    }
+
+    /**
+     * Method untuk menentukan apakah Content-Type merupakan dokumen HTML.
+     * Content-Type kosong tetap dianggap HTML karena banyak server tidak mengirimkannya.
+     *
+     * @param contentType : nilai header Content-Type
+     * @return true jika HTML atau tidak diketahui
+     */
+    public static boolean isHtml(String contentType) {
+        String type = contentType.toLowerCase();
+
+        return type.isBlank() || type.startsWith("text/html") || type.startsWith("application/xhtml+xml");
+    }
+
+    /**
+     * BodySubscriber yang langsung membatalkan subscription body dan mengembalikan body null.
+     */
+    private static class CancellingSubscriber implements HttpResponse.BodySubscriber<InputStream> {
+
+        @Override
+        public CompletionStage<InputStream> getBody() {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            // Hentikan pengiriman body sebelum ada byte yang diminta
+            subscription.cancel();
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.unpar.brokenlinkscanner.services;
+
+import com.sun.net.httpserver.HttpServer;
+import com.unpar.brokenlinkscanner.models.CrawlConfig;
+import com.unpar.brokenlinkscanner.models.CrawlEngine;
+import com.unpar.brokenlinkscanner.models.Link;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrawlerTest {
+    @TempDir
+    Path dir;
+
+    private HttpServer server;
+    private String root;
+
+    // Link yang diterima receiver, per URL
+    private final Map<String, Link> received = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.start();
+        root = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private void page(String path, String body) {
+        byte[] bytes = ("<html><head></head><body>" + body + "</body></html>").getBytes(StandardCharsets.UTF_8);
+        server.createContext(path, exchange -> {
+            // Context juga menangkap path yang lebih panjang, path lain dijawab 404
+            boolean isMatch = exchange.getRequestURI().getPath().equals(path);
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(isMatch ? 200 : 404, isMatch ? bytes.length : -1);
+            try (OutputStream out = exchange.getResponseBody()) {
+                if (isMatch) {
+                    out.write(bytes);
+                }
+            }
+        });
+    }
+
+    private void pageWithEtag(String path, String body) {
+        byte[] bytes = ("<html><head></head><body>" + body + "</body></html>").getBytes(StandardCharsets.UTF_8);
+        server.createContext(path, exchange -> {
+            if (!exchange.getRequestURI().getPath().equals(path)) {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+                return;
+            }
+
+            // Server menjawab 304 jika crawler mengirim ETag yang sama
+            boolean isNotModified = "\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"));
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            exchange.sendResponseHeaders(isNotModified ? 304 : 200, isNotModified ? -1 : bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                if (!isNotModified) {
+                    out.write(bytes);
+                }
+            }
+        });
+    }
+
+    /**
+     * Method untuk melayani link eksternal dengan status berbeda untuk HEAD, GET dengan Range, dan GET biasa.
+     * Setiap request dicatat sebagai "HEAD", "GET (Range)", atau "GET".
+     */
+    private List<String> external(String path, int headStatus, int rangeStatus, int getStatus) {
+        List<String> requests = Collections.synchronizedList(new ArrayList<>());
+        server.createContext(path, exchange -> {
+            boolean isHead = exchange.getRequestMethod().equals("HEAD");
+            boolean isRanged = exchange.getRequestHeaders().containsKey("Range");
+            requests.add(isHead ? "HEAD" : isRanged ? "GET (Range)" : "GET");
+
+            int status = isHead ? headStatus : isRanged ? rangeStatus : getStatus;
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        return requests;
+    }
+
+    private CrawlConfig config() {
+        CrawlConfig config = new CrawlConfig();
+        config.setRequestTimeout(5000);
+        config.setMaxRetries(0);
+        config.setSpillDirectory(dir.toString());
+        config.setCheckpointFile("");
+        config.setPageCacheFile("");
+        return config;
+    }
+
+    private void crawl(CrawlConfig config) {
+        Crawler crawler = new Crawler(link -> received.put(link.getUrl(), link), config);
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> crawler.start(root + "/"));
+    }
+
+    private void serveTree() {
+        // Root → 10 halaman → masing-masing 3 halaman anak, ditambah satu link rusak
+        StringBuilder rootBody = new StringBuilder("<a href=\"/missing\">missing</a>");
+        for (int i = 0; i < 10; i++) {
+            rootBody.append("<a href=\"/s").append(i).append("\">s").append(i).append("</a>");
+
+            StringBuilder section = new StringBuilder();
+            for (int j = 0; j < 3; j++) {
+                section.append("<a href=\"/s").append(i).append("/p").append(j).append("\">p</a>");
+                page("/s" + i + "/p" + j, "<p>leaf</p>");
+            }
+            page("/s" + i, section.toString());
+        }
+        page("/", rootBody.toString());
+    }
+
+    @Test
+    void spilledFrontierIsCrawledCompletely() {
+        serveTree();
+
+        // Batas memori frontier 1: hampir semua halaman lewat disk, crawling tetap selesai dan lengkap
+        CrawlConfig config = config();
+        config.setFrontierMemoryLimit(1);
+        config.setWorkerCount(4);
+        crawl(config);
+
+        assertEquals(42, received.size());
+        assertEquals(404, received.get(root + "/missing").getStatusCode());
+        assertEquals(200, received.get(root + "/s9/p2").getStatusCode());
+
+        // Sumber halaman yang dicatat saat link ada di disk tetap ditambahkan
+        assertEquals(Set.of(root + "/s3"), Set.of(received.get(root + "/s3/p1").getWebpageSources().keySet().iterator().next().getUrl()));
+    }
+
+    @Test
+    void asyncEngineFinishesWithSpilledFrontier() {
+        serveTree();
+
+        CrawlConfig config = config();
+        config.setFrontierMemoryLimit(1);
+        config.setEngine(CrawlEngine.ASYNC);
+        crawl(config);
+
+        assertEquals(42, received.size());
+    }
+
+    @Test
+    void canonicalDuplicateIsNotFollowed() {
+        page("/", "<a href=\"/original\">original</a><a href=\"/print\">print</a>");
+        page("/original", "<p>Artikel</p>");
+        page("/print", "<link rel=\"canonical\" href=\"/original\"><p>Artikel cetak</p><a href=\"/only-from-print\">more</a>");
+        page("/only-from-print", "<p>x</p>");
+
+        CrawlConfig config = config();
+        config.setSkipDuplicates(true);
+        crawl(config);
+
+        assertEquals(root + "/original", received.get(root + "/print").getDuplicateOf());
+        assertEquals("", received.get(root + "/original").getDuplicateOf());
+        assertFalse(received.containsKey(root + "/only-from-print"));
+    }
+
+    @Test
+    void pageWithSameTextIsNotFollowed() {
+        // Teks cukup panjang supaya dibuatkan sidik jari. /copy hanya bisa ditemukan dari /article,
+        // jadi /article selalu diproses lebih dulu
+        String text = "<p>" + "Isi artikel yang cukup panjang. ".repeat(10) + "</p>";
+        page("/", "<a href=\"/article\">article</a>");
+        page("/article", text + "<a href=\"/copy\">next</a>");
+        page("/copy", text + "<a href=\"/only-from-copy\">next</a>");
+        page("/only-from-copy", "<p>x</p>");
+
+        CrawlConfig config = config();
+        config.setSkipDuplicates(true);
+        config.setWorkerCount(1);
+        crawl(config);
+
+        assertEquals(root + "/article", received.get(root + "/copy").getDuplicateOf());
+        assertFalse(received.containsKey(root + "/only-from-copy"));
+    }
+
+    @Test
+    void duplicatesAreFollowedWhenDisabled() {
+        page("/", "<a href=\"/original\">original</a><a href=\"/print\">print</a>");
+        page("/original", "<p>Artikel</p>");
+        page("/print", "<link rel=\"canonical\" href=\"/original\"><a href=\"/only-from-print\">more</a>");
+        page("/only-from-print", "<p>x</p>");
+
+        CrawlConfig config = config();
+        config.setSkipDuplicates(false);
+        crawl(config);
+
+        assertEquals("", received.get(root + "/print").getDuplicateOf());
+        assertTrue(received.containsKey(root + "/only-from-print"));
+    }
+
+    @Test
+    void notModifiedPageUsesCurrentCanonicalization() {
+        pageWithEtag("/", "<a href=\"/a?utm_source=mail\">a</a>");
+        page("/a", "<p>a</p>");
+
+        CrawlConfig config = config();
+        config.setPageCacheFile(dir.resolve("pages.cache").toString());
+        crawl(config);
+        assertTrue(received.containsKey(root + "/a?utm_source=mail"));
+
+        // Crawling ulang dengan aturan kanonikalisasi baru: halaman tidak diunduh ulang,
+        // tetapi link yang tersimpan tetap dikanonikalisasi
+        received.clear();
+        config.setStripParams("utm_*");
+        crawl(config);
+
+        assertEquals(Crawler.METHOD_NOT_MODIFIED, received.get(root + "/").getCheckMethod());
+        assertTrue(received.containsKey(root + "/a"));
+        assertFalse(received.containsKey(root + "/a?utm_source=mail"));
+    }
+
+    @Test
+    void notModifiedPageKeepsNofollow() {
+        pageWithEtag("/", "<meta name=\"robots\" content=\"nofollow\"><a href=\"/a\">a</a>");
+        page("/a", "<p>a</p>");
+
+        // Crawling pertama mengabaikan robots, crawling ulang mematuhinya
+        CrawlConfig config = config();
+        config.setPageCacheFile(dir.resolve("pages.cache").toString());
+        config.setRespectRobots(false);
+        crawl(config);
+        assertTrue(received.containsKey(root + "/a"));
+
+        received.clear();
+        config.setRespectRobots(true);
+        crawl(config);
+
+        assertEquals(Crawler.METHOD_NOT_MODIFIED, received.get(root + "/").getCheckMethod());
+        assertFalse(received.containsKey(root + "/a"));
+    }
+
+    @Test
+    void headNotFoundIsNotRetriedWithGet() {
+        List<String> requests = external("/gone", 404, 200, 200);
+        String url = "http://localhost:" + server.getAddress().getPort() + "/gone";
+        page("/", "<a href=\"" + url + "\">gone</a>");
+
+        crawl(config());
+
+        assertEquals(List.of("HEAD"), requests);
+        assertEquals(404, received.get(url).getStatusCode());
+        assertEquals(Crawler.METHOD_HEAD, received.get(url).getCheckMethod());
+    }
+
+    @Test
+    void rangeNotSatisfiableIsRetriedWithoutRange() {
+        List<String> requests = external("/empty", 405, 416, 200);
+        String url = "http://localhost:" + server.getAddress().getPort() + "/empty";
+        page("/", "<a href=\"" + url + "\">empty</a>");
+
+        crawl(config());
+
+        assertEquals(List.of("HEAD", "GET (Range)", "GET"), requests);
+        assertEquals(200, received.get(url).getStatusCode());
+        assertEquals(Crawler.METHOD_GET, received.get(url).getCheckMethod());
+    }
+
+    @Test
+    void asyncEngineRetriesRangeNotSatisfiableWithoutRange() {
+        List<String> requests = external("/empty", 405, 416, 200);
+        String url = "http://localhost:" + server.getAddress().getPort() + "/empty";
+        page("/", "<a href=\"" + url + "\">empty</a>");
+
+        CrawlConfig config = config();
+        config.setEngine(CrawlEngine.ASYNC);
+        crawl(config);
+
+        assertEquals(List.of("HEAD", "GET (Range)", "GET"), requests);
+        assertEquals(200, received.get(url).getStatusCode());
+    }
+
+    @Test
+    void pageBeyondDepthIsCheckedWithoutVerdictCache() {
+        AtomicInteger status = new AtomicInteger(200);
+        server.createContext("/deep", exchange -> {
+            exchange.sendResponseHeaders(status.get(), -1);
+            exchange.close();
+        });
+        page("/a", "<a href=\"/deep\">deep</a>");
+        page("/", "<a href=\"/a\">a</a>");
+
+        CrawlConfig config = config();
+        config.setMaxDepth(1);
+        config.setVerdictCacheFile(dir.resolve("verdicts.cache").toString());
+        crawl(config);
+
+        assertEquals(200, received.get(root + "/deep").getStatusCode());
+        assertEquals(Crawler.METHOD_HEAD, received.get(root + "/deep").getCheckMethod());
+
+        // Halaman internal tidak disimpan di cache hasil link eksternal, jadi perubahan statusnya langsung terlihat
+        status.set(404);
+        received.clear();
+        crawl(config);
+
+        assertEquals(404, received.get(root + "/deep").getStatusCode());
+        assertEquals(Crawler.METHOD_HEAD, received.get(root + "/deep").getCheckMethod());
+    }
+
+    @Test
+    void checkpointIsDeletedAfterCompletedCrawl() {
+        serveTree();
+        Path checkpoint = dir.resolve("checkpoint.journal");
+
+        CrawlConfig config = config();
+        config.setCheckpointFile(checkpoint.toString());
+        crawl(config);
+
+        assertEquals(42, received.size());
+        assertFalse(Files.exists(checkpoint));
+    }
+
+    @Test
+    void checkpointIsKeptAfterStop() {
+        serveTree();
+        Path checkpoint = dir.resolve("checkpoint.journal");
+
+        CrawlConfig config = config();
+        config.setCheckpointFile(checkpoint.toString());
+
+        // Hentikan crawling begitu hasil pertama diterima
+        Crawler[] crawler = new Crawler[1];
+        crawler[0] = new Crawler(link -> crawler[0].stop(), config);
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> crawler[0].start(root + "/"));
+
+        assertTrue(crawler[0].isStoppedByUser());
+        assertEquals(root + "/", Crawler.readCheckpointSeed(checkpoint));
+    }
+}
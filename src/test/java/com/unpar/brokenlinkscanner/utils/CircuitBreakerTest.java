@@ -0,0 +1,97 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static CircuitBreaker open(long probeInterval) {
+        CircuitBreaker breaker = new CircuitBreaker(2, probeInterval);
+        breaker.onFailure("Timeout");
+        breaker.onFailure("Timeout");
+        return breaker;
+    }
+
+    @Test
+    void sameErrorTripsAfterThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker(3, 60_000);
+        breaker.onFailure("Timeout");
+        breaker.onFailure("Connection Refused");
+        breaker.onFailure("Connection Refused");
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.onFailure("Connection Refused");
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals("Connection Refused", breaker.getCachedError());
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    void otherErrorsDoNotTrip() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 60_000);
+        breaker.onFailure("SSL Error");
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    void successfulProbeCloses() {
+        CircuitBreaker breaker = open(0);
+
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        // Hanya satu request percobaan yang berjalan
+        assertFalse(breaker.allowRequest());
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals("", breaker.getCachedError());
+    }
+
+    @Test
+    void failedProbeReopens() {
+        CircuitBreaker breaker = open(0);
+        assertTrue(breaker.allowRequest());
+
+        breaker.onFailure("Timeout");
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void abortedProbeReopensAndWaitsAgain() throws InterruptedException {
+        CircuitBreaker breaker = open(100);
+        Thread.sleep(150);
+        assertTrue(breaker.allowRequest());
+
+        // Request percobaan berakhir tanpa response, circuit tidak boleh tertahan di HALF_OPEN
+        breaker.onAborted();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals("Timeout", breaker.getCachedError());
+
+        // Jeda percobaan dimulai lagi dari saat request dibatalkan
+        assertFalse(breaker.allowRequest());
+        Thread.sleep(150);
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    void abortDoesNotChangeClosedOrOpenCircuit() {
+        CircuitBreaker closed = new CircuitBreaker(2, 0);
+        closed.onAborted();
+        assertEquals(CircuitBreaker.State.CLOSED, closed.getState());
+
+        CircuitBreaker open = open(60_000);
+        open.onAborted();
+        assertEquals(CircuitBreaker.State.OPEN, open.getState());
+        assertFalse(open.allowRequest());
+    }
+
+    @Test
+    void invalidSettingsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(0, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(1, -1));
+    }
+}
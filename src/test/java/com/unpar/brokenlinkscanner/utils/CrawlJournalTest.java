@@ -0,0 +1,186 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import com.unpar.brokenlinkscanner.models.Link;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrawlJournalTest {
+    @TempDir
+    Path dir;
+
+    /**
+     * Satu record hasil replay.
+     */
+    private static class Entry {
+        final byte type;
+        final String[] fields;
+
+        Entry(byte type, String[] fields) {
+            this.type = type;
+            this.fields = fields;
+        }
+    }
+
+    private static List<Entry> replay(Path file) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        CrawlJournal.replay(file, (type, fields) -> entries.add(new Entry(type, fields)));
+        return entries;
+    }
+
+    private static Link queuedLink(String url, Link source) {
+        Link link = new Link(url);
+        link.setDepth(1);
+        link.addWebpageSource(source, "anchor");
+        return link;
+    }
+
+    @Test
+    void replayReturnsRecordsInOrder() throws IOException {
+        Path file = dir.resolve("checkpoint.journal");
+        Link seed = new Link("https://example.com/");
+
+        try (CrawlJournal journal = new CrawlJournal(file, 0)) {
+            journal.create(seed.getUrl());
+            journal.writeQueued(queuedLink("https://example.com/a", seed), true);
+            journal.writeQueued(queuedLink("https://other.com/", seed), false);
+            journal.writeSource("https://example.com/a", "https://example.com/b", "again");
+        }
+
+        List<Entry> entries = replay(file);
+        assertEquals(4, entries.size());
+        assertEquals(CrawlJournal.HEADER, entries.get(0).type);
+        assertArrayEquals(new String[]{"https://example.com/"}, entries.get(0).fields);
+        assertEquals(CrawlJournal.QUEUED_PAGE, entries.get(1).type);
+        assertArrayEquals(new String[]{"https://example.com/a", "1", "https://example.com/", "anchor"}, entries.get(1).fields);
+        assertEquals(CrawlJournal.QUEUED_EXTERNAL, entries.get(2).type);
+        assertEquals(CrawlJournal.SOURCE, entries.get(3).type);
+        assertArrayEquals(new String[]{"https://example.com/a", "https://example.com/b", "again"}, entries.get(3).fields);
+    }
+
+    @Test
+    void doneRecordRoundTrip() throws IOException {
+        Path file = dir.resolve("checkpoint.journal");
+
+        Link link = new Link("https://example.com/print");
+        link.setFinalUrl("https://example.com/print/");
+        link.setStatusCode(404);
+        link.setContentType("text/html");
+        link.setError("Not Found");
+        link.setIsWebpage(true);
+        link.setCheckMethod("GET");
+        link.setAttempts(2);
+        link.setElapsedTime(1234);
+        link.setDepth(3);
+        link.setIsTruncated(true);
+        link.setDuplicateOf("https://example.com/");
+
+        try (CrawlJournal journal = new CrawlJournal(file, 0)) {
+            journal.create("https://example.com/");
+            journal.writeDone(link);
+        }
+
+        List<Entry> entries = replay(file);
+        assertEquals(CrawlJournal.DONE, entries.get(1).type);
+
+        Link restored = CrawlJournal.toDoneLink(entries.get(1).fields);
+        assertEquals(link.getUrl(), restored.getUrl());
+        assertEquals(link.getFinalUrl(), restored.getFinalUrl());
+        assertEquals(404, restored.getStatusCode());
+        assertEquals("text/html", restored.getContentType());
+        assertEquals("Not Found", restored.getError());
+        assertTrue(restored.isWebpage());
+        assertEquals("GET", restored.getCheckMethod());
+        assertEquals(2, restored.getAttempts());
+        assertEquals(1234, restored.getElapsedTime());
+        assertEquals(3, restored.getDepth());
+        assertTrue(restored.isTruncated());
+        assertEquals("https://example.com/", restored.getDuplicateOf());
+    }
+
+    @Test
+    void doneRecordWithoutDuplicateField() {
+        // Record DONE dari checkpoint lama belum punya field duplicateOf
+        String[] fields = {"https://example.com/", "https://example.com/", "200", "text/html", "", "true", "GET", "1", "10", "0", "false"};
+
+        Link restored = CrawlJournal.toDoneLink(fields);
+        assertEquals(200, restored.getStatusCode());
+        assertEquals("", restored.getDuplicateOf());
+    }
+
+    @Test
+    void truncatedLastRecordIsIgnoredAndOverwritten() throws IOException {
+        Path file = dir.resolve("checkpoint.journal");
+        Link seed = new Link("https://example.com/");
+
+        try (CrawlJournal journal = new CrawlJournal(file, 0)) {
+            journal.create(seed.getUrl());
+            journal.writeQueued(queuedLink("https://example.com/a", seed), true);
+            journal.writeQueued(queuedLink("https://example.com/b", seed), true);
+        }
+
+        // Potong beberapa byte terakhir, seperti JVM yang mati saat menulis record
+        long fullLength = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(fullLength - 3);
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        long validLength = CrawlJournal.replay(file, (type, fields) -> entries.add(new Entry(type, fields)));
+        assertEquals(2, entries.size());
+        assertTrue(validLength < fullLength - 3);
+
+        // Record baru ditulis setelah record utuh terakhir, bukan setelah sisa record yang terpotong
+        try (CrawlJournal journal = new CrawlJournal(file, 0)) {
+            journal.reopen(validLength);
+            journal.writeQueued(queuedLink("https://example.com/c", seed), true);
+        }
+
+        List<Entry> reopened = replay(file);
+        assertEquals(3, reopened.size());
+        assertEquals("https://example.com/a", reopened.get(1).fields[0]);
+        assertEquals("https://example.com/c", reopened.get(2).fields[0]);
+    }
+
+    @Test
+    void createDiscardsPreviousJournal() throws IOException {
+        Path file = dir.resolve("nested").resolve("checkpoint.journal");
+        Link seed = new Link("https://example.com/");
+
+        try (CrawlJournal journal = new CrawlJournal(file, 0)) {
+            journal.create(seed.getUrl());
+            journal.writeQueued(queuedLink("https://example.com/a", seed), true);
+        }
+        try (CrawlJournal journal = new CrawlJournal(file, 0)) {
+            journal.create("https://other.com/");
+        }
+
+        List<Entry> entries = replay(file);
+        assertEquals(1, entries.size());
+        assertArrayEquals(new String[]{"https://other.com/"}, entries.get(0).fields);
+    }
+
+    @Test
+    void deleteRemovesJournal() throws IOException {
+        Path file = dir.resolve("checkpoint.journal");
+
+        CrawlJournal journal = new CrawlJournal(file, 0);
+        journal.create("https://example.com/");
+        journal.writeQueued(queuedLink("https://example.com/a", new Link("https://example.com/")), true);
+        journal.delete();
+
+        assertFalse(Files.exists(file));
+        // Menulis setelah dihapus tidak membuat file baru
+        journal.writeSource("https://example.com/a", "https://example.com/", "again");
+        assertFalse(Files.exists(file));
+    }
+}
@@ -0,0 +1,147 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import com.unpar.brokenlinkscanner.models.Link;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiskFrontierTest {
+    @TempDir
+    Path dir;
+
+    // Record dari disk yang sudah diubah kembali menjadi Link
+    private final List<String[]> loaded = new ArrayList<>();
+
+    private DiskFrontier frontier(int memoryLimit) {
+        return new DiskFrontier(memoryLimit, dir, record -> {
+            loaded.add(record);
+            Link link = new Link(record[0]);
+            link.setDepth(Integer.parseInt(record[1]));
+            return link;
+        });
+    }
+
+    private static Link page(int i) {
+        Link link = new Link("https://example.com/" + i);
+        link.setDepth(i % 5);
+        return link;
+    }
+
+    @Test
+    void spilledLinksKeepFifoOrder() {
+        DiskFrontier frontier = frontier(4);
+
+        int inMemory = 0;
+        for (int i = 0; i < 100; i++) {
+            if (frontier.offer(page(i))) {
+                inMemory++;
+            }
+        }
+        assertEquals(4, inMemory);
+        assertEquals(100, frontier.size());
+
+        for (int i = 0; i < 100; i++) {
+            Link link = frontier.poll();
+            assertEquals("https://example.com/" + i, link.getUrl());
+            assertEquals(i % 5, link.getDepth());
+        }
+        assertNull(frontier.poll());
+        assertTrue(frontier.isEmpty());
+        assertEquals(96, loaded.size());
+    }
+
+    @Test
+    void newLinksGoToDiskWhileDiskIsNotEmpty() {
+        DiskFrontier frontier = frontier(2);
+
+        assertTrue(frontier.offer(page(0)));
+        assertTrue(frontier.offer(page(1)));
+        assertFalse(frontier.offer(page(2)));
+
+        // Head punya tempat lagi, tapi link baru tetap ke disk supaya tidak mendahului link 2
+        assertEquals("https://example.com/0", frontier.poll().getUrl());
+        assertFalse(frontier.offer(page(3)));
+
+        assertEquals("https://example.com/1", frontier.poll().getUrl());
+        assertEquals("https://example.com/2", frontier.poll().getUrl());
+        assertEquals("https://example.com/3", frontier.poll().getUrl());
+    }
+
+    @Test
+    void spilledRecordKeepsFirstSource() {
+        DiskFrontier frontier = frontier(1);
+        Link source = new Link("https://example.com/");
+
+        frontier.offer(page(0));
+        Link spilled = page(1);
+        spilled.addWebpageSource(source, "Halaman satu");
+        assertFalse(frontier.offer(spilled));
+
+        frontier.poll();
+        frontier.poll();
+        assertArrayEquals(new String[]{"https://example.com/1", "1", "https://example.com/", "Halaman satu"}, loaded.get(0));
+    }
+
+    @Test
+    void offerInMemoryNeverSpills() {
+        DiskFrontier frontier = frontier(1);
+
+        for (int i = 0; i < 10; i++) {
+            frontier.offerInMemory(page(i));
+        }
+
+        assertEquals(10, frontier.size());
+        assertEquals("https://example.com/0", frontier.poll().getUrl());
+        assertTrue(loaded.isEmpty());
+    }
+
+    @Test
+    void pollWaitsForOffer() throws Exception {
+        DiskFrontier frontier = frontier(1);
+
+        assertNull(frontier.poll(10, TimeUnit.MILLISECONDS));
+
+        CompletableFuture<Link> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return frontier.poll(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+        frontier.offer(page(7));
+
+        assertEquals("https://example.com/7", waiting.get(5, TimeUnit.SECONDS).getUrl());
+    }
+
+    @Test
+    void clearDeletesSpillFiles() throws IOException {
+        DiskFrontier frontier = frontier(1);
+        for (int i = 0; i < 10; i++) {
+            frontier.offer(page(i));
+        }
+
+        frontier.clear();
+
+        assertTrue(frontier.isEmpty());
+        assertNull(frontier.poll());
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void invalidMemoryLimitIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> frontier(0));
+    }
+}
@@ -0,0 +1,112 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.net.spi.InetAddressResolver;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DnsCacheTest {
+    private static final InetAddressResolver.LookupPolicy IPV4 =
+            InetAddressResolver.LookupPolicy.of(InetAddressResolver.LookupPolicy.IPV4);
+
+    /**
+     * Resolver palsu yang menghitung lookup. Host "missing.test" tidak ditemukan.
+     */
+    private static class CountingResolver implements InetAddressResolver {
+        final AtomicInteger lookups = new AtomicInteger();
+
+        @Override
+        public Stream<InetAddress> lookupByName(String host, LookupPolicy lookupPolicy) throws UnknownHostException {
+            lookups.incrementAndGet();
+            if (host.equals("missing.test")) {
+                throw new UnknownHostException(host);
+            }
+            return Stream.of(InetAddress.getByAddress(host, new byte[]{127, 0, 0, 1}));
+        }
+
+        @Override
+        public String lookupByAddress(byte[] addr) {
+            return "";
+        }
+    }
+
+    @Test
+    void lookupsAreCachedOnlyWhileSessionIsOpen() throws UnknownHostException {
+        CountingResolver resolver = new CountingResolver();
+        DnsCache dns = new DnsCache(resolver);
+
+        // Tanpa sesi, setiap lookup diteruskan ke resolver bawaan
+        dns.lookupByName("a.test", IPV4);
+        dns.lookupByName("a.test", IPV4);
+        assertEquals(2, resolver.lookups.get());
+
+        DnsCache.Session session = DnsCache.openSession(60_000, 60_000);
+        try {
+            dns.lookupByName("a.test", IPV4);
+            dns.lookupByName("A.test", IPV4);
+            assertEquals(3, resolver.lookups.get());
+        } finally {
+            session.close();
+        }
+
+        // Setelah sesi ditutup, cache tidak dipakai lagi
+        dns.lookupByName("a.test", IPV4);
+        assertEquals(4, resolver.lookups.get());
+    }
+
+    @Test
+    void missingHostIsCachedForNegativeTtl() throws InterruptedException {
+        CountingResolver resolver = new CountingResolver();
+        DnsCache dns = new DnsCache(resolver);
+
+        DnsCache.Session session = DnsCache.openSession(60_000, 100);
+        try {
+            assertThrows(UnknownHostException.class, () -> dns.lookupByName("missing.test", IPV4));
+            assertThrows(UnknownHostException.class, () -> dns.lookupByName("missing.test", IPV4));
+            assertEquals(1, resolver.lookups.get());
+
+            Thread.sleep(150);
+            assertThrows(UnknownHostException.class, () -> dns.lookupByName("missing.test", IPV4));
+            assertEquals(2, resolver.lookups.get());
+        } finally {
+            session.close();
+        }
+    }
+
+    @Test
+    void shortestTtlOfOpenSessionsIsUsed() throws UnknownHostException {
+        CountingResolver resolver = new CountingResolver();
+        DnsCache dns = new DnsCache(resolver);
+
+        DnsCache.Session longTtl = DnsCache.openSession(60_000, 60_000);
+        try {
+            dns.lookupByName("a.test", IPV4);
+
+            // Crawling lain dengan TTL 0 tidak boleh mendapat hasil dari cache
+            DnsCache.Session noCache = DnsCache.openSession(0, 0);
+            try {
+                dns.lookupByName("a.test", IPV4);
+                dns.lookupByName("a.test", IPV4);
+                assertEquals(3, resolver.lookups.get());
+            } finally {
+                noCache.close();
+            }
+
+            dns.lookupByName("a.test", IPV4);
+            assertEquals(3, resolver.lookups.get());
+        } finally {
+            longTtl.close();
+        }
+    }
+
+    @Test
+    void negativeTtlIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> DnsCache.openSession(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> DnsCache.openSession(0, -1));
+    }
+}
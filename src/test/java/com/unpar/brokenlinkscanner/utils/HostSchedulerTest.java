@@ -0,0 +1,178 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HostSchedulerTest {
+
+    /**
+     * Task yang baru selesai saat future-nya diselesaikan dari test.
+     */
+    private static class ManualTask {
+        final String name;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        ManualTask(String name) {
+            this.name = name;
+        }
+    }
+
+    private static void submit(HostScheduler scheduler, String host, ManualTask task, List<String> started) {
+        scheduler.submit(host, () -> {
+            started.add(task.name);
+            return task.future;
+        });
+    }
+
+    @Test
+    void perHostCapLimitsRunningTasks() {
+        HostScheduler scheduler = new HostScheduler(10, 2, Runnable::run);
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+
+        List<ManualTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ManualTask task = new ManualTask("a" + i);
+            tasks.add(task);
+            submit(scheduler, "a.com", task, started);
+        }
+        ManualTask other = new ManualTask("b0");
+        submit(scheduler, "b.com", other, started);
+
+        // Host a.com hanya boleh menjalankan dua task, host lain tidak ikut tertahan
+        assertEquals(List.of("a0", "a1", "b0"), started);
+
+        tasks.get(0).future.complete(null);
+        assertEquals(List.of("a0", "a1", "b0", "a2"), started);
+    }
+
+    @Test
+    void hostsAreServedRoundRobin() {
+        HostScheduler scheduler = new HostScheduler(1, 1, Runnable::run);
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+
+        List<ManualTask> tasks = new ArrayList<>();
+        for (String name : List.of("a0", "a1", "a2", "b0", "b1", "c0")) {
+            ManualTask task = new ManualTask(name);
+            tasks.add(task);
+            submit(scheduler, name.substring(0, 1) + ".com", task, started);
+        }
+
+        // Selesaikan task yang sedang berjalan satu per satu
+        for (int i = 0; i < tasks.size(); i++) {
+            String running = started.get(i);
+            tasks.stream().filter(t -> t.name.equals(running)).findFirst().orElseThrow().future.complete(null);
+        }
+
+        // Host dengan banyak task tidak menghabiskan giliran host lain
+        assertEquals(List.of("a0", "b0", "c0", "a1", "b1", "a2"), started);
+        assertTrue(scheduler.isIdle());
+    }
+
+    @Test
+    void globalCapLimitsRunningTasks() {
+        HostScheduler scheduler = new HostScheduler(2, 4, Runnable::run);
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+
+        ManualTask first = new ManualTask("a0");
+        submit(scheduler, "a.com", first, started);
+        submit(scheduler, "b.com", new ManualTask("b0"), started);
+        submit(scheduler, "c.com", new ManualTask("c0"), started);
+
+        assertEquals(List.of("a0", "b0"), started);
+
+        first.future.complete(null);
+        assertEquals(List.of("a0", "b0", "c0"), started);
+    }
+
+    @Test
+    void failedTaskReleasesSlot() {
+        HostScheduler scheduler = new HostScheduler(1, 1, Runnable::run);
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+
+        scheduler.submit("a.com", () -> {
+            throw new IllegalStateException("boom");
+        });
+        submit(scheduler, "a.com", new ManualTask("a1"), started);
+
+        assertEquals(List.of("a1"), started);
+    }
+
+    @Test
+    void awaitIdleWaitsForQueuedAndRunningTasks() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            HostScheduler scheduler = new HostScheduler(4, 2, executor);
+            AtomicInteger finished = new AtomicInteger();
+            CompletableFuture<Void> idle = new CompletableFuture<>();
+            scheduler.setIdleListener(() -> idle.complete(null));
+
+            for (int i = 0; i < 20; i++) {
+                scheduler.submit("host" + (i % 3) + ".com", () -> CompletableFuture.runAsync(() -> {
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    finished.incrementAndGet();
+                }, executor));
+            }
+
+            scheduler.awaitIdle();
+
+            assertEquals(20, finished.get());
+            assertTrue(scheduler.isIdle());
+            // Listener dipanggil di luar lock, bisa sedikit setelah awaitIdle() kembali
+            idle.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void trackedFutureDelaysIdle() {
+        HostScheduler scheduler = new HostScheduler(1, 1, Runnable::run);
+        CompletableFuture<Void> external = new CompletableFuture<>();
+
+        scheduler.track(external);
+        assertFalse(scheduler.isIdle());
+
+        external.complete(null);
+        assertTrue(scheduler.isIdle());
+    }
+
+    @Test
+    void clearDropsQueuedTasks() throws InterruptedException {
+        HostScheduler scheduler = new HostScheduler(1, 1, Runnable::run);
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+
+        ManualTask running = new ManualTask("a0");
+        submit(scheduler, "a.com", running, started);
+        submit(scheduler, "a.com", new ManualTask("a1"), started);
+        submit(scheduler, "b.com", new ManualTask("b0"), started);
+
+        scheduler.clear();
+        assertFalse(scheduler.isIdle());
+
+        // Task yang sedang berjalan tetap dibiarkan selesai
+        running.future.complete(null);
+        scheduler.awaitIdle();
+        assertEquals(List.of("a0"), started);
+    }
+
+    @Test
+    void invalidLimitsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new HostScheduler(0, 1, Runnable::run));
+        assertThrows(IllegalArgumentException.class, () -> new HostScheduler(1, 0, Runnable::run));
+    }
+}
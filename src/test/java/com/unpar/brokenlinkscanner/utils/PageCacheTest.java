@@ -0,0 +1,132 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import com.unpar.brokenlinkscanner.models.Link;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCacheTest {
+    private static final long HOUR = 3_600_000;
+    private static final long BODY_SIZE = 1024;
+
+    @TempDir
+    Path dir;
+
+    private static PageCache.Page page(String url, String etag) {
+        Link link = new Link(url);
+        link.setFinalUrl(url);
+        link.setContentType("text/html");
+        return new PageCache.Page(link, etag, "", BODY_SIZE, false, "", "", List.<String[]>of(new String[]{url + "a?utm_source=x", "A"}));
+    }
+
+    @Test
+    void rawDataSurvivesReopen() {
+        Path file = dir.resolve("nested").resolve("pages.cache");
+
+        Link link = new Link("https://example.com/print");
+        link.setFinalUrl("https://example.com/print");
+        link.setContentType("text/html");
+        link.setIsTruncated(true);
+        String longAnchor = "x".repeat(5000);
+
+        PageCache first = new PageCache(file, HOUR, 10);
+        first.open();
+        first.put(link.getUrl(), new PageCache.Page(link, "\"v1\"", "Mon, 01 Jan 2024 00:00:00 GMT", BODY_SIZE, true,
+                "https://example.com/article", "abc123", List.<String[]>of(new String[]{"https://example.com/a?utm_source=x", longAnchor})));
+        first.close();
+
+        PageCache second = new PageCache(file, HOUR, 10);
+        second.open();
+        PageCache.Page page = second.get(link.getUrl(), BODY_SIZE);
+        assertNotNull(page);
+        assertEquals("\"v1\"", page.getEtag());
+        assertEquals("Mon, 01 Jan 2024 00:00:00 GMT", page.getLastModified());
+        assertTrue(page.isTruncated());
+        assertTrue(page.isNofollow());
+        assertEquals("https://example.com/article", page.getCanonicalHref());
+        assertEquals("abc123", page.getFingerprint());
+
+        // Href disimpan apa adanya supaya kanonikalisasi crawling berikutnya tetap berlaku
+        assertEquals("https://example.com/a?utm_source=x", page.getLinks().get(0)[0]);
+        assertEquals(1000, page.getLinks().get(0)[1].length());
+        second.close();
+    }
+
+    @Test
+    void pageWithOtherBodySizeIsNotUsed() {
+        PageCache cache = new PageCache(dir.resolve("pages.cache"), HOUR, 10);
+        cache.open();
+        cache.put("https://example.com/", page("https://example.com/", "\"v1\""));
+
+        assertNotNull(cache.get("https://example.com/", BODY_SIZE));
+        assertNull(cache.get("https://example.com/", BODY_SIZE * 2));
+        cache.close();
+    }
+
+    @Test
+    void pageWithoutValidatorIsRemoved() {
+        PageCache cache = new PageCache(dir.resolve("pages.cache"), HOUR, 10);
+        cache.open();
+        cache.put("https://example.com/", page("https://example.com/", "\"v1\""));
+        cache.put("https://example.com/", page("https://example.com/", ""));
+
+        assertNull(cache.get("https://example.com/", BODY_SIZE));
+        assertEquals(0, cache.size());
+        cache.close();
+    }
+
+    @Test
+    void expiredPagesAreDroppedOnLoad() throws InterruptedException {
+        Path file = dir.resolve("pages.cache");
+
+        PageCache first = new PageCache(file, 50, 10);
+        first.open();
+        first.put("https://example.com/", page("https://example.com/", "\"v1\""));
+        first.close();
+
+        Thread.sleep(100);
+
+        PageCache second = new PageCache(file, 50, 10);
+        second.open();
+        assertEquals(0, second.size());
+        assertNull(second.get("https://example.com/", BODY_SIZE));
+        second.close();
+    }
+
+    @Test
+    void newPagesAreNotStoredWhenFull() {
+        PageCache cache = new PageCache(dir.resolve("pages.cache"), HOUR, 2);
+        cache.open();
+        cache.put("https://example.com/a", page("https://example.com/a", "\"a\""));
+        cache.put("https://example.com/b", page("https://example.com/b", "\"b\""));
+        cache.put("https://example.com/c", page("https://example.com/c", "\"c\""));
+
+        // Halaman yang sudah ada tetap diperbarui
+        cache.put("https://example.com/a", page("https://example.com/a", "\"a2\""));
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("https://example.com/c", BODY_SIZE));
+        assertEquals("\"a2\"", cache.get("https://example.com/a", BODY_SIZE).getEtag());
+        cache.close();
+    }
+
+    @Test
+    void zeroTtlStoresNothing() {
+        PageCache cache = new PageCache(dir.resolve("pages.cache"), 0, 10);
+        cache.open();
+        cache.put("https://example.com/", page("https://example.com/", "\"v1\""));
+
+        assertEquals(0, cache.size());
+        cache.close();
+    }
+
+    @Test
+    void invalidLimitsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new PageCache(dir.resolve("pages.cache"), -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new PageCache(dir.resolve("pages.cache"), HOUR, 0));
+    }
+}
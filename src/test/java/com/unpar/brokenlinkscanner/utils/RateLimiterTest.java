@@ -0,0 +1,138 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+    private static final long MAX_RETRY_AFTER = TimeUnit.SECONDS.toNanos(60);
+
+    @Test
+    void unlimitedLimiterNeverWaits() {
+        RateLimiter limiter = new RateLimiter();
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, limiter.reserve());
+        }
+        assertTrue(Double.isInfinite(limiter.getRate()));
+    }
+
+    @Test
+    void intervalSpacesRequestsAfterBurst() {
+        RateLimiter limiter = new RateLimiter(1000);
+
+        // Kapasitas burst 2: dua request pertama langsung, request ketiga menunggu sekitar satu interval
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        long wait = limiter.reserve();
+        assertTrue(wait > TimeUnit.MILLISECONDS.toNanos(900), "wait=" + wait);
+        assertTrue(wait <= TimeUnit.MILLISECONDS.toNanos(1000), "wait=" + wait);
+    }
+
+    @Test
+    void negativeIntervalIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(-1));
+    }
+
+    @Test
+    void tooManyRequestsHalvesRate() {
+        RateLimiter limiter = new RateLimiter(100);
+
+        limiter.onResponse(429, 0, 0);
+        assertEquals(5.0, limiter.getRate(), 1e-9);
+
+        limiter.onResponse(503, 0, 0);
+        assertEquals(2.5, limiter.getRate(), 1e-9);
+    }
+
+    @Test
+    void unlimitedHostIsThrottledAfterRejection() {
+        RateLimiter limiter = new RateLimiter();
+
+        limiter.onResponse(429, 0, 0);
+        assertFalse(Double.isInfinite(limiter.getRate()));
+    }
+
+    @Test
+    void rateRecoversButNotAboveMaximum() {
+        RateLimiter limiter = new RateLimiter(500);
+
+        limiter.onResponse(429, 0, 0);
+        assertEquals(1.0, limiter.getRate(), 1e-9);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onResponse(200, TimeUnit.MILLISECONDS.toNanos(10), 0);
+        }
+        assertEquals(2.0, limiter.getRate(), 1e-9);
+    }
+
+    @Test
+    void retryAfterBlocksRequests() {
+        RateLimiter limiter = new RateLimiter();
+
+        limiter.onResponse(429, 0, TimeUnit.SECONDS.toNanos(2));
+        long wait = limiter.reserve();
+        assertTrue(wait > TimeUnit.SECONDS.toNanos(1), "wait=" + wait);
+    }
+
+    @Test
+    void crawlDelayOnlySlowsDown() {
+        RateLimiter limiter = new RateLimiter(100);
+
+        limiter.setMinInterval(2000);
+        assertEquals(0.5, limiter.getRate(), 1e-9);
+
+        // Interval yang lebih cepat tidak menaikkan laju
+        limiter.setMinInterval(100);
+        assertEquals(0.5, limiter.getRate(), 1e-9);
+    }
+
+    @Test
+    void parseRetryAfterSeconds() {
+        assertEquals(TimeUnit.SECONDS.toNanos(5), RateLimiter.parseRetryAfter("5"));
+        assertEquals(TimeUnit.SECONDS.toNanos(5), RateLimiter.parseRetryAfter(" 5 "));
+        assertEquals(0, RateLimiter.parseRetryAfter("-5"));
+    }
+
+    @Test
+    void parseRetryAfterIsCappedAtSixtySeconds() {
+        assertEquals(MAX_RETRY_AFTER, RateLimiter.parseRetryAfter("86400"));
+        assertEquals(MAX_RETRY_AFTER, RateLimiter.parseRetryAfter(String.valueOf(Long.MAX_VALUE)));
+        assertEquals(MAX_RETRY_AFTER, RateLimiter.parseRetryAfter("Fri, 31 Dec 9999 23:59:59 GMT"));
+    }
+
+    @Test
+    void parseRetryAfterHttpDate() {
+        String inTenSeconds = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(10));
+        long wait = RateLimiter.parseRetryAfter(inTenSeconds);
+        assertTrue(wait > TimeUnit.SECONDS.toNanos(5) && wait <= TimeUnit.SECONDS.toNanos(10), "wait=" + wait);
+
+        assertEquals(0, RateLimiter.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT"));
+    }
+
+    @Test
+    void parseRetryAfterInvalidValues() {
+        assertEquals(0, RateLimiter.parseRetryAfter(null));
+        assertEquals(0, RateLimiter.parseRetryAfter(""));
+        assertEquals(0, RateLimiter.parseRetryAfter("soon"));
+    }
+
+    @Test
+    void formatRatesListsSlowestThrottledHosts() {
+        Map<String, Double> rates = new LinkedHashMap<>();
+        rates.put("a.com", 1.0);
+        rates.put("b.com", Double.POSITIVE_INFINITY);
+        rates.put("c.com", 0.25);
+        rates.put("d.com", 2.0);
+
+        assertEquals("c.com 0.3/s, a.com 1.0/s (+1 more)", RateLimiter.formatRates(rates, 2));
+        assertEquals("", RateLimiter.formatRates(Map.of("b.com", Double.POSITIVE_INFINITY), 3));
+    }
+}
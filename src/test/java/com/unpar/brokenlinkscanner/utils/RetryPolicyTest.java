@@ -0,0 +1,83 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import com.unpar.brokenlinkscanner.models.Link;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryPolicyTest {
+
+    private static Link checked(int statusCode, String error, int attempts) {
+        Link link = new Link("https://example.com/");
+        link.setStatusCode(statusCode);
+        link.setError(error);
+        link.setAttempts(attempts);
+        return link;
+    }
+
+    @Test
+    void retriesTransientStatusCodes() {
+        RetryPolicy policy = new RetryPolicy(2, 100, 1000);
+
+        assertTrue(policy.shouldRetry(checked(429, "Too Many Requests", 1)));
+        assertTrue(policy.shouldRetry(checked(503, "Service Unavailable", 1)));
+        assertTrue(policy.shouldRetry(checked(500, "Internal Server Error", 1)));
+    }
+
+    @Test
+    void retriesTransientConnectionErrors() {
+        RetryPolicy policy = new RetryPolicy(2, 100, 1000);
+
+        assertTrue(policy.shouldRetry(checked(0, "Timeout", 1)));
+        assertTrue(policy.shouldRetry(checked(0, "Connection Reset", 1)));
+    }
+
+    @Test
+    void doesNotRetryPermanentFailures() {
+        RetryPolicy policy = new RetryPolicy(2, 100, 1000);
+
+        assertFalse(policy.shouldRetry(checked(200, "", 1)));
+        assertFalse(policy.shouldRetry(checked(404, "Not Found", 1)));
+        assertFalse(policy.shouldRetry(checked(0, "Host Not Found", 1)));
+        assertFalse(policy.shouldRetry(checked(0, "Connection Refused", 1)));
+    }
+
+    @Test
+    void stopsAfterMaxRetries() {
+        RetryPolicy policy = new RetryPolicy(2, 100, 1000);
+
+        assertTrue(policy.shouldRetry(checked(503, "Service Unavailable", 2)));
+        assertFalse(policy.shouldRetry(checked(503, "Service Unavailable", 3)));
+        assertFalse(new RetryPolicy(0, 100, 1000).shouldRetry(checked(503, "Service Unavailable", 1)));
+    }
+
+    @Test
+    void delayGrowsExponentiallyWithJitter() {
+        RetryPolicy policy = new RetryPolicy(5, 100, 10_000);
+
+        for (int i = 0; i < 100; i++) {
+            long first = policy.nextDelay(1);
+            assertTrue(first >= 50 && first <= 100, "first=" + first);
+
+            long third = policy.nextDelay(3);
+            assertTrue(third >= 200 && third <= 400, "third=" + third);
+        }
+    }
+
+    @Test
+    void delayIsCappedAtMaxDelay() {
+        RetryPolicy policy = new RetryPolicy(100, 100, 1000);
+
+        for (int attempts = 1; attempts <= 100; attempts++) {
+            long delay = policy.nextDelay(attempts);
+            assertTrue(delay >= 0 && delay <= 1000, "attempts=" + attempts + " delay=" + delay);
+        }
+    }
+
+    @Test
+    void invalidSettingsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(-1, 100, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(1, -1, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(1, 1000, 100));
+    }
+}
@@ -0,0 +1,117 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RobotsRulesTest {
+    private static final String USER_AGENT = "BrokenLinkChecker/1.0 (+https://example.com/bot)";
+
+    @Test
+    void crawlerGroupWinsOverWildcardGroup() {
+        RobotsRules rules = RobotsRules.parse("""
+                User-agent: *
+                Disallow: /
+
+                User-agent: brokenlinkchecker
+                Disallow: /private
+                """, USER_AGENT);
+
+        assertTrue(rules.isAllowed("https://example.com/public"));
+        assertFalse(rules.isAllowed("https://example.com/private/page"));
+    }
+
+    @Test
+    void wildcardGroupIsUsedWithoutCrawlerGroup() {
+        RobotsRules rules = RobotsRules.parse("""
+                User-agent: otherbot
+                Disallow: /
+
+                User-agent: *
+                Disallow: /tmp/
+                """, USER_AGENT);
+
+        assertTrue(rules.isAllowed("https://example.com/"));
+        assertFalse(rules.isAllowed("https://example.com/tmp/a"));
+    }
+
+    @Test
+    void consecutiveUserAgentsShareOneGroup() {
+        RobotsRules rules = RobotsRules.parse("""
+                User-agent: otherbot
+                User-agent: BrokenLinkChecker
+                Disallow: /shared
+                """, USER_AGENT);
+
+        assertFalse(rules.isAllowed("https://example.com/shared"));
+    }
+
+    @Test
+    void longestMatchWinsAndAllowWinsTies() {
+        RobotsRules rules = RobotsRules.parse("""
+                User-agent: *
+                Disallow: /docs
+                Allow: /docs/public
+                Disallow: /page
+                Allow: /page
+                """, USER_AGENT);
+
+        assertFalse(rules.isAllowed("https://example.com/docs/secret"));
+        assertTrue(rules.isAllowed("https://example.com/docs/public/a"));
+        assertTrue(rules.isAllowed("https://example.com/page"));
+    }
+
+    @Test
+    void wildcardAndEndAnchorPatterns() {
+        RobotsRules rules = RobotsRules.parse("""
+                User-agent: *
+                Disallow: /*.pdf$
+                Disallow: /*?session=
+                """, USER_AGENT);
+
+        assertFalse(rules.isAllowed("https://example.com/files/report.pdf"));
+        assertTrue(rules.isAllowed("https://example.com/files/report.pdf.html"));
+        assertFalse(rules.isAllowed("https://example.com/cart?session=1"));
+        assertTrue(rules.isAllowed("https://example.com/cart?page=1"));
+    }
+
+    @Test
+    void emptyDisallowAndCommentsAllowEverything() {
+        RobotsRules rules = RobotsRules.parse("""
+                # Semua boleh
+                User-agent: *
+                Disallow:   # kosong
+                """, USER_AGENT);
+
+        assertTrue(rules.isAllowed("https://example.com/anything"));
+    }
+
+    @Test
+    void robotsTxtIsAlwaysAllowed() {
+        assertFalse(RobotsRules.DISALLOW_ALL.isAllowed("https://example.com/page"));
+        assertTrue(RobotsRules.DISALLOW_ALL.isAllowed("https://example.com/robots.txt"));
+        assertTrue(RobotsRules.ALLOW_ALL.isAllowed("https://example.com/page"));
+    }
+
+    @Test
+    void crawlDelayIsParsedAndCapped() {
+        assertEquals(1500, RobotsRules.parse("User-agent: *\nCrawl-delay: 1.5", USER_AGENT).getCrawlDelay());
+        assertEquals(60_000, RobotsRules.parse("User-agent: *\nCrawl-delay: 86400", USER_AGENT).getCrawlDelay());
+        assertEquals(0, RobotsRules.parse("User-agent: *\nCrawl-delay: soon", USER_AGENT).getCrawlDelay());
+        assertEquals(0, RobotsRules.parse("User-agent: otherbot\nCrawl-delay: 5", USER_AGENT).getCrawlDelay());
+    }
+
+    @Test
+    void sitemapsAreCollectedOutsideGroups() {
+        RobotsRules rules = RobotsRules.parse("""
+                Sitemap: https://example.com/sitemap.xml
+                User-agent: otherbot
+                Disallow: /
+                Sitemap: /news.xml
+                """, USER_AGENT);
+
+        assertEquals(List.of("https://example.com/sitemap.xml", "/news.xml"), rules.getSitemaps());
+    }
+}
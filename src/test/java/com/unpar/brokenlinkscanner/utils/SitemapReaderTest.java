@@ -0,0 +1,149 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SitemapReaderTest {
+    private HttpServer server;
+    private HttpClient httpClient;
+    private String root;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.start();
+        httpClient = HttpClient.newHttpClient();
+        root = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        httpClient.close();
+    }
+
+    private void serve(String path, byte[] body) {
+        server.createContext(path, exchange -> {
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+    }
+
+    private void serve(String path, String body) {
+        serve(path, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] gzip(String body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private String urlset(String... entries) {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\"?><urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">");
+        for (String entry : entries) {
+            xml.append(entry);
+        }
+        return xml.append("</urlset>").toString();
+    }
+
+    private String url(String path, String lastmod) {
+        String xml = "<url><loc>" + root + path + "</loc>";
+        if (lastmod != null) {
+            xml += "<lastmod>" + lastmod + "</lastmod>";
+        }
+        return xml + "</url>";
+    }
+
+    private SitemapReader reader(int maxUrls) {
+        return new SitemapReader(httpClient, "test", 5000, maxUrls);
+    }
+
+    @Test
+    void urlsAreSortedByNewestLastmod() {
+        serve("/sitemap.xml", urlset(
+                url("/undated-1", null),
+                url("/old", "2020-01-01"),
+                url("/new", "2024-05-01T10:00:00+07:00"),
+                url("/undated-2", null),
+                url("/middle", "2022-06-15")));
+
+        List<String> urls = reader(100).discover(root + "/", List.of(), url -> true);
+
+        assertEquals(List.of(root + "/new", root + "/middle", root + "/old", root + "/undated-1", root + "/undated-2"), urls);
+    }
+
+    @Test
+    void onlyNewestUrlsAreKeptWhenOverLimit() {
+        serve("/sitemap.xml", urlset(
+                url("/a", "2021-01-01"),
+                url("/b", "2023-01-01"),
+                url("/c", null),
+                url("/d", "2022-01-01")));
+
+        List<String> urls = reader(2).discover(root + "/", List.of(), url -> true);
+
+        assertEquals(List.of(root + "/b", root + "/d"), urls);
+    }
+
+    @Test
+    void sitemapIndexAndGzipAreFollowed() throws IOException {
+        serve("/index.xml", "<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">"
+                + "<sitemap><loc>/pages.xml.gz</loc></sitemap>"
+                + "<sitemap><loc>" + root + "/posts.xml</loc></sitemap>"
+                + "</sitemapindex>");
+        serve("/pages.xml.gz", gzip(urlset(url("/page", "2024-01-01"))));
+        serve("/posts.xml", urlset(url("/post", "2023-01-01")));
+
+        // URL sitemap dari robots.txt boleh relatif terhadap root situs
+        List<String> urls = reader(100).discover(root + "/blog/", List.of("/index.xml"), url -> true);
+
+        assertEquals(List.of(root + "/page", root + "/post"), urls);
+    }
+
+    @Test
+    void filterAndDuplicatesAreApplied() {
+        serve("/sitemap.xml", urlset(
+                url("/a", "2024-01-01"),
+                url("/a", "2024-02-01"),
+                "<url><loc>https://other.example/x</loc></url>",
+                url("/b", null)));
+
+        List<String> urls = reader(100).discover(root + "/", List.of(), url -> url.startsWith(root));
+
+        assertEquals(List.of(root + "/a", root + "/b"), urls);
+    }
+
+    @Test
+    void brokenSitemapKeepsUrlsReadSoFar() {
+        serve("/sitemap.xml", urlset(url("/a", "2024-01-01")).replace("</urlset>", "<url><loc>" + root + "/b</loc><lastmod>"));
+
+        List<String> urls = reader(100).discover(root + "/", List.of(), url -> true);
+
+        assertEquals(List.of(root + "/a"), urls);
+    }
+
+    @Test
+    void missingSitemapGivesNoUrls() {
+        List<String> urls = reader(100).discover(root + "/", List.of("/nothing.xml"), url -> true);
+
+        assertTrue(urls.isEmpty());
+    }
+}
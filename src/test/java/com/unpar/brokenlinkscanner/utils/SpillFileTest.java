@@ -0,0 +1,97 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpillFileTest {
+    @TempDir
+    Path dir;
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    @Test
+    void recordsAreReadInOrder() {
+        try (SpillFile spill = new SpillFile(dir, "test-")) {
+            for (int i = 0; i < 1000; i++) {
+                spill.append("https://example.com/" + i, String.valueOf(i), "", null);
+            }
+            assertEquals(1000, spill.size());
+
+            for (int i = 0; i < 1000; i++) {
+                // Field null ditulis sebagai string kosong
+                assertArrayEquals(new String[]{"https://example.com/" + i, String.valueOf(i), "", ""}, spill.poll());
+            }
+            assertNull(spill.poll());
+            assertTrue(spill.isEmpty());
+        }
+    }
+
+    @Test
+    void unicodeFieldsRoundTrip() {
+        try (SpillFile spill = new SpillFile(dir, "test-")) {
+            spill.append("https://example.com/ü", "Beranda — 首页 😀");
+
+            assertArrayEquals(new String[]{"https://example.com/ü", "Beranda — 首页 😀"}, spill.poll());
+        }
+    }
+
+    @Test
+    void appendAndPollCanInterleave() {
+        try (SpillFile spill = new SpillFile(dir, "test-")) {
+            spill.append("a");
+            spill.append("b");
+            assertArrayEquals(new String[]{"a"}, spill.poll());
+
+            spill.append("c");
+            assertArrayEquals(new String[]{"b"}, spill.poll());
+            assertArrayEquals(new String[]{"c"}, spill.poll());
+            assertNull(spill.poll());
+        }
+    }
+
+    @Test
+    void recordsCrossSegmentBoundary() throws IOException {
+        String large = "x".repeat(12 * 1024 * 1024);
+
+        try (SpillFile spill = new SpillFile(dir, "test-")) {
+            for (int i = 0; i < 4; i++) {
+                spill.append(String.valueOf(i), large);
+            }
+            // Empat record 12 MB tidak muat di satu segmen 32 MB
+            assertTrue(countFiles() >= 2);
+
+            for (int i = 0; i < 4; i++) {
+                String[] record = spill.poll();
+                assertEquals(String.valueOf(i), record[0]);
+                assertEquals(large.length(), record[1].length());
+            }
+            assertNull(spill.poll());
+        }
+    }
+
+    @Test
+    void readSegmentsAndClosedSpillAreDeleted() throws IOException {
+        SpillFile spill = new SpillFile(dir, "test-");
+        // Direktori spill baru dibuat saat record pertama ditulis
+        assertEquals(0, countFiles());
+
+        spill.append("a");
+        assertEquals(1, countFiles());
+
+        spill.close();
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
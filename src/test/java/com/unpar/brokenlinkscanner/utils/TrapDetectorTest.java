@@ -0,0 +1,96 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrapDetectorTest {
+
+    @Test
+    void repeatedSegmentIsTrapped() {
+        TrapDetector detector = new TrapDetector(2, 0, 0);
+
+        assertNull(detector.check("https://example.com/a/b/a/b"));
+
+        TrapDetector.Trap trap = detector.check("https://example.com/a/b/a/b/a/b");
+        assertNotNull(trap);
+        assertEquals("example.com/a/b/a/b/a", trap.getPattern());
+        assertEquals(TrapDetector.REASON_REPEATED_SEGMENT, trap.getReason());
+    }
+
+    @Test
+    void deepPathIsTrapped() {
+        TrapDetector detector = new TrapDetector(0, 3, 0);
+
+        assertNull(detector.check("https://example.com/1/2/3"));
+
+        TrapDetector.Trap trap = detector.check("https://example.com/1/2/3/4/5");
+        assertNotNull(trap);
+        assertEquals("example.com/1/2/3/*", trap.getPattern());
+        assertEquals(TrapDetector.REASON_PATH_TOO_DEEP, trap.getReason());
+    }
+
+    @Test
+    void variantsBeyondLimitAreTrapped() {
+        TrapDetector detector = new TrapDetector(0, 0, 2);
+
+        // Segmen berisi angka dan nilai parameter diabaikan, urutan parameter tidak berpengaruh
+        assertNull(detector.check("https://example.com/calendar/2024/05?view=month&lang=en"));
+        assertNull(detector.check("https://example.com/calendar/2024/06?lang=id&view=week"));
+
+        TrapDetector.Trap trap = detector.check("https://example.com/calendar/2025/01?view=day&lang=en");
+        assertNotNull(trap);
+        assertEquals("example.com/calendar/*/*?lang&view", trap.getPattern());
+        assertEquals(TrapDetector.REASON_TOO_MANY_VARIANTS, trap.getReason());
+
+        // Pola lain masih punya batas sendiri
+        assertNull(detector.check("https://example.com/calendar/2025/01"));
+        assertNull(detector.check("https://example.com/about"));
+    }
+
+    @Test
+    void zeroLimitsDisableDetection() {
+        // Batas variasi URL tidak aktif secara default
+        TrapDetector detector = new TrapDetector(0, 0, 0);
+
+        for (int i = 0; i < 1000; i++) {
+            assertNull(detector.check("https://example.com/archive/" + i + "?page=" + i));
+        }
+        assertNull(detector.check("https://example.com/a/a/a/a/a/a/a/a/a/a/a/a/a/a/a/a/a/a/a/a"));
+        assertTrue(detector.getTraps().isEmpty());
+    }
+
+    @Test
+    void trapsAreSortedBySkippedCount() {
+        TrapDetector detector = new TrapDetector(0, 1, 1);
+
+        detector.check("https://example.com/deep/x");
+        for (int i = 0; i < 4; i++) {
+            detector.check("https://example.com/?page=" + i);
+        }
+
+        List<TrapDetector.Trap> traps = detector.getTraps();
+        assertEquals(2, traps.size());
+        assertEquals("example.com/?page", traps.get(0).getPattern());
+        assertEquals(3, traps.get(0).getSkippedCount());
+        assertEquals("example.com/deep/*", traps.get(1).getPattern());
+        assertEquals(1, traps.get(1).getSkippedCount());
+    }
+
+    @Test
+    void formatTrapsSummarizesUpToLimit() {
+        TrapDetector detector = new TrapDetector(0, 1, 1);
+
+        detector.check("https://example.com/deep/x");
+        detector.check("https://example.com/?page=1");
+        detector.check("https://example.com/?page=2");
+        detector.check("https://example.com/?page=3");
+
+        List<TrapDetector.Trap> traps = detector.getTraps();
+        assertEquals("example.com/?page (Too many URL variants, 2 skipped); example.com/deep/* (Path too deep, 1 skipped)", TrapDetector.formatTraps(traps, 3));
+        assertEquals("example.com/?page (Too many URL variants, 2 skipped) (+1 more)", TrapDetector.formatTraps(traps, 1));
+        assertEquals("", TrapDetector.formatTraps(List.of(), 3));
+    }
+}
@@ -0,0 +1,80 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlCanonicalizerTest {
+    private static final String SEED = "https://example.com/";
+
+    @Test
+    void noRulesLeavesUrlUnchanged() {
+        UrlCanonicalizer canonicalizer = new UrlCanonicalizer("", false, false, false, false, SEED);
+
+        assertTrue(canonicalizer.isNoop());
+        assertEquals("http://www.example.com/index.html?b=2&a=1", canonicalizer.canonicalize("http://www.example.com/index.html?b=2&a=1"));
+    }
+
+    @Test
+    void matchingQueryParamsAreStripped() {
+        UrlCanonicalizer canonicalizer = new UrlCanonicalizer("utm_*, fbclid", false, false, false, false, SEED);
+
+        assertFalse(canonicalizer.isNoop());
+        assertEquals("https://example.com/page?id=7", canonicalizer.canonicalize("https://example.com/page?UTM_SOURCE=x&id=7&fbclid=abc"));
+        assertEquals("https://example.com/page", canonicalizer.canonicalize("https://example.com/page?utm_medium=email"));
+        assertEquals("https://example.com/page?fbclid_extra=1", canonicalizer.canonicalize("https://example.com/page?fbclid_extra=1"));
+    }
+
+    @Test
+    void matchingPathParamsAreStripped() {
+        UrlCanonicalizer canonicalizer = new UrlCanonicalizer("jsessionid", false, false, false, false, SEED);
+
+        assertEquals("https://example.com/shop/cart", canonicalizer.canonicalize("https://example.com/shop;jsessionid=ABC/cart"));
+        assertEquals("https://example.com/doc;v=2", canonicalizer.canonicalize("https://example.com/doc;jsessionid=ABC;v=2"));
+    }
+
+    @Test
+    void queryParamsAreSortedStably() {
+        UrlCanonicalizer canonicalizer = new UrlCanonicalizer("", true, false, false, false, SEED);
+
+        assertEquals("https://example.com/search?a=1&b=2&b=1&c", canonicalizer.canonicalize("https://example.com/search?c&b=2&a=1&b=1"));
+    }
+
+    @Test
+    void indexFilesAreStripped() {
+        UrlCanonicalizer canonicalizer = new UrlCanonicalizer("", false, true, false, false, SEED);
+
+        assertEquals("https://example.com/docs", canonicalizer.canonicalize("https://example.com/docs/index.html"));
+        assertEquals("https://example.com/", canonicalizer.canonicalize("https://example.com/Default.ASPX"));
+        assertEquals("https://example.com/docs/guide.html", canonicalizer.canonicalize("https://example.com/docs/guide.html"));
+    }
+
+    @Test
+    void schemeAndWwwFollowSeedOnlyForCrawledSite() {
+        UrlCanonicalizer canonicalizer = new UrlCanonicalizer("", false, false, true, true, SEED);
+
+        assertEquals("https://example.com/a", canonicalizer.canonicalize("http://www.example.com/a"));
+        assertEquals("https://example.com/a", canonicalizer.canonicalize("http://example.com/a"));
+
+        // Host lain dan port lain tidak diubah
+        assertEquals("http://www.other.com/a", canonicalizer.canonicalize("http://www.other.com/a"));
+        assertEquals("http://example.com:8080/a", canonicalizer.canonicalize("http://example.com:8080/a"));
+    }
+
+    @Test
+    void wwwSeedKeepsWwwForm() {
+        UrlCanonicalizer canonicalizer = new UrlCanonicalizer("", false, false, false, true, "http://www.example.com/");
+
+        assertEquals("http://www.example.com/a", canonicalizer.canonicalize("http://example.com/a"));
+        // Penyamaan skema tidak aktif
+        assertEquals("https://www.example.com/a", canonicalizer.canonicalize("https://example.com/a"));
+    }
+
+    @Test
+    void unparsableUrlIsReturnedAsIs() {
+        UrlCanonicalizer canonicalizer = new UrlCanonicalizer("utm_*", true, true, true, true, SEED);
+
+        assertEquals("https://example.com/a b", canonicalizer.canonicalize("https://example.com/a b"));
+        assertEquals("mailto:someone@example.com", canonicalizer.canonicalize("mailto:someone@example.com"));
+    }
+}
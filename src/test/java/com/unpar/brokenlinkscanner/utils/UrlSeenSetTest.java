@@ -0,0 +1,83 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlSeenSetTest {
+
+    @Test
+    void addReportsOnlyFirstOccurrence() {
+        UrlSeenSet seen = new UrlSeenSet(16);
+
+        assertTrue(seen.add("https://example.com/a"));
+        assertFalse(seen.add("https://example.com/a"));
+        assertTrue(seen.add("https://example.com/b"));
+
+        assertTrue(seen.contains("https://example.com/a"));
+        assertFalse(seen.contains("https://example.com/c"));
+        assertEquals(2, seen.size());
+    }
+
+    @Test
+    void growsBeyondExpectedSize() {
+        UrlSeenSet seen = new UrlSeenSet(4);
+
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(seen.add("https://example.com/page/" + i));
+        }
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(seen.contains("https://example.com/page/" + i));
+        }
+        assertEquals(100_000, seen.size());
+    }
+
+    @Test
+    void clearEmptiesSet() {
+        UrlSeenSet seen = new UrlSeenSet(16);
+        seen.add("https://example.com/a");
+
+        seen.clear();
+
+        assertEquals(0, seen.size());
+        assertFalse(seen.contains("https://example.com/a"));
+        assertTrue(seen.add("https://example.com/a"));
+    }
+
+    @Test
+    void concurrentAddsCountEachUrlOnce() throws Exception {
+        UrlSeenSet seen = new UrlSeenSet(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            // Setiap thread menambahkan URL yang sama, hanya satu add per URL yang boleh berhasil
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    int added = 0;
+                    for (int i = 0; i < 20_000; i++) {
+                        if (seen.add("https://example.com/" + i)) {
+                            added++;
+                        }
+                    }
+                    return added;
+                }));
+            }
+
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get();
+            }
+            assertEquals(20_000, total);
+            assertEquals(20_000, seen.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
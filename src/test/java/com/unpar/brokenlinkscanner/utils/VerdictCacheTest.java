@@ -0,0 +1,152 @@
+package com.unpar.brokenlinkscanner.utils;
+
+import com.unpar.brokenlinkscanner.models.Link;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerdictCacheTest {
+    private static final long HOUR = 3_600_000;
+
+    @TempDir
+    Path dir;
+
+    private static Link checked(String url, int statusCode, String error) {
+        Link link = new Link(url);
+        link.setFinalUrl(url);
+        link.setStatusCode(statusCode);
+        link.setContentType("text/html");
+        link.setError(error);
+        return link;
+    }
+
+    @Test
+    void verdictIsAppliedToLink() {
+        VerdictCache cache = new VerdictCache(dir.resolve("verdicts.bin"), HOUR, HOUR, HOUR, HOUR);
+        cache.open();
+        cache.put(checked("https://example.com/missing", 404, "Not Found"));
+
+        Link link = new Link("https://example.com/missing");
+        VerdictCache.Verdict verdict = cache.get(link.getUrl());
+        assertNotNull(verdict);
+        verdict.applyTo(link);
+
+        assertEquals("https://example.com/missing", link.getFinalUrl());
+        assertEquals(404, link.getStatusCode());
+        assertEquals("text/html", link.getContentType());
+        assertEquals("Not Found", link.getError());
+        assertNull(cache.get("https://example.com/other"));
+        cache.close();
+    }
+
+    @Test
+    void zeroTtlClassIsNotStored() {
+        VerdictCache cache = new VerdictCache(dir.resolve("verdicts.bin"), HOUR, HOUR, 0, 0);
+        cache.open();
+
+        cache.put(checked("https://example.com/ok", 200, ""));
+        cache.put(checked("https://example.com/gone", 410, "Gone"));
+        cache.put(checked("https://example.com/down", 503, "Service Unavailable"));
+        cache.put(checked("https://nowhere.invalid/", 0, "Host Not Found"));
+
+        assertNotNull(cache.get("https://example.com/ok"));
+        assertNotNull(cache.get("https://example.com/gone"));
+        assertNull(cache.get("https://example.com/down"));
+        assertNull(cache.get("https://nowhere.invalid/"));
+        assertEquals(2, cache.size());
+        cache.close();
+    }
+
+    @Test
+    void eachClassExpiresWithItsOwnTtl() throws InterruptedException {
+        VerdictCache cache = new VerdictCache(dir.resolve("verdicts.bin"), HOUR, HOUR, 50, 50);
+        cache.open();
+
+        cache.put(checked("https://example.com/ok", 200, ""));
+        cache.put(checked("https://example.com/gone", 410, "Gone"));
+        cache.put(checked("https://example.com/down", 503, "Service Unavailable"));
+        cache.put(checked("https://example.com/slow", 0, "Timeout"));
+
+        Thread.sleep(100);
+
+        assertNotNull(cache.get("https://example.com/ok"));
+        assertNotNull(cache.get("https://example.com/gone"));
+        assertNull(cache.get("https://example.com/down"));
+        assertNull(cache.get("https://example.com/slow"));
+        cache.close();
+    }
+
+    @Test
+    void verdictsSurviveReopen() {
+        Path file = dir.resolve("nested").resolve("verdicts.bin");
+
+        VerdictCache first = new VerdictCache(file, HOUR, HOUR, HOUR, HOUR);
+        first.open();
+        first.put(checked("https://example.com/a", 200, ""));
+        first.put(checked("https://example.com/b", 404, "Not Found"));
+        // Hasil yang lebih baru menimpa hasil lama dengan URL sama
+        first.put(checked("https://example.com/b", 200, ""));
+        first.close();
+
+        VerdictCache second = new VerdictCache(file, HOUR, HOUR, HOUR, HOUR);
+        second.open();
+        assertEquals(2, second.size());
+
+        Link link = new Link("https://example.com/b");
+        second.get(link.getUrl()).applyTo(link);
+        assertEquals(200, link.getStatusCode());
+        second.close();
+    }
+
+    @Test
+    void expiredVerdictsAreNotReloaded() throws InterruptedException {
+        Path file = dir.resolve("verdicts.bin");
+
+        VerdictCache first = new VerdictCache(file, HOUR, HOUR, 50, HOUR);
+        first.open();
+        first.put(checked("https://example.com/ok", 200, ""));
+        first.put(checked("https://example.com/down", 500, "Internal Server Error"));
+        first.close();
+
+        Thread.sleep(100);
+
+        VerdictCache second = new VerdictCache(file, HOUR, HOUR, 50, HOUR);
+        second.open();
+        assertEquals(1, second.size());
+        assertNull(second.get("https://example.com/down"));
+        second.close();
+    }
+
+    @Test
+    void truncatedLastRecordIsIgnored() throws IOException {
+        Path file = dir.resolve("verdicts.bin");
+
+        VerdictCache first = new VerdictCache(file, HOUR, HOUR, HOUR, HOUR);
+        first.open();
+        first.put(checked("https://example.com/a", 200, ""));
+        first.close();
+        long validLength = Files.size(file);
+
+        first.open();
+        first.put(checked("https://example.com/b", 200, ""));
+        first.close();
+
+        // Potong record kedua, seperti proses yang mati saat menulis
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(validLength + 5);
+        }
+
+        VerdictCache second = new VerdictCache(file, HOUR, HOUR, HOUR, HOUR);
+        second.open();
+        assertNotNull(second.get("https://example.com/a"));
+        assertNull(second.get("https://example.com/b"));
+        second.close();
+    }
+}